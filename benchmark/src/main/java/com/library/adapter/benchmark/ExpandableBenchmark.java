@@ -0,0 +1,100 @@
+package com.library.adapter.benchmark;
+
+import com.library.adapter.base.entity.IExpandable;
+import com.library.adapter.base.util.AdapterListUtil;
+import com.library.adapter.base.util.ExpandableIndex;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parent lookups and collapses of expanded trees, through the list operations of
+ * BaseQuickAdapter and the notifications it dispatches to its {@link ExpandableIndex}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExpandableBenchmark {
+
+    private static final int QUERIES = 256;
+
+    @Param({"1000", "20000"})
+    public int size;
+
+    private List<Object> data;
+    private ExpandableIndex index;
+    private ExpandableIndex untrackedIndex;
+    private NotifySink sink;
+    private int[] positions;
+    private int collapsePosition;
+
+    @Setup
+    public void setUp() {
+        data = SyntheticData.expandedTree(size, 3, 42);
+        index = new ExpandableIndex();
+        index.setTracking(true);
+        untrackedIndex = new ExpandableIndex();
+        sink = new NotifySink(data, index);
+        Random random = new Random(7);
+        positions = new int[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            positions[i] = random.nextInt(data.size());
+        }
+        // the first root, its subtree is about 1 / number of roots of the data
+        collapsePosition = 0;
+    }
+
+    /**
+     * Without tracking, the index reads the levels from the data on every lookup
+     */
+    @Benchmark
+    public int parentPositionUntracked() {
+        int sum = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            sum += AdapterListUtil.getParentPosition(data, untrackedIndex, positions[q]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int parentPositionIndexed() {
+        int sum = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            sum += AdapterListUtil.getParentPosition(data, index, positions[q]);
+        }
+        return sum;
+    }
+
+    /**
+     * A collapse followed by an expand of the same node with the notifications of
+     * BaseQuickAdapter.collapse and expand, then a lookup.
+     */
+    @Benchmark
+    public int collapseAndExpand() {
+        IExpandable node = (IExpandable) data.get(collapsePosition);
+        int removed = AdapterListUtil.removeSubItems(data, collapsePosition);
+        node.setExpanded(false);
+        sink.notifyItemRangeChanged(collapsePosition, 1);
+        sink.notifyItemRangeRemoved(collapsePosition + 1, removed);
+
+        int inserted = AdapterListUtil.addSubItems(data, collapsePosition + 1, node.getSubItems());
+        node.setExpanded(true);
+        sink.notifyItemRangeChanged(collapsePosition, 1);
+        sink.notifyItemRangeInserted(collapsePosition + 1, inserted);
+        return AdapterListUtil.getParentPosition(data, index, data.size() - 1);
+    }
+}
@@ -0,0 +1,56 @@
+package com.library.adapter.benchmark;
+
+import com.library.adapter.base.util.AdapterListUtil;
+import com.library.adapter.base.util.ExpandableIndex;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A move over some distance near the head of the data, through the list operation of
+ * BaseQuickAdapter.moveData and its notification. Short moves rotate the range, long ones
+ * remove and insert. Moves back and forth so the data stays the same.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoveBenchmark {
+
+    @Param({"1", "50", "2000"})
+    public int distance;
+
+    private List<Object> data;
+    private NotifySink sink;
+    private boolean forward;
+
+    @Setup
+    public void setUp() {
+        data = SyntheticData.sections(5000, 42);
+        ExpandableIndex index = new ExpandableIndex();
+        index.setTracking(true);
+        sink = new NotifySink(data, index);
+    }
+
+    @Benchmark
+    public Object moveData() {
+        int from = forward ? 0 : distance;
+        int to = forward ? distance : 0;
+        forward = !forward;
+        AdapterListUtil.moveItem(data, from, to);
+        sink.notifyItemMoved(from, to);
+        return data.get(to);
+    }
+}
@@ -0,0 +1,45 @@
+package com.library.adapter.benchmark;
+
+import com.library.adapter.base.util.ExpandableIndex;
+import java.util.List;
+
+/**
+ * Stands for the RecyclerView observing the adapter: takes the notifications the adapter
+ * dispatches after a change of its data, and reports them to the {@link ExpandableIndex} like the
+ * data observer of BaseQuickAdapter does.
+ */
+final class NotifySink {
+
+    private final List<?> data;
+    private final ExpandableIndex index;
+    private int notifications;
+
+    NotifySink(List<?> data, ExpandableIndex index) {
+        this.data = data;
+        this.index = index;
+    }
+
+    void notifyItemRangeChanged(int positionStart, int itemCount) {
+        notifications++;
+        index.onItemRangeChanged(data, positionStart, itemCount);
+    }
+
+    void notifyItemRangeInserted(int positionStart, int itemCount) {
+        notifications++;
+        index.onItemRangeInserted(data, positionStart, itemCount);
+    }
+
+    void notifyItemRangeRemoved(int positionStart, int itemCount) {
+        notifications++;
+        index.onItemRangeRemoved(positionStart, itemCount);
+    }
+
+    void notifyItemMoved(int fromPosition, int toPosition) {
+        notifications++;
+        index.onItemRangeMoved(fromPosition, toPosition, 1);
+    }
+
+    int getNotifications() {
+        return notifications;
+    }
+}
@@ -0,0 +1,133 @@
+package com.library.adapter.benchmark;
+
+import com.library.adapter.base.entity.AbstractExpandableItem;
+import com.library.adapter.base.entity.MultiItemEntity;
+import com.library.adapter.base.entity.SectionEntity;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Large data sets shaped like the ones of the adapters, generated with a fixed seed.
+ */
+final class SyntheticData {
+
+    static final int TYPE_LEAF = 100;
+    static final int TYPE_SECTION_HEADER = 200;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Expandable item of a tree, its type is its level
+     */
+    static final class Node extends AbstractExpandableItem<Object> implements MultiItemEntity {
+        final int level;
+
+        Node(int level) {
+            this.level = level;
+        }
+
+        @Override
+        public int getLevel() {
+            return level;
+        }
+
+        @Override
+        public int getItemType() {
+            return level;
+        }
+    }
+
+    static final class Leaf implements MultiItemEntity {
+        final int value;
+
+        Leaf(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public int getItemType() {
+            return TYPE_LEAF;
+        }
+    }
+
+    static final class Section extends SectionEntity<Leaf> {
+        Section(String header) {
+            super(true, header);
+        }
+
+        Section(Leaf leaf) {
+            super(leaf);
+        }
+    }
+
+    /**
+     * A fully expanded tree flattened the way the adapter shows it: every node followed by its
+     * sub items, {@code depth} levels of nodes then leaves. The nodes hold their sub items, so
+     * they can be collapsed and expanded again.
+     *
+     * @param size approximate number of items
+     */
+    static List<Object> expandedTree(int size, int depth, int seed) {
+        Random random = new Random(seed);
+        List<Object> data = new ArrayList<>(size + depth + 8);
+        while (data.size() < size) {
+            addSubtree(data, 0, depth, random, size);
+        }
+        return data;
+    }
+
+    private static Node addSubtree(List<Object> data, int level, int depth, Random random, int size) {
+        Node node = new Node(level);
+        node.setExpanded(true);
+        data.add(node);
+        int children = 2 + random.nextInt(6);
+        for (int i = 0; i < children && data.size() < size; i++) {
+            if (level + 1 < depth) {
+                node.addSubItem(addSubtree(data, level + 1, depth, random, size));
+            } else {
+                Leaf leaf = new Leaf(random.nextInt());
+                node.addSubItem(leaf);
+                data.add(leaf);
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Sections of 1 to 20 items, each starting with its header.
+     */
+    static List<Object> sections(int size, int seed) {
+        Random random = new Random(seed);
+        List<Object> data = new ArrayList<>(size);
+        int section = 0;
+        while (data.size() < size) {
+            data.add(new Section("section " + section++));
+            int items = 1 + random.nextInt(20);
+            for (int i = 0; i < items && data.size() < size; i++) {
+                data.add(new Section(new Leaf(random.nextInt())));
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Classification standing for the non-trivial getItemType of an application
+     */
+    static int classify(Object item) {
+        if (item instanceof Section) {
+            Section section = (Section) item;
+            return section.isHeader ? TYPE_SECTION_HEADER : (section.t.value & 0x3);
+        }
+        if (item instanceof MultiItemEntity) {
+            int type = ((MultiItemEntity) item).getItemType();
+            if (item instanceof Leaf) {
+                // e.g. a layout picked from the content
+                type += Integer.bitCount(((Leaf) item).value) % 3;
+            }
+            return type;
+        }
+        return -1;
+    }
+}
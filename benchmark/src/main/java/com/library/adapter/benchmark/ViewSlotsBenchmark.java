@@ -0,0 +1,94 @@
+package com.library.adapter.benchmark;
+
+import com.library.adapter.base.util.ViewSlots;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The view lookups of a bind: the binary search of the SparseArray of ViewHolder against the
+ * {@link ViewSlots} table of the declared ids.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ViewSlotsBenchmark {
+
+    /**
+     * setter calls of a bind
+     */
+    private static final int LOOKUPS = 25;
+
+    @Param({"8", "25"})
+    public int viewCount;
+
+    private int[] sortedIds;
+    private Object[] sortedViews;
+    private ViewSlots slots;
+    private Object[] slotViews;
+    private int[] lookups;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int[] ids = new int[viewCount];
+        for (int i = 0; i < viewCount; i++) {
+            // aapt ids of a library, 0x7f08xxxx
+            ids[i] = 0x7f080000 + random.nextInt(0x1000);
+        }
+        slots = new ViewSlots(ids);
+        slotViews = new Object[slots.size()];
+        sortedIds = new int[slots.size()];
+        for (int i = 0; i < slots.size(); i++) {
+            slotViews[i] = new Object();
+            sortedIds[i] = slots.getId(i);
+        }
+        Arrays.sort(sortedIds);
+        sortedViews = new Object[sortedIds.length];
+        for (int i = 0; i < sortedIds.length; i++) {
+            sortedViews[i] = slotViews[slots.indexOf(sortedIds[i])];
+        }
+        lookups = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = slots.getId(random.nextInt(slots.size()));
+        }
+    }
+
+    @Benchmark
+    public int sparseArrayBinarySearch() {
+        int found = 0;
+        for (int id : lookups) {
+            int index = Arrays.binarySearch(sortedIds, id);
+            if (index >= 0 && sortedViews[index] != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int viewSlots() {
+        int found = 0;
+        for (int id : lookups) {
+            int slot = slots.indexOf(id);
+            if (slot >= 0 && slotViews[slot] != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
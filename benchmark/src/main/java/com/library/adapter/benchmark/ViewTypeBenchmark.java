@@ -0,0 +1,80 @@
+package com.library.adapter.benchmark;
+
+import com.library.adapter.base.util.ViewTypeCache;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * getItemViewType of a screen of items, as a layout pass asks for it, with and without
+ * {@link ViewTypeCache}, on multi type and section data.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ViewTypeBenchmark {
+
+    private static final int SCREEN = 24;
+
+    @Param({"tree", "sections"})
+    public String shape;
+
+    private List<Object> data;
+    private ViewTypeCache cache;
+    private int first;
+
+    @Setup
+    public void setUp() {
+        data = "tree".equals(shape) ? SyntheticData.expandedTree(20000, 3, 42) : SyntheticData.sections(20000, 42);
+        cache = new ViewTypeCache();
+    }
+
+    @Benchmark
+    public int resolveEveryTime() {
+        int sum = 0;
+        int start = nextScreen();
+        for (int i = start; i < start + SCREEN; i++) {
+            sum += SyntheticData.classify(data.get(i));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int resolveCached() {
+        int sum = 0;
+        int start = nextScreen();
+        for (int i = start; i < start + SCREEN; i++) {
+            int type;
+            if (cache.contains(data, i)) {
+                type = cache.getType(i);
+            } else {
+                Object item = data.get(i);
+                type = SyntheticData.classify(item);
+                cache.put(i, item, type);
+            }
+            sum += type;
+        }
+        return sum;
+    }
+
+    /**
+     * Scroll slowly through the data, most of the screen is the same from a pass to the next.
+     */
+    private int nextScreen() {
+        first = (first + 1) % (data.size() - SCREEN);
+        return first;
+    }
+}
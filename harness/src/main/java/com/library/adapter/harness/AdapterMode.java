@@ -0,0 +1,47 @@
+package com.library.adapter.harness;
+
+import androidx.annotation.NonNull;
+import com.library.adapter.base.BaseQuickAdapter;
+
+/**
+ * Options of the adapter a scenario is run with, to compare the optimisations of the adapter
+ * on the same scenario.
+ */
+public abstract class AdapterMode {
+
+    /**
+     * The adapter as created by the scenario
+     */
+    public static final AdapterMode DEFAULT = new AdapterMode("default") {
+        @Override
+        public void apply(@NonNull BaseQuickAdapter<?> adapter) {
+        }
+    };
+
+    /**
+     * View types resolved once per item and setter values memoized per holder
+     */
+    public static final AdapterMode CACHED = new AdapterMode("cached") {
+        @Override
+        public void apply(@NonNull BaseQuickAdapter<?> adapter) {
+            adapter.setViewTypeCacheEnabled(true);
+            adapter.setValueMemoizationEnabled(true);
+        }
+    };
+
+    private final String mName;
+
+    protected AdapterMode(@NonNull String name) {
+        mName = name;
+    }
+
+    @NonNull
+    public String getName() {
+        return mName;
+    }
+
+    /**
+     * Called before the adapter is set to the RecyclerView.
+     */
+    public abstract void apply(@NonNull BaseQuickAdapter<?> adapter);
+}
@@ -0,0 +1,64 @@
+package com.library.adapter.harness;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import org.xmlpull.v1.XmlPullParser;
+
+/**
+ * LayoutInflater counting the layouts it inflates, the clones share the count of the original.
+ * Layouts merged with {@code <include>} are part of the layout including them.
+ */
+final class CountingLayoutInflater extends LayoutInflater {
+
+    private static final String[] CLASS_PREFIXES = {
+            "android.widget.",
+            "android.webkit.",
+            "android.app."
+    };
+
+    private final CountingLayoutInflater mRoot;
+    private int mInflateCount;
+
+    CountingLayoutInflater(LayoutInflater original, Context newContext) {
+        super(original, newContext);
+        mRoot = this;
+    }
+
+    private CountingLayoutInflater(CountingLayoutInflater original, Context newContext) {
+        super(original, newContext);
+        mRoot = original.mRoot;
+    }
+
+    @Override
+    public LayoutInflater cloneInContext(Context newContext) {
+        return new CountingLayoutInflater(this, newContext);
+    }
+
+    @Override
+    protected View onCreateView(String name, AttributeSet attrs) throws ClassNotFoundException {
+        for (String prefix : CLASS_PREFIXES) {
+            try {
+                View view = createView(name, prefix, attrs);
+                if (view != null) {
+                    return view;
+                }
+            } catch (ClassNotFoundException e) {
+                // try the next package
+            }
+        }
+        return super.onCreateView(name, attrs);
+    }
+
+    @Override
+    public View inflate(XmlPullParser parser, ViewGroup root, boolean attachToRoot) {
+        mRoot.mInflateCount++;
+        return super.inflate(parser, root, attachToRoot);
+    }
+
+    int getInflateCount() {
+        return mRoot.mInflateCount;
+    }
+}
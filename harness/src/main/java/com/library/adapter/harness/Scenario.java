@@ -0,0 +1,36 @@
+package com.library.adapter.harness;
+
+import androidx.annotation.NonNull;
+import com.library.adapter.base.BaseQuickAdapter;
+
+/**
+ * A scripted session of a RecyclerView: the adapter and data it starts with, then the scrolls and
+ * data changes, driven with a {@link ScrollHarness}. Everything must be deterministic, so that two
+ * runs create, bind and inflate the same number of times.
+ *
+ * @see Scenarios
+ */
+public abstract class Scenario {
+
+    private final String mName;
+
+    protected Scenario(@NonNull String name) {
+        mName = name;
+    }
+
+    @NonNull
+    public String getName() {
+        return mName;
+    }
+
+    /**
+     * @return a new adapter with the initial data, the same for every run
+     */
+    @NonNull
+    protected abstract BaseQuickAdapter<?> createAdapter();
+
+    /**
+     * Drive the RecyclerView, the adapter is already laid out.
+     */
+    protected abstract void run(@NonNull ScrollHarness harness);
+}
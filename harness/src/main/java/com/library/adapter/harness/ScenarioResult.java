@@ -0,0 +1,73 @@
+package com.library.adapter.harness;
+
+import androidx.annotation.NonNull;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Counters and wall time of a run of a {@link Scenario}. The counters are deterministic, the
+ * wall time depends on the machine and is only meaningful against runs on the same machine.
+ */
+public class ScenarioResult {
+
+    public final String scenario;
+    public final String mode;
+    public final int createCount;
+    public final int bindCount;
+    public final int partialBindCount;
+    public final int inflateCount;
+    public final long createNanos;
+    public final long bindNanos;
+    public final long wallNanos;
+
+    public ScenarioResult(@NonNull String scenario, @NonNull String mode, int createCount, int bindCount,
+                          int partialBindCount, int inflateCount, long createNanos, long bindNanos,
+                          long wallNanos) {
+        this.scenario = scenario;
+        this.mode = mode;
+        this.createCount = createCount;
+        this.bindCount = bindCount;
+        this.partialBindCount = partialBindCount;
+        this.inflateCount = inflateCount;
+        this.createNanos = createNanos;
+        this.bindNanos = bindNanos;
+        this.wallNanos = wallNanos;
+    }
+
+    /**
+     * @return scenario and mode, the key of the result in a report
+     */
+    @NonNull
+    public String getKey() {
+        return scenario + "/" + mode;
+    }
+
+    @NonNull
+    public JSONObject toJson() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("scenario", scenario);
+        json.put("mode", mode);
+        json.put("creates", createCount);
+        json.put("binds", bindCount);
+        json.put("partialBinds", partialBindCount);
+        json.put("inflations", inflateCount);
+        json.put("createNanos", createNanos);
+        json.put("bindNanos", bindNanos);
+        json.put("wallNanos", wallNanos);
+        return json;
+    }
+
+    @NonNull
+    public static ScenarioResult fromJson(@NonNull JSONObject json) throws JSONException {
+        return new ScenarioResult(json.getString("scenario"), json.getString("mode"),
+                json.getInt("creates"), json.getInt("binds"), json.getInt("partialBinds"),
+                json.getInt("inflations"), json.getLong("createNanos"), json.getLong("bindNanos"),
+                json.getLong("wallNanos"));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-24s %-8s creates %5d  binds %6d (%5d partial)  inflations %5d  wall %8.2f ms",
+                scenario, mode, createCount, bindCount, partialBindCount, inflateCount, wallNanos / 1e6);
+    }
+}
@@ -0,0 +1,280 @@
+package com.library.adapter.harness;
+
+import android.graphics.Color;
+import androidx.annotation.NonNull;
+import com.library.adapter.base.BaseMultiItemQuickAdapter;
+import com.library.adapter.base.BaseQuickAdapter;
+import com.library.adapter.base.MultipleItemRvAdapter;
+import com.library.adapter.base.ViewHolder;
+import com.library.adapter.base.entity.AbstractExpandableItem;
+import com.library.adapter.base.entity.MultiItemEntity;
+import com.library.adapter.base.provider.BaseItemProvider;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The built-in scenarios, one per adapter family: scroll of a BaseQuickAdapter, expand and
+ * collapse of a BaseMultiItemQuickAdapter, scroll of a MultipleItemRvAdapter, and a stream of
+ * items appended at the end of a BaseQuickAdapter.
+ */
+public final class Scenarios {
+
+    static final int TYPE_ITEM = 1;
+    static final int TYPE_GROUP = 2;
+
+    /**
+     * height of harness_item_text at density 1
+     */
+    private static final int ITEM_HEIGHT = 72;
+
+    private Scenarios() {
+    }
+
+    @NonNull
+    public static List<Scenario> all() {
+        return Arrays.asList(quickScroll(2000), multiItemExpandCollapse(200, 8), providerScroll(2000),
+                streamingInsert(100, 20));
+    }
+
+    /**
+     * Fling to the end of {@code count} items and back, a third of an item per frame.
+     */
+    @NonNull
+    public static Scenario quickScroll(final int count) {
+        return new Scenario("quick-scroll") {
+            @NonNull
+            @Override
+            protected BaseQuickAdapter<?> createAdapter() {
+                return new TextAdapter(items(0, count));
+            }
+
+            @Override
+            protected void run(@NonNull ScrollHarness harness) {
+                int distance = count * ITEM_HEIGHT;
+                harness.fling(distance, ITEM_HEIGHT / 3);
+                harness.fling(-distance, ITEM_HEIGHT / 3);
+            }
+        };
+    }
+
+    /**
+     * Expand each group, scroll through its sub items and collapse it again.
+     */
+    @NonNull
+    public static Scenario multiItemExpandCollapse(final int groupCount, final int childCount) {
+        return new Scenario("multi-expand-collapse") {
+            @NonNull
+            @Override
+            protected BaseQuickAdapter<?> createAdapter() {
+                List<MultiItemEntity> data = new ArrayList<>(groupCount);
+                for (int i = 0; i < groupCount; i++) {
+                    Group group = new Group("group " + i);
+                    for (Item child : items(i * childCount, childCount)) {
+                        group.addSubItem(child);
+                    }
+                    data.add(group);
+                }
+                return new ExpandableAdapter(data);
+            }
+
+            @Override
+            protected void run(@NonNull ScrollHarness harness) {
+                BaseQuickAdapter<?> adapter = harness.getAdapter();
+                // the groups before the current one are collapsed, the position of a group is its index
+                for (int position = 0; position < groupCount; position++) {
+                    harness.scrollToPosition(position);
+                    adapter.expand(position);
+                    harness.frame();
+                    harness.fling(childCount * ITEM_HEIGHT, ITEM_HEIGHT / 2);
+                    adapter.collapse(position);
+                    harness.frame();
+                }
+            }
+        };
+    }
+
+    /**
+     * Fling to the end of {@code count} items of two providers and back.
+     */
+    @NonNull
+    public static Scenario providerScroll(final int count) {
+        return new Scenario("provider-scroll") {
+            @NonNull
+            @Override
+            protected BaseQuickAdapter<?> createAdapter() {
+                List<Item> data = items(0, count);
+                for (int i = 0; i < count; i += 5) {
+                    data.get(i).type = TYPE_GROUP;
+                }
+                return new ProviderAdapter(data);
+            }
+
+            @Override
+            protected void run(@NonNull ScrollHarness harness) {
+                int distance = count * ITEM_HEIGHT;
+                harness.fling(distance, ITEM_HEIGHT / 3);
+                harness.fling(-distance, ITEM_HEIGHT / 3);
+            }
+        };
+    }
+
+    /**
+     * Append {@code batchSize} items per frame while following the end of the list.
+     */
+    @NonNull
+    public static Scenario streamingInsert(final int batchCount, final int batchSize) {
+        return new Scenario("streaming-insert") {
+            @NonNull
+            @Override
+            protected BaseQuickAdapter<?> createAdapter() {
+                return new TextAdapter(items(0, batchSize));
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            protected void run(@NonNull ScrollHarness harness) {
+                BaseQuickAdapter<Item> adapter = (BaseQuickAdapter<Item>) harness.getAdapter();
+                for (int i = 1; i <= batchCount; i++) {
+                    adapter.addData(items(i * batchSize, batchSize));
+                    harness.scrollToPosition(adapter.getItemCount() - 1);
+                }
+            }
+        };
+    }
+
+    static List<Item> items(int first, int count) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = first; i < first + count; i++) {
+            items.add(new Item(TYPE_ITEM, i));
+        }
+        return items;
+    }
+
+    static void convertItem(ViewHolder helper, Item item) {
+        helper.setText(R.id.harness_title, "item " + item.index);
+        helper.setText(R.id.harness_subtitle, item.subtitle);
+        helper.setBackgroundColor(R.id.harness_icon, item.color);
+        helper.setGone(R.id.harness_badge, item.index % 7 != 0);
+    }
+
+    static final class Item implements MultiItemEntity {
+        int type;
+        final int index;
+        final String subtitle;
+        final int color;
+
+        Item(int type, int index) {
+            this.type = type;
+            this.index = index;
+            this.subtitle = (index % 3 == 0 ? "a longer subtitle of two lines for item " : "subtitle ") + index;
+            this.color = Color.HSVToColor(new float[]{index % 360, 0.5f, 0.9f});
+        }
+
+        @Override
+        public int getItemType() {
+            return type;
+        }
+    }
+
+    static final class Group extends AbstractExpandableItem<Item> implements MultiItemEntity {
+        final String title;
+
+        Group(String title) {
+            this.title = title;
+        }
+
+        @Override
+        public int getLevel() {
+            return 0;
+        }
+
+        @Override
+        public int getItemType() {
+            return TYPE_GROUP;
+        }
+    }
+
+    static final class TextAdapter extends BaseQuickAdapter<Item> {
+        TextAdapter(List<Item> data) {
+            super(R.layout.harness_item_text, data);
+        }
+
+        @Override
+        protected void convert(@NonNull ViewHolder helper, Item item) {
+            convertItem(helper, item);
+        }
+    }
+
+    static final class ExpandableAdapter extends BaseMultiItemQuickAdapter<MultiItemEntity> {
+        ExpandableAdapter(List<MultiItemEntity> data) {
+            super(data);
+            addItemType(TYPE_ITEM, R.layout.harness_item_text);
+            addItemType(TYPE_GROUP, R.layout.harness_item_group);
+        }
+
+        @Override
+        protected void convert(@NonNull ViewHolder helper, MultiItemEntity item) {
+            if (item instanceof Group) {
+                Group group = (Group) item;
+                helper.setText(R.id.harness_title, group.title);
+                helper.setBackgroundColor(R.id.harness_arrow, group.isExpanded() ? Color.DKGRAY : Color.LTGRAY);
+            } else {
+                convertItem(helper, (Item) item);
+            }
+        }
+    }
+
+    static final class ProviderAdapter extends MultipleItemRvAdapter<Item> {
+        ProviderAdapter(List<Item> data) {
+            super(data);
+            finishInitialize();
+        }
+
+        @Override
+        protected int getViewType(Item item) {
+            return item.type;
+        }
+
+        @Override
+        public void registerItemProvider() {
+            mProviderDelegate.registerProvider(new ItemProvider());
+            mProviderDelegate.registerProvider(new HeadlineProvider());
+        }
+    }
+
+    static final class ItemProvider extends BaseItemProvider<Item> {
+        @Override
+        public int viewType() {
+            return TYPE_ITEM;
+        }
+
+        @Override
+        public int layout() {
+            return R.layout.harness_item_text;
+        }
+
+        @Override
+        public void convert(@NonNull ViewHolder helper, Item data, int position) {
+            convertItem(helper, data);
+        }
+    }
+
+    static final class HeadlineProvider extends BaseItemProvider<Item> {
+        @Override
+        public int viewType() {
+            return TYPE_GROUP;
+        }
+
+        @Override
+        public int layout() {
+            return R.layout.harness_item_group;
+        }
+
+        @Override
+        public void convert(@NonNull ViewHolder helper, Item data, int position) {
+            helper.setText(R.id.harness_title, "headline " + data.index);
+            helper.setBackgroundColor(R.id.harness_arrow, data.color);
+        }
+    }
+}
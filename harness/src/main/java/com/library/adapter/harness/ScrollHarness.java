@@ -0,0 +1,175 @@
+package com.library.adapter.harness;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.view.LayoutInflater;
+import android.view.View;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.library.adapter.base.BaseQuickAdapter;
+import com.library.adapter.base.SimpleAdapterMetrics;
+
+/**
+ * Run {@link Scenario}s on a real RecyclerView of a fixed size, without a window: every step of a
+ * scenario is followed by a measure and layout pass, like a frame. Holder creations and binds are
+ * collected with {@link SimpleAdapterMetrics}, inflations with the LayoutInflater of the context
+ * given to the RecyclerView.
+ * <p>
+ * Item animations are turned off, a scenario measures the work of the adapter.
+ * Works on a device as well as on the JVM with Robolectric.
+ */
+public class ScrollHarness {
+
+    private final HarnessContext mContext;
+    private final int mWidth;
+    private final int mHeight;
+
+    private RecyclerView mRecyclerView;
+    private BaseQuickAdapter<?> mAdapter;
+
+    /**
+     * @param context themed context the item views are inflated with
+     * @param width   width of the RecyclerView in pixels
+     * @param height  height of the RecyclerView in pixels
+     */
+    public ScrollHarness(@NonNull Context context, int width, int height) {
+        mContext = new HarnessContext(context);
+        mWidth = width;
+        mHeight = height;
+    }
+
+    @NonNull
+    public ScenarioResult run(@NonNull Scenario scenario, @NonNull AdapterMode mode) {
+        RecyclerView recyclerView = new RecyclerView(mContext);
+        recyclerView.setLayoutManager(new LinearLayoutManager(mContext));
+        recyclerView.setItemAnimator(null);
+        BaseQuickAdapter<?> adapter = scenario.createAdapter();
+        mode.apply(adapter);
+        SimpleAdapterMetrics metrics = new SimpleAdapterMetrics();
+        adapter.setAdapterMetrics(metrics);
+
+        mRecyclerView = recyclerView;
+        mAdapter = adapter;
+        int inflateCount = mContext.getInflater().getInflateCount();
+        long start = System.nanoTime();
+        try {
+            recyclerView.setAdapter(adapter);
+            frame();
+            scenario.run(this);
+        } finally {
+            mRecyclerView = null;
+            mAdapter = null;
+        }
+        long wallNanos = System.nanoTime() - start;
+        inflateCount = mContext.getInflater().getInflateCount() - inflateCount;
+
+        int createCount = 0;
+        int bindCount = 0;
+        int partialBindCount = 0;
+        long createNanos = 0;
+        long bindNanos = 0;
+        for (int viewType : metrics.getViewTypes()) {
+            createCount += metrics.getCreateCount(viewType);
+            bindCount += metrics.getBindCount(viewType);
+            partialBindCount += metrics.getPartialBindCount(viewType);
+            createNanos += metrics.getCreateNanos(viewType);
+            bindNanos += metrics.getBindNanos(viewType);
+        }
+        return new ScenarioResult(scenario.getName(), mode.getName(), createCount, bindCount,
+                partialBindCount, inflateCount, createNanos, bindNanos, wallNanos);
+    }
+
+    /**
+     * @return the RecyclerView of the running scenario
+     */
+    @NonNull
+    public RecyclerView getRecyclerView() {
+        checkRunning();
+        return mRecyclerView;
+    }
+
+    /**
+     * @return the adapter of the running scenario
+     */
+    @NonNull
+    public BaseQuickAdapter<?> getAdapter() {
+        checkRunning();
+        return mAdapter;
+    }
+
+    /**
+     * Dispatch the pending notifications of the adapter and lay the RecyclerView out.
+     */
+    public void frame() {
+        checkRunning();
+        mAdapter.flushPendingBatch();
+        mRecyclerView.measure(View.MeasureSpec.makeMeasureSpec(mWidth, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(mHeight, View.MeasureSpec.EXACTLY));
+        mRecyclerView.layout(0, 0, mWidth, mHeight);
+    }
+
+    /**
+     * Scroll vertically by {@code dy} pixels in one frame.
+     */
+    public void scrollBy(int dy) {
+        checkRunning();
+        mRecyclerView.scrollBy(0, dy);
+        frame();
+    }
+
+    /**
+     * Scroll vertically by {@code distance} pixels, {@code step} pixels per frame, like a fling.
+     * Stops at the end of the list.
+     */
+    public void fling(int distance, int step) {
+        checkRunning();
+        int direction = distance < 0 ? -1 : 1;
+        int remaining = Math.abs(distance);
+        step = Math.abs(step);
+        while (remaining > 0 && mRecyclerView.canScrollVertically(direction)) {
+            int dy = Math.min(step, remaining);
+            scrollBy(dy * direction);
+            remaining -= dy;
+        }
+    }
+
+    public void scrollToPosition(int position) {
+        checkRunning();
+        mRecyclerView.scrollToPosition(position);
+        frame();
+    }
+
+    private void checkRunning() {
+        if (mRecyclerView == null) {
+            throw new IllegalStateException("please use run(Scenario, AdapterMode) first!");
+        }
+    }
+
+    /**
+     * Context handing out the counting LayoutInflater
+     */
+    private static final class HarnessContext extends ContextWrapper {
+
+        private CountingLayoutInflater mInflater;
+
+        HarnessContext(Context base) {
+            super(base);
+        }
+
+        CountingLayoutInflater getInflater() {
+            if (mInflater == null) {
+                mInflater = new CountingLayoutInflater(LayoutInflater.from(getBaseContext()), this);
+            }
+            return mInflater;
+        }
+
+        @Override
+        public Object getSystemService(String name) {
+            if (LAYOUT_INFLATER_SERVICE.equals(name)) {
+                return getInflater();
+            }
+            return super.getSystemService(name);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.library.adapter.harness;
+
+import static org.junit.Assert.assertEquals;
+
+import android.app.Activity;
+import android.view.View;
+import android.widget.TextView;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.library.adapter.base.BaseQuickAdapter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * The RecyclerView can be laid out right after a batch transaction is committed, without waiting
+ * for a frame, the notifications are already dispatched.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class BatchLayoutTest {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    private RecyclerView mRecyclerView;
+    private BaseQuickAdapter<Scenarios.Item> mAdapter;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        mRecyclerView = new RecyclerView(activity);
+        mRecyclerView.setLayoutManager(new LinearLayoutManager(activity));
+        mRecyclerView.setItemAnimator(null);
+        mAdapter = new Scenarios.TextAdapter(Scenarios.items(0, 50));
+        mRecyclerView.setAdapter(mAdapter);
+        layout();
+    }
+
+    @Test
+    public void layoutAfterCommit() {
+        mAdapter.batch(new Runnable() {
+            @Override
+            public void run() {
+                mAdapter.remove(0);
+                mAdapter.remove(0);
+                mAdapter.addData(0, Scenarios.items(100, 5));
+                mAdapter.moveData(0, 3);
+            }
+        });
+        layout();
+        assertBound();
+        assertEquals(53, mRecyclerView.getLayoutManager().getItemCount());
+    }
+
+    @Test
+    public void layoutBetweenCommitsOfAFrame() {
+        mAdapter.batch(new Runnable() {
+            @Override
+            public void run() {
+                mAdapter.addData(Scenarios.items(200, 10));
+                mAdapter.remove(1);
+            }
+        });
+        mRecyclerView.scrollToPosition(mAdapter.getItemCount() - 1);
+        layout();
+        assertBound();
+        mAdapter.batch(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 20; i++) {
+                    mAdapter.remove(mAdapter.getData().size() - 1);
+                }
+            }
+        });
+        mRecyclerView.scrollBy(0, -HEIGHT);
+        layout();
+        assertBound();
+        assertEquals(39, mRecyclerView.getLayoutManager().getItemCount());
+    }
+
+    @Test
+    public void nestedTransactionsDispatchOnOutermostCommit() {
+        mAdapter.beginBatch();
+        mAdapter.beginBatch();
+        mAdapter.addData(0, Scenarios.items(300, 3));
+        mAdapter.commitBatch();
+        mAdapter.remove(10);
+        mAdapter.commitBatch();
+        layout();
+        assertBound();
+        assertEquals(52, mRecyclerView.getLayoutManager().getItemCount());
+    }
+
+    /**
+     * Every laid out view shows the item at its adapter position.
+     */
+    private void assertBound() {
+        for (int i = 0; i < mRecyclerView.getChildCount(); i++) {
+            View child = mRecyclerView.getChildAt(i);
+            RecyclerView.ViewHolder holder = mRecyclerView.getChildViewHolder(child);
+            int position = holder.getAdapterPosition();
+            Scenarios.Item item = mAdapter.getItem(position);
+            TextView title = child.findViewById(R.id.harness_title);
+            assertEquals("item " + item.index, title.getText().toString());
+        }
+    }
+
+    private void layout() {
+        mRecyclerView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mRecyclerView.layout(0, 0, WIDTH, HEIGHT);
+    }
+}
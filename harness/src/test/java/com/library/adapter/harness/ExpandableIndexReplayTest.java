@@ -0,0 +1,131 @@
+package com.library.adapter.harness;
+
+import static org.junit.Assert.assertEquals;
+
+import android.app.Activity;
+import android.view.View;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.library.adapter.base.entity.IExpandable;
+import com.library.adapter.base.entity.MultiItemEntity;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+/**
+ * The notifications of a batch transaction or a diff are dispatched after the data has changed
+ * further, the parent lookups must still match the data afterwards.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ExpandableIndexReplayTest {
+
+    private Scenarios.ExpandableAdapter mAdapter;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        RecyclerView recyclerView = new RecyclerView(activity);
+        recyclerView.setLayoutManager(new LinearLayoutManager(activity));
+        List<MultiItemEntity> data = new ArrayList<>();
+        for (int group = 0; group < 4; group++) {
+            data.add(new Scenarios.Group("group " + group));
+            data.addAll(Scenarios.items(group * 10, 2));
+        }
+        mAdapter = new Scenarios.ExpandableAdapter(data);
+        mAdapter.addHeaderView(new View(activity));
+        recyclerView.setAdapter(mAdapter);
+        assertParents();
+    }
+
+    @Test
+    public void insertsDispatchedOutOfOrder() {
+        mAdapter.batch(new Runnable() {
+            @Override
+            public void run() {
+                mAdapter.addData(5, new Scenarios.Group("inserted"));
+                mAdapter.addData(0, Scenarios.items(100, 1).get(0));
+            }
+        });
+        assertParents();
+    }
+
+    @Test
+    public void changeDispatchedAfterAMove() {
+        mAdapter.batch(new Runnable() {
+            @Override
+            public void run() {
+                mAdapter.setData(2, new Scenarios.Group("changed"));
+                mAdapter.moveData(5, 2);
+            }
+        });
+        assertParents();
+    }
+
+    @Test
+    public void diffDispatchedBackToFront() {
+        mAdapter.setDiffCallback(new DiffUtil.ItemCallback<MultiItemEntity>() {
+            @Override
+            public boolean areItemsTheSame(@NonNull MultiItemEntity oldItem, @NonNull MultiItemEntity newItem) {
+                return oldItem == newItem;
+            }
+
+            @Override
+            public boolean areContentsTheSame(@NonNull MultiItemEntity oldItem, @NonNull MultiItemEntity newItem) {
+                return true;
+            }
+        }, new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                command.run();
+            }
+        });
+        List<MultiItemEntity> list = new ArrayList<>(mAdapter.getData());
+        list.add(1, new Scenarios.Group("first"));
+        list.remove(6);
+        list.add(8, new Scenarios.Group("second"));
+        list.add(0, Scenarios.items(200, 1).get(0));
+        mAdapter.submitList(list);
+        ShadowLooper.idleMainLooper();
+        assertEquals(list, mAdapter.getData());
+        assertParents();
+    }
+
+    private void assertParents() {
+        List<MultiItemEntity> data = mAdapter.getData();
+        for (int position = 0; position < data.size(); position++) {
+            assertEquals("parent of " + position, findParent(data, position), mAdapter.getParentPositionAt(position));
+        }
+    }
+
+    /**
+     * The parent found by walking the data backwards.
+     */
+    private static int findParent(List<MultiItemEntity> data, int position) {
+        MultiItemEntity item = data.get(position);
+        int level = item instanceof IExpandable ? ((IExpandable) item).getLevel() : Integer.MAX_VALUE;
+        if (level == 0) {
+            return position;
+        } else if (level == -1) {
+            return -1;
+        }
+        for (int i = position; i >= 0; i--) {
+            if (data.get(i) instanceof IExpandable) {
+                int itemLevel = ((IExpandable) data.get(i)).getLevel();
+                if (itemLevel >= 0 && itemLevel < level) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,63 @@
+package com.library.adapter.harness;
+
+import static org.junit.Assert.assertEquals;
+
+import android.app.Activity;
+import android.view.View;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * getHeaderCount is the number of header views in both modes, getHeaderLayoutCount the number
+ * of adapter positions before the data.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class HeaderCountTest {
+
+    private Activity mActivity;
+    private Scenarios.TextAdapter mAdapter;
+
+    @Before
+    public void setUp() {
+        mActivity = Robolectric.buildActivity(Activity.class).setup().get();
+        mAdapter = new Scenarios.TextAdapter(Scenarios.items(0, 10));
+    }
+
+    @Test
+    public void headersInTheHeaderLayout() {
+        addViews();
+        assertEquals(3, mAdapter.getHeaderCount());
+        assertEquals(1, mAdapter.getHeaderLayoutCount());
+        assertEquals(2, mAdapter.getFooterCount());
+        assertEquals(1, mAdapter.getFooterLayoutCount());
+        assertEquals(12, mAdapter.getItemCount());
+        assertEquals(1, mAdapter.getAdapterPosition(0));
+    }
+
+    @Test
+    public void headersAsItems() {
+        mAdapter.setHeaderViewAsItems(true);
+        mAdapter.setFooterViewAsItems(true);
+        addViews();
+        assertEquals(3, mAdapter.getHeaderCount());
+        assertEquals(3, mAdapter.getHeaderLayoutCount());
+        assertEquals(2, mAdapter.getFooterCount());
+        assertEquals(2, mAdapter.getFooterLayoutCount());
+        assertEquals(15, mAdapter.getItemCount());
+        assertEquals(3, mAdapter.getAdapterPosition(0));
+    }
+
+    private void addViews() {
+        for (int i = 0; i < 3; i++) {
+            mAdapter.addHeaderView(new View(mActivity));
+        }
+        for (int i = 0; i < 2; i++) {
+            mAdapter.addFooterView(new View(mActivity));
+        }
+    }
+}
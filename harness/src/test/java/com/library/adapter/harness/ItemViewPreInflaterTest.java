@@ -0,0 +1,46 @@
+package com.library.adapter.harness;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Activity;
+import android.view.View;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.library.adapter.base.util.ItemViewPreInflater;
+import java.util.concurrent.Executor;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Pre-inflated views are inflated against a detached parent, they get the LayoutParams of the
+ * LayoutManager when the adapter takes them.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ItemViewPreInflaterTest {
+
+    @Test
+    public void layoutParamsComeFromTheLayoutManager() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        RecyclerView recyclerView = new RecyclerView(activity);
+        recyclerView.setLayoutManager(new LinearLayoutManager(activity));
+        ItemViewPreInflater preInflater = new ItemViewPreInflater(2, new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                command.run();
+            }
+        });
+        Scenarios.TextAdapter adapter = new Scenarios.TextAdapter(Scenarios.items(0, 10));
+        adapter.setPreInflater(preInflater);
+        recyclerView.setAdapter(adapter);
+
+        View view = adapter.createViewHolder(recyclerView, 0).itemView;
+        assertEquals(1, preInflater.getHitCount(0));
+        assertTrue(view.getLayoutParams() instanceof RecyclerView.LayoutParams);
+    }
+}
@@ -0,0 +1,130 @@
+package com.library.adapter.harness;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import android.app.Activity;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Run every scenario of {@link Scenarios} in every {@link AdapterMode} and write the report.
+ * With the {@code harness.baseline} system property pointing to a previous report, fail when
+ * a scenario now creates, binds or inflates more than in the baseline. The wall time is only
+ * reported, it is too noisy to gate on.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ScrollHarnessTest {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    private static final AdapterMode[] MODES = {AdapterMode.DEFAULT, AdapterMode.CACHED};
+
+    @Test
+    public void runScenarios() throws Exception {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        ScrollHarness harness = new ScrollHarness(activity, WIDTH, HEIGHT);
+
+        List<ScenarioResult> results = new ArrayList<>();
+        for (Scenario scenario : Scenarios.all()) {
+            for (AdapterMode mode : MODES) {
+                // first run to load the classes and resources, the second is reported
+                harness.run(scenario, mode);
+                ScenarioResult result = harness.run(scenario, mode);
+                System.out.println(result);
+                assertTrue(result.getKey() + " bound nothing", result.bindCount > 0);
+                results.add(result);
+            }
+        }
+
+        String report = System.getProperty("harness.report");
+        if (report != null) {
+            writeReport(new File(report), results);
+        }
+        String baseline = System.getProperty("harness.baseline");
+        if (baseline != null) {
+            checkBaseline(readReport(new File(baseline)), results);
+        }
+    }
+
+    private static void checkBaseline(Map<String, ScenarioResult> baseline, List<ScenarioResult> results) {
+        StringBuilder regressions = new StringBuilder();
+        for (ScenarioResult result : results) {
+            ScenarioResult before = baseline.get(result.getKey());
+            if (before == null) {
+                continue;
+            }
+            checkCounter(regressions, result.getKey(), "creates", before.createCount, result.createCount);
+            checkCounter(regressions, result.getKey(), "binds", before.bindCount, result.bindCount);
+            checkCounter(regressions, result.getKey(), "inflations", before.inflateCount, result.inflateCount);
+        }
+        if (regressions.length() > 0) {
+            fail("regressions against the baseline:" + regressions);
+        }
+    }
+
+    private static void checkCounter(StringBuilder regressions, String key, String counter, int before, int now) {
+        if (now > before) {
+            regressions.append('\n').append(key).append(' ').append(counter).append(' ')
+                    .append(before).append(" -> ").append(now);
+        }
+    }
+
+    private static void writeReport(File file, List<ScenarioResult> results) throws IOException, JSONException {
+        JSONArray json = new JSONArray();
+        for (ScenarioResult result : results) {
+            json.put(result.toJson());
+        }
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("can't create " + parent);
+        }
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(json.toString(2).getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+
+    private static Map<String, ScenarioResult> readReport(File file) throws IOException, JSONException {
+        byte[] bytes = new byte[(int) file.length()];
+        InputStream in = new FileInputStream(file);
+        try {
+            int read = 0;
+            while (read < bytes.length) {
+                int n = in.read(bytes, read, bytes.length - read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+        } finally {
+            in.close();
+        }
+        JSONArray json = new JSONArray(new String(bytes, "UTF-8"));
+        Map<String, ScenarioResult> results = new HashMap<>();
+        for (int i = 0; i < json.length(); i++) {
+            ScenarioResult result = ScenarioResult.fromJson(json.getJSONObject(i));
+            results.put(result.getKey(), result);
+        }
+        return results;
+    }
+}
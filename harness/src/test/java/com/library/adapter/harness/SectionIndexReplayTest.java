@@ -0,0 +1,140 @@
+package com.library.adapter.harness;
+
+import static org.junit.Assert.assertEquals;
+
+import android.app.Activity;
+import android.view.View;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.library.adapter.base.BaseSectionQuickAdapter;
+import com.library.adapter.base.ViewHolder;
+import com.library.adapter.base.entity.SectionEntity;
+import com.library.adapter.base.util.SectionIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+/**
+ * The notifications of a batch transaction or a diff are dispatched after the data has changed
+ * further, the section index must still match the data afterwards.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SectionIndexReplayTest {
+
+    private SectionAdapter mAdapter;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        RecyclerView recyclerView = new RecyclerView(activity);
+        recyclerView.setLayoutManager(new LinearLayoutManager(activity));
+        List<Section> data = new ArrayList<>();
+        // headers at 1, 4 and 8
+        for (int i = 0; i < 10; i++) {
+            data.add(new Section(i == 1 || i == 4 || i == 8, i));
+        }
+        mAdapter = new SectionAdapter(data);
+        mAdapter.addHeaderView(new View(activity));
+        recyclerView.setAdapter(mAdapter);
+        assertIndexMatchesData();
+    }
+
+    @Test
+    public void insertsDispatchedOutOfOrder() {
+        mAdapter.batch(new Runnable() {
+            @Override
+            public void run() {
+                mAdapter.addData(5, new Section(true, 100));
+                mAdapter.addData(0, new Section(false, 101));
+            }
+        });
+        assertIndexMatchesData();
+        assertEquals(4, mAdapter.getSectionIndex().getSectionCount());
+    }
+
+    @Test
+    public void changeDispatchedAfterAMove() {
+        mAdapter.batch(new Runnable() {
+            @Override
+            public void run() {
+                mAdapter.setData(2, new Section(true, 100));
+                mAdapter.moveData(6, 2);
+            }
+        });
+        assertIndexMatchesData();
+    }
+
+    @Test
+    public void diffDispatchedBackToFront() {
+        mAdapter.setDiffCallback(new DiffUtil.ItemCallback<Section>() {
+            @Override
+            public boolean areItemsTheSame(@NonNull Section oldItem, @NonNull Section newItem) {
+                return oldItem == newItem;
+            }
+
+            @Override
+            public boolean areContentsTheSame(@NonNull Section oldItem, @NonNull Section newItem) {
+                return true;
+            }
+        }, new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                command.run();
+            }
+        });
+        List<Section> list = new ArrayList<>(mAdapter.getData());
+        list.add(2, new Section(true, 100));
+        list.remove(6);
+        list.add(9, new Section(true, 101));
+        list.add(0, new Section(false, 102));
+        mAdapter.submitList(list);
+        ShadowLooper.idleMainLooper();
+        assertEquals(list, mAdapter.getData());
+        assertIndexMatchesData();
+    }
+
+    private void assertIndexMatchesData() {
+        SectionIndex expected = new SectionIndex();
+        expected.rebuild(mAdapter.getData());
+        SectionIndex index = mAdapter.getSectionIndex();
+        assertEquals(expected.getSectionCount(), index.getSectionCount());
+        for (int section = 0; section < expected.getSectionCount(); section++) {
+            assertEquals("section " + section, expected.getHeaderPosition(section), index.getHeaderPosition(section));
+        }
+    }
+
+    static final class Section extends SectionEntity<Scenarios.Item> {
+        Section(boolean isHeader, int index) {
+            super(isHeader, "section " + index);
+            if (!isHeader) {
+                t = Scenarios.items(index, 1).get(0);
+            }
+        }
+    }
+
+    static final class SectionAdapter extends BaseSectionQuickAdapter<Section> {
+        SectionAdapter(List<Section> data) {
+            super(R.layout.harness_item_text, R.layout.harness_item_text, data);
+        }
+
+        @Override
+        protected void convertHead(ViewHolder helper, Section item) {
+            helper.setText(R.id.harness_title, item.header);
+        }
+
+        @Override
+        protected void convert(@NonNull ViewHolder helper, Section item) {
+            Scenarios.convertItem(helper, item.t);
+        }
+    }
+}
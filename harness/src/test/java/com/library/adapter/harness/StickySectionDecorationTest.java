@@ -0,0 +1,55 @@
+package com.library.adapter.harness;
+
+import static org.junit.Assert.assertFalse;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.View;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.library.adapter.base.decoration.StickySectionDecoration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class StickySectionDecorationTest {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    /**
+     * The decoration doesn't observe the adapter: once the adapter is detached, setHasStableIds
+     * can be called again.
+     */
+    @Test
+    public void adapterIsNotObservedByTheDecoration() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        RecyclerView recyclerView = new RecyclerView(activity);
+        recyclerView.setLayoutManager(new LinearLayoutManager(activity));
+        List<SectionIndexReplayTest.Section> data = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            data.add(new SectionIndexReplayTest.Section(i % 10 == 0, i));
+        }
+        SectionIndexReplayTest.SectionAdapter adapter = new SectionIndexReplayTest.SectionAdapter(data);
+        recyclerView.setAdapter(adapter);
+        StickySectionDecoration decoration = new StickySectionDecoration();
+        recyclerView.addItemDecoration(decoration);
+        recyclerView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        recyclerView.layout(0, 0, WIDTH, HEIGHT);
+        recyclerView.scrollBy(0, HEIGHT / 2);
+        recyclerView.draw(new Canvas(Bitmap.createBitmap(WIDTH, HEIGHT, Bitmap.Config.ARGB_8888)));
+
+        recyclerView.removeItemDecoration(decoration);
+        recyclerView.setAdapter(null);
+        assertFalse(adapter.hasObservers());
+        adapter.setHasStableIds(true);
+    }
+}
@@ -0,0 +1,92 @@
+package com.library.adapter.harness;
+
+import static org.junit.Assert.assertEquals;
+
+import android.app.Activity;
+import android.view.View;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.library.adapter.base.listener.OnLoadMoreListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+/**
+ * The load more view is only shown with data, submitting a list onto an empty one or an empty
+ * list must keep the item count of the RecyclerView consistent.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SubmitListLoadMoreTest {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 1920;
+
+    private RecyclerView mRecyclerView;
+    private Scenarios.TextAdapter mAdapter;
+
+    @Before
+    public void setUp() {
+        Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        mRecyclerView = new RecyclerView(activity);
+        mRecyclerView.setLayoutManager(new LinearLayoutManager(activity));
+        mAdapter = new Scenarios.TextAdapter(new ArrayList<Scenarios.Item>());
+        mAdapter.setOnLoadMoreListener(new OnLoadMoreListener() {
+            @Override
+            public void onLoadMoreRequested() {
+            }
+        });
+        mAdapter.setDiffCallback(new DiffUtil.ItemCallback<Scenarios.Item>() {
+            @Override
+            public boolean areItemsTheSame(@NonNull Scenarios.Item oldItem, @NonNull Scenarios.Item newItem) {
+                return oldItem.index == newItem.index;
+            }
+
+            @Override
+            public boolean areContentsTheSame(@NonNull Scenarios.Item oldItem, @NonNull Scenarios.Item newItem) {
+                return true;
+            }
+        }, new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                command.run();
+            }
+        });
+        mRecyclerView.setAdapter(mAdapter);
+        layout();
+    }
+
+    @Test
+    public void submitOntoAnEmptyList() {
+        submit(Scenarios.items(0, 20));
+        assertEquals(21, mRecyclerView.getLayoutManager().getItemCount());
+    }
+
+    @Test
+    public void submitAnEmptyList() {
+        submit(Scenarios.items(0, 20));
+        submit(new ArrayList<Scenarios.Item>());
+        assertEquals(0, mRecyclerView.getLayoutManager().getItemCount());
+    }
+
+    private void submit(List<Scenarios.Item> list) {
+        mAdapter.submitList(list);
+        ShadowLooper.idleMainLooper();
+        layout();
+    }
+
+    private void layout() {
+        mRecyclerView.measure(View.MeasureSpec.makeMeasureSpec(WIDTH, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(HEIGHT, View.MeasureSpec.EXACTLY));
+        mRecyclerView.layout(0, 0, WIDTH, HEIGHT);
+    }
+}
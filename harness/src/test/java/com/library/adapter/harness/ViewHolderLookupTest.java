@@ -0,0 +1,69 @@
+package com.library.adapter.harness;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import android.app.Activity;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import com.library.adapter.base.ViewHolder;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ViewHolderLookupTest {
+
+    private Activity mActivity;
+    private RecyclerView mRecyclerView;
+
+    @Before
+    public void setUp() {
+        mActivity = Robolectric.buildActivity(Activity.class).setup().get();
+        mRecyclerView = new RecyclerView(mActivity);
+        mRecyclerView.setLayoutManager(new LinearLayoutManager(mActivity));
+    }
+
+    /**
+     * Without declared ids, a view added after the first lookup is found.
+     */
+    @Test
+    public void missingViewIsLookedUpAgain() {
+        ViewHolder holder = new ViewHolder(new FrameLayout(mActivity));
+        assertNull(holder.getView(R.id.harness_title));
+        TextView title = new TextView(mActivity);
+        title.setId(R.id.harness_title);
+        ((FrameLayout) holder.itemView).addView(title);
+        assertSame(title, holder.getView(R.id.harness_title));
+    }
+
+    @Test
+    public void slotSettersReadTheDeclaredViews() {
+        Scenarios.TextAdapter adapter = new Scenarios.TextAdapter(Scenarios.items(0, 1));
+        adapter.setItemViewIds(0, R.id.harness_title, R.id.harness_badge, R.id.harness_arrow);
+        ViewHolder holder = adapter.createViewHolder(mRecyclerView, 0);
+        holder.setTextAt(0, "title");
+        holder.setGoneAt(1, true);
+        assertEquals("title", ((TextView) holder.getView(R.id.harness_title)).getText().toString());
+        assertEquals(View.GONE, holder.getViewAt(1).getVisibility());
+        assertSame(holder.getView(R.id.harness_title), holder.getViewAt(0));
+        // declared but missing from the layout
+        assertNull(holder.getViewAt(2));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void slotsNeedDeclaredIds() {
+        ViewHolder holder = new ViewHolder(LayoutInflater.from(mActivity)
+                .inflate(R.layout.harness_item_text, mRecyclerView, false));
+        holder.getViewAt(0);
+    }
+}
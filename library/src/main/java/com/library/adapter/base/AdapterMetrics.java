@@ -0,0 +1,33 @@
+package com.library.adapter.base;
+
+/**
+ * Receive the time spent by a {@link BaseQuickAdapter} in its hot paths.
+ * Called on the main thread right after each call, keep the implementation cheap.
+ *
+ * @see BaseQuickAdapter#setAdapterMetrics(AdapterMetrics)
+ * @see SimpleAdapterMetrics
+ */
+public interface AdapterMetrics {
+
+    /**
+     * @param viewType      the view type of the holder
+     * @param durationNanos time spent in onCreateViewHolder
+     */
+    void onViewHolderCreated(int viewType, long durationNanos);
+
+    /**
+     * @param viewType      the view type of the holder
+     * @param partial       true if the holder was bound with payloads (convertPayloads),
+     *                      false for a full bind (convert)
+     * @param durationNanos time spent in onBindViewHolder
+     */
+    void onViewHolderBound(int viewType, boolean partial, long durationNanos);
+
+    /**
+     * Only called for the items of the data, not for the header, footer, empty and loading views.
+     *
+     * @param viewType      the resolved view type
+     * @param durationNanos time spent in getItemViewType
+     */
+    void onItemViewTypeResolved(int viewType, long durationNanos);
+}
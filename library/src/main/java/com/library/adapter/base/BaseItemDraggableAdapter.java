@@ -11,7 +11,6 @@ import com.library.R;
 import com.library.adapter.base.callback.ItemDragAndSwipeCallback;
 import com.library.adapter.base.listener.OnItemDragListener;
 import com.library.adapter.base.listener.OnItemSwipeListener;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -55,8 +54,8 @@ public abstract class BaseItemDraggableAdapter<T> extends BaseQuickAdapter<T> {
         super.onBindViewHolder(holder, position);
         int viewType = holder.getItemViewType();
 
-        if (mItemTouchHelper != null && itemDragEnabled && viewType != LOADING_VIEW && viewType != HEADER_VIEW
-                && viewType != EMPTY_VIEW && viewType != FOOTER_VIEW) {
+        if (mItemTouchHelper != null && itemDragEnabled && viewType != LOADING_VIEW && !isHeaderViewType(viewType)
+                && viewType != EMPTY_VIEW && !isFooterViewType(viewType)) {
             if (hasToggleView()) {
                 View toggleView = holder.getView(mToggleViewId);
                 if (toggleView != null) {
@@ -197,7 +196,7 @@ public abstract class BaseItemDraggableAdapter<T> extends BaseQuickAdapter<T> {
     }
 
     public int getViewHolderPosition(RecyclerView.ViewHolder viewHolder) {
-        return viewHolder.getAdapterPosition() - getHeaderCount();
+        return getDataPosition(viewHolder.getAdapterPosition());
     }
 
     public void onItemDragStart(RecyclerView.ViewHolder viewHolder) {
@@ -211,16 +210,7 @@ public abstract class BaseItemDraggableAdapter<T> extends BaseQuickAdapter<T> {
         int to = getViewHolderPosition(target);
 
         if (inRange(from) && inRange(to)) {
-            if (from < to) {
-                for (int i = from; i < to; i++) {
-                    Collections.swap(mData, i, i + 1);
-                }
-            } else {
-                for (int i = from; i > to; i--) {
-                    Collections.swap(mData, i, i - 1);
-                }
-            }
-            notifyItemMoved(source.getAdapterPosition(), target.getAdapterPosition());
+            moveData(from, to);
         }
 
         if (mOnItemDragListener != null && itemDragEnabled) {
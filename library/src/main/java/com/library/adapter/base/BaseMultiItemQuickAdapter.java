@@ -4,8 +4,10 @@ import android.util.SparseIntArray;
 import android.view.ViewGroup;
 import androidx.annotation.IntRange;
 import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
 import com.library.adapter.base.entity.IExpandable;
 import com.library.adapter.base.entity.MultiItemEntity;
+import com.library.adapter.base.util.ExpandableIndex;
 import java.util.List;
 
 /**
@@ -60,6 +62,16 @@ public abstract class BaseMultiItemQuickAdapter<T extends MultiItemEntity> exten
         layouts.put(type, layoutResId);
     }
 
+    @Override
+    protected void collectItemLayouts(@NonNull SparseIntArray layouts) {
+        if (this.layouts == null) {
+            return;
+        }
+        for (int i = 0; i < this.layouts.size(); i++) {
+            layouts.put(this.layouts.keyAt(i), this.layouts.valueAt(i));
+        }
+    }
+
 
     @Override
     public void remove(@IntRange(from = 0L) int position) {
@@ -116,26 +128,14 @@ public abstract class BaseMultiItemQuickAdapter<T extends MultiItemEntity> exten
      * @return 父 position 在数据列表中的位置
      */
     public int getParentPositionInAll(int position) {
-        List<T> data = getData();
         MultiItemEntity multiItemEntity = getItem(position);
 
         if (isExpandable(multiItemEntity)) {
             IExpandable IExpandable = (IExpandable) multiItemEntity;
-            for (int i = position - 1; i >= 0; i--) {
-                MultiItemEntity entity = data.get(i);
-                if (isExpandable(entity) && IExpandable.getLevel() > ((IExpandable) entity).getLevel()) {
-                    return i;
-                }
-            }
+            return getExpandableIndex().findPreviousExpandable(getData(), position, IExpandable.getLevel());
         } else {
-            for (int i = position - 1; i >= 0; i--) {
-                MultiItemEntity entity = data.get(i);
-                if (isExpandable(entity)) {
-                    return i;
-                }
-            }
+            return getExpandableIndex().findPreviousExpandable(getData(), position, ExpandableIndex.NO_LEVEL);
         }
-        return -1;
     }
 
     public boolean isExpandable(MultiItemEntity item) {
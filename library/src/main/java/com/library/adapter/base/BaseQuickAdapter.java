@@ -18,6 +18,11 @@ package com.library.adapter.base;
 import static android.view.ViewGroup.LayoutParams.MATCH_PARENT;
 import static android.view.ViewGroup.LayoutParams.WRAP_CONTENT;
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Trace;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -32,11 +37,26 @@ import androidx.annotation.IntRange;
 import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.BatchingListUpdateCallback;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.GridLayoutManager;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.ListUpdateCallback;
 import androidx.recyclerview.widget.RecyclerView;
 import androidx.recyclerview.widget.StaggeredGridLayoutManager;
+import com.library.R;
 import com.library.adapter.base.entity.IExpandable;
+import com.library.adapter.base.listener.OnLoadMoreListener;
+import com.library.adapter.base.loadmore.LoadMoreView;
+import com.library.adapter.base.loadmore.SimpleLoadMoreView;
+import com.library.adapter.base.util.AdapterListUtil;
+import com.library.adapter.base.util.ExpandableIndex;
+import com.library.adapter.base.util.ItemViewPreInflater;
+import com.library.adapter.base.util.PagedWindowList;
+import com.library.adapter.base.util.RecycledViewPoolRegistry;
+import com.library.adapter.base.util.TextPrecomputer;
+import com.library.adapter.base.util.ViewSlots;
+import com.library.adapter.base.util.ViewTypeCache;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
@@ -45,6 +65,10 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 
 /**
@@ -65,6 +89,26 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
     //header footer
     private LinearLayout mHeaderLayout;
     private LinearLayout mFooterLayout;
+    /**
+     * headers and footers shown as an item each instead of in mHeaderLayout and mFooterLayout,
+     * see {@link #setHeaderViewAsItems(boolean)}
+     */
+    private boolean mHeaderViewAsItems;
+    private boolean mFooterViewAsItems;
+    private ArrayList<HeaderFooterItem> mHeaderItems;
+    private ArrayList<HeaderFooterItem> mFooterItems;
+    /**
+     * counter of the view types of the headers and footers shown as items, shared by the adapters
+     * so that no two of them reuse the holder of a header of the other through a shared pool
+     */
+    private static int sNextHeaderFooterItemType;
+    /**
+     * positions of the headers and footers and whether the empty view can be shown, kept up to
+     * date by the methods changing them rather than counted on every call
+     */
+    private int mHeaderCount;
+    private int mFooterCount;
+    private boolean mEmptyViewEnabled;
     //empty
     private FrameLayout mEmptyLayout;
     private boolean mIsUseEmpty = true;
@@ -79,6 +123,13 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
     public static final int HEADER_VIEW = 0x00000111;
     public static final int LOADING_VIEW = 0x00000222;
     public static final int FOOTER_VIEW = 0x00000333;
+    public static final int PLACEHOLDER_VIEW = 0x00000666;
+    /**
+     * view types of the headers and footers shown as items, one per view
+     */
+    private static final int HEADER_ITEM_VIEW_TYPE = 0x10000000;
+    private static final int FOOTER_ITEM_VIEW_TYPE = 0x20000000;
+    private static final int HEADER_FOOTER_ITEM_VIEW_TYPE_MASK = 0xF0000000;
     public static final int EMPTY_VIEW = 0x00000555;
 
     private RecyclerView mRecyclerView;
@@ -93,6 +144,285 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      */
     private boolean headerViewAsFlow, footerViewAsFlow;
 
+    private QuickAsyncDiffer<T> mAsyncDiffer;
+
+    private ViewHolderFactory mViewHolderFactory;
+
+    /**
+     * view ids declared per view type, see {@link #setItemViewIds(int, int...)}
+     */
+    private SparseArray<ViewSlots> mItemViewSlots;
+
+    private boolean mValueMemoizationEnabled;
+
+    private AdapterMetrics mAdapterMetrics;
+    private boolean mTraceEnabled;
+    /**
+     * names of the trace sections indexed with the view types
+     */
+    private SparseArray<String> mCreateSectionNames;
+    private SparseArray<String> mBindSectionNames;
+
+    private ItemViewPreInflater mPreInflater;
+    /**
+     * precomputer of the texts of the upcoming items and the range of data positions already
+     * handed to it, see {@link #setTextPrecomputer(TextPrecomputer)}
+     */
+    private TextPrecomputer<T> mTextPrecomputer;
+    private int mPrecomputeStart;
+    private int mPrecomputeEnd;
+    private int mLastPrecomputePosition;
+    /**
+     * prebinder of the positions past the visible ones, see {@link #setIdlePrebind(int, int)}
+     */
+    private IdlePrebinder mIdlePrebinder;
+    private static final int DEFAULT_PREBIND_BUDGET_MILLIS = 8;
+    /**
+     * registry of the pool shared with the adapters of the same class and the number of holders
+     * of each view type attached, see {@link #bindToRecyclerView(RecyclerView, RecycledViewPoolRegistry)}
+     */
+    private RecycledViewPoolRegistry mViewPoolRegistry;
+    private SparseIntArray mAttachedCounts;
+
+    private RecyclerView mAttachedRecyclerView;
+
+    private boolean mRebindOnRemove = true;
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int DEFAULT_MAX_PAGES = 10;
+    /**
+     * frames of scrolling at the current speed the pages are loaded ahead for
+     */
+    private static final int PREFETCH_FRAMES = 30;
+    private static final Object sPageExecutorLock = new Object();
+    private static Executor sPageExecutor = null;
+
+    /**
+     * the data when paged, see {@link #setPageSource(PageSource)}
+     */
+    private PagedWindowList<T> mPagedList;
+    private int mPlaceholderLayoutResId;
+    /**
+     * items loaded beyond the visible ones, -1 for a page
+     */
+    private int mPrefetchDistance = -1;
+
+    //load more
+    private OnLoadMoreListener mOnLoadMoreListener;
+    private LoadMoreView mLoadMoreView = new SimpleLoadMoreView();
+    private boolean mNextLoadEnable = false;
+    private boolean mLoadMoreEnable = false;
+    /**
+     * a request is in flight, set until loadMoreComplete, loadMoreEnd or loadMoreFail
+     */
+    private boolean mLoading = false;
+    private int mPreLoadNumber = 1;
+    private float mPreLoadScreens = 0f;
+
+    /**
+     * batch transaction, see {@link #beginBatch()}
+     */
+    private int mBatchDepth;
+    private BatchingListUpdateCallback mPendingBatch;
+    private boolean mBatchFullRefresh;
+    private int mBatchRebindFrom = RecyclerView.NO_POSITION;
+    /**
+     * move recorded last in the batch, merged with the next move of the same item
+     */
+    private int mBatchMoveFrom = RecyclerView.NO_POSITION;
+    private int mBatchMoveTo = RecyclerView.NO_POSITION;
+    /**
+     * set while notifications recorded earlier, by a batch transaction or a diff, are dispatched
+     */
+    private boolean mDispatchingRecordedUpdates;
+
+    /**
+     * ViewHolder constructors resolved by reflection, indexed with the adapter class
+     */
+    private static final Map<Class, ViewHolderConstructor> sViewHolderConstructors = new ConcurrentHashMap<>();
+
+    /**
+     * Dispatch list updates of the data to the adapter, offset by the header count.
+     */
+    private final ListUpdateCallback mListUpdateCallback = new ListUpdateCallback() {
+        @Override
+        public void onInserted(int position, int count) {
+            notifyItemRangeInserted(position + getHeaderLayoutCount(), count);
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            notifyItemRangeRemoved(position + getHeaderLayoutCount(), count);
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            notifyItemMoved(fromPosition + getHeaderLayoutCount(), toPosition + getHeaderLayoutCount());
+        }
+
+        @Override
+        public void onChanged(int position, int count, @Nullable Object payload) {
+            notifyItemRangeChanged(position + getHeaderLayoutCount(), count, payload);
+        }
+    };
+
+    /**
+     * Dispatch the notifications recorded by a batch transaction to the adapter.
+     */
+    private final ListUpdateCallback mBatchUpdateCallback = new ListUpdateCallback() {
+        @Override
+        public void onInserted(int position, int count) {
+            mDispatchingRecordedUpdates = true;
+            notifyItemRangeInserted(position, count);
+            mDispatchingRecordedUpdates = false;
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            mDispatchingRecordedUpdates = true;
+            notifyItemRangeRemoved(position, count);
+            mDispatchingRecordedUpdates = false;
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            mDispatchingRecordedUpdates = true;
+            notifyItemMoved(fromPosition, toPosition);
+            mDispatchingRecordedUpdates = false;
+        }
+
+        @Override
+        public void onChanged(int position, int count, @Nullable Object payload) {
+            mDispatchingRecordedUpdates = true;
+            notifyItemRangeChanged(position, count, payload);
+            mDispatchingRecordedUpdates = false;
+        }
+    };
+
+    /**
+     * levels of the expandable items, kept up to date by {@link #mDataObserver} while attached
+     */
+    private final ExpandableIndex mExpandableIndex = new ExpandableIndex();
+    /**
+     * view types of the data, null if disabled
+     */
+    private ViewTypeCache mViewTypeCache;
+    private boolean mDataObserverRegistered;
+
+    /**
+     * Translates the notifications of the adapter to data positions for the indexes of the data.
+     * Registered while attached only, so that setHasStableIds() can still be called before.
+     * <p>
+     * The items of an insert or a change are read from the data at the positions of the
+     * notification, which only works right after the change. Recorded notifications are
+     * dispatched after later changes, they invalidate the expandable index instead.
+     */
+    private final RecyclerView.AdapterDataObserver mDataObserver = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            resetPrecomputeRange();
+            dropPrebound();
+            mExpandableIndex.invalidate();
+            if (mViewTypeCache != null) {
+                mViewTypeCache.clear();
+            }
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            int position = positionStart - getHeaderLayoutCount();
+            dropPrebound();
+            if (mDispatchingRecordedUpdates) {
+                mExpandableIndex.invalidate();
+            } else {
+                mExpandableIndex.onItemRangeChanged(mData, position, itemCount);
+            }
+            if (mViewTypeCache != null) {
+                mViewTypeCache.onItemRangeChanged(position, itemCount);
+            }
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            int position = positionStart - getHeaderLayoutCount();
+            resetPrecomputeRange();
+            dropPrebound();
+            if (mDispatchingRecordedUpdates) {
+                mExpandableIndex.invalidate();
+            } else {
+                mExpandableIndex.onItemRangeInserted(mData, position, itemCount);
+            }
+            if (mViewTypeCache != null) {
+                mViewTypeCache.onItemRangeInserted(position, itemCount);
+            }
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            int position = positionStart - getHeaderLayoutCount();
+            resetPrecomputeRange();
+            dropPrebound();
+            mExpandableIndex.onItemRangeRemoved(position, itemCount);
+            if (mViewTypeCache != null) {
+                mViewTypeCache.onItemRangeRemoved(position, itemCount);
+            }
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            int from = fromPosition - getHeaderLayoutCount();
+            int to = toPosition - getHeaderLayoutCount();
+            resetPrecomputeRange();
+            dropPrebound();
+            mExpandableIndex.onItemRangeMoved(from, to, itemCount);
+            if (mViewTypeCache != null) {
+                mViewTypeCache.onItemRangeMoved(from, to, itemCount);
+            }
+        }
+    };
+
+    /**
+     * Cache the view types of the items by position, for adapters whose
+     * {@link #getDefItemViewType(int)} is expensive.
+     * <p>
+     * The cache follows the notifications of the mutation methods (addData, remove, setData,
+     * expand, collapse...). If the type of an item changes while it stays at the same position,
+     * notify the change or call {@link #invalidateViewTypeCache()}.
+     *
+     * @param enabled true to cache the view types, false by default
+     */
+    public void setViewTypeCacheEnabled(boolean enabled) {
+        if (enabled == (mViewTypeCache != null)) {
+            return;
+        }
+        mViewTypeCache = enabled ? new ViewTypeCache() : null;
+    }
+
+    public boolean isViewTypeCacheEnabled() {
+        return mViewTypeCache != null;
+    }
+
+    /**
+     * Forget the cached view types, they are resolved again with {@link #getDefItemViewType(int)}.
+     */
+    public void invalidateViewTypeCache() {
+        if (mViewTypeCache != null) {
+            mViewTypeCache.clear();
+        }
+    }
+
+    /**
+     * @return true while notifications recorded earlier, by a batch transaction or a diff, are
+     * dispatched: the data has already changed further, it can't be read at their positions
+     */
+    boolean isDispatchingRecordedUpdates() {
+        return mDispatchingRecordedUpdates;
+    }
+
+    ExpandableIndex getExpandableIndex() {
+        return mExpandableIndex;
+    }
+
     protected RecyclerView getRecyclerView() {
         return mRecyclerView;
     }
@@ -118,6 +448,32 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
         getRecyclerView().setAdapter(this);
     }
 
+    /**
+     * Same as {@link #bindToRecyclerView(RecyclerView)}, with the RecycledViewPool shared by the
+     * adapters of this class in the registry, like the nested lists of the rows of a list.
+     * A LinearLayoutManager of the RecyclerView recycles its children when detached, so that the
+     * holders of a recycled row go back to the pool.
+     *
+     * @param registry the registry shared by the RecyclerViews
+     */
+    public void bindToRecyclerView(RecyclerView recyclerView, @NonNull RecycledViewPoolRegistry registry) {
+        mViewPoolRegistry = registry;
+        mAttachedCounts = new SparseIntArray();
+        Class<?> adapterClass = getClass();
+        // views held by the adapter itself, which the adapters of the class can't share
+        registry.exclude(adapterClass, HEADER_VIEW);
+        registry.exclude(adapterClass, FOOTER_VIEW);
+        registry.exclude(adapterClass, EMPTY_VIEW);
+        registry.exclude(adapterClass, LOADING_VIEW);
+        excludeHeaderFooterItems(mHeaderItems);
+        excludeHeaderFooterItems(mFooterItems);
+        recyclerView.setRecycledViewPool(registry.getPool(adapterClass));
+        if (recyclerView.getLayoutManager() instanceof LinearLayoutManager) {
+            ((LinearLayoutManager) recyclerView.getLayoutManager()).setRecycleChildrenOnDetach(true);
+        }
+        bindToRecyclerView(recyclerView);
+    }
+
 
     /**
      * If you have added headeview, the notification view refreshes.
@@ -126,20 +482,20 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      * @param position
      */
     public final void refreshNotifyItemChanged(int position) {
-        notifyItemChanged(position + getHeaderCount());
+        dispatchItemRangeChanged(position + getHeaderLayoutCount(), 1);
     }
 
     /**
      * If you have added headeview, the notification view refreshes.
      * Do not need to care about the number of headview, only need to pass in the position of the final view
      *
-     * @param position Position other than the number of head layouts. {@link #getHeaderCount()}
+     * @param position Position other than the number of head layouts. {@link #getHeaderLayoutCount()}
      * @param payload Optional parameter, use null to identify a "full" update
      *
      * @see RecyclerView.Adapter#notifyItemChanged(int, Object)
      */
     public final void refreshNotifyItemChanged(int position, @Nullable Object payload) {
-        notifyItemChanged(position + getHeaderCount(), payload);
+        dispatchItemRangeChanged(position + getHeaderLayoutCount(), 1, payload);
     }
 
     /**
@@ -170,7 +526,20 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      * @param data
      */
     public void setNewData(@Nullable List<T> data) {
+        if (mAsyncDiffer != null) {
+            mAsyncDiffer.cancel();
+        }
+        discardPendingBatch();
+        if (data != mPagedList) {
+            releasePagedList();
+        }
         this.mData = data == null ? new ArrayList<T>() : data;
+        if (mOnLoadMoreListener != null) {
+            mNextLoadEnable = true;
+            mLoadMoreEnable = true;
+            mLoading = false;
+            mLoadMoreView.setLoadMoreStatus(LoadMoreView.STATUS_DEFAULT);
+        }
         mLastPosition = -1;
         notifyDataSetChanged();
     }
@@ -182,7 +551,7 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      */
     public void addData(@IntRange(from = 0) int position, @NonNull T data) {
         mData.add(position, data);
-        notifyItemInserted(position + getHeaderCount());
+        dispatchItemRangeInserted(position + getHeaderLayoutCount(), 1);
         compatibilityDataSizeChanged(1);
     }
 
@@ -191,7 +560,7 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      */
     public void addData(@NonNull T data) {
         mData.add(data);
-        notifyItemInserted(mData.size() + getHeaderCount());
+        dispatchItemRangeInserted(mData.size() - 1 + getHeaderLayoutCount(), 1);
         compatibilityDataSizeChanged(1);
     }
 
@@ -202,10 +571,83 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      */
     public void remove(@IntRange(from = 0) int position) {
         mData.remove(position);
-        int internalPosition = position + getHeaderCount();
-        notifyItemRemoved(internalPosition);
+        int internalPosition = position + getHeaderLayoutCount();
+        dispatchItemRangeRemoved(internalPosition, 1);
         compatibilityDataSizeChanged(0);
-        notifyItemRangeChanged(internalPosition, mData.size() - internalPosition);
+        if (mRebindOnRemove) {
+            dispatchRebindFrom(internalPosition);
+        }
+    }
+
+    /**
+     * remove the items in the range of positions
+     *
+     * @param position  the position of the first item to remove
+     * @param itemCount the number of items to remove
+     */
+    public void removeRange(@IntRange(from = 0) int position, @IntRange(from = 0) int itemCount) {
+        if (itemCount <= 0) {
+            return;
+        }
+        mData.subList(position, position + itemCount).clear();
+        int internalPosition = position + getHeaderLayoutCount();
+        dispatchItemRangeRemoved(internalPosition, itemCount);
+        compatibilityDataSizeChanged(0);
+        if (mRebindOnRemove) {
+            dispatchRebindFrom(internalPosition);
+        }
+    }
+
+    /**
+     * remove all the items matching the predicate,
+     * each run of adjacent items is notified as a single range.
+     *
+     * @param predicate return true for the items to remove
+     * @return the number of items removed
+     */
+    public int removeAll(@NonNull ItemPredicate<? super T> predicate) {
+        int removedCount = 0;
+        int end = mData.size();
+        while (end > 0) {
+            // find the last run of matching items before end
+            int runEnd = end;
+            while (runEnd > 0 && !predicate.test(mData.get(runEnd - 1))) {
+                runEnd--;
+            }
+            if (runEnd == 0) {
+                break;
+            }
+            int runStart = runEnd - 1;
+            while (runStart > 0 && predicate.test(mData.get(runStart - 1))) {
+                runStart--;
+            }
+            mData.subList(runStart, runEnd).clear();
+            dispatchItemRangeRemoved(runStart + getHeaderLayoutCount(), runEnd - runStart);
+            removedCount += runEnd - runStart;
+            end = runStart;
+        }
+        if (removedCount > 0) {
+            compatibilityDataSizeChanged(0);
+            if (mRebindOnRemove) {
+                dispatchRebindFrom(end + getHeaderLayoutCount());
+            }
+        }
+        return removedCount;
+    }
+
+    /**
+     * By default, removing an item rebinds every item after it so that {@link #convert(ViewHolder, Object)}
+     * sees the new positions. Disable it if convert doesn't depend on the position, or reads it through
+     * {@link ViewHolder#getAdapterPosition()} when needed, so that only the removal itself is notified.
+     *
+     * @param rebindOnRemove true by default
+     */
+    public void setRebindOnRemoveEnabled(boolean rebindOnRemove) {
+        mRebindOnRemove = rebindOnRemove;
+    }
+
+    public boolean isRebindOnRemoveEnabled() {
+        return mRebindOnRemove;
     }
 
     /**
@@ -213,7 +655,22 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      */
     public void setData(@IntRange(from = 0) int index, @NonNull T data) {
         mData.set(index, data);
-        notifyItemChanged(index + getHeaderCount());
+        dispatchItemRangeChanged(index + getHeaderLayoutCount(), 1);
+    }
+
+    /**
+     * move an item to another position, the items in between shift by one.
+     * In a batch transaction, successive moves of the same item are merged into one notification.
+     *
+     * @param fromPosition the position of the item in the data
+     * @param toPosition   the new position of the item in the data
+     */
+    public void moveData(@IntRange(from = 0) int fromPosition, @IntRange(from = 0) int toPosition) {
+        if (fromPosition == toPosition) {
+            return;
+        }
+        AdapterListUtil.moveItem(mData, fromPosition, toPosition);
+        dispatchItemMoved(fromPosition + getHeaderLayoutCount(), toPosition + getHeaderLayoutCount());
     }
 
     /**
@@ -224,7 +681,7 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      */
     public void addData(@IntRange(from = 0) int position, @NonNull Collection<? extends T> newData) {
         mData.addAll(position, newData);
-        notifyItemRangeInserted(position + getHeaderCount(), newData.size());
+        dispatchItemRangeInserted(position + getHeaderLayoutCount(), newData.size());
         compatibilityDataSizeChanged(newData.size());
     }
 
@@ -235,7 +692,7 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      */
     public void addData(@NonNull Collection<? extends T> newData) {
         mData.addAll(newData);
-        notifyItemRangeInserted(mData.size() - newData.size() + getHeaderCount(), newData.size());
+        dispatchItemRangeInserted(mData.size() - newData.size() + getHeaderLayoutCount(), newData.size());
         compatibilityDataSizeChanged(newData.size());
     }
 
@@ -246,6 +703,10 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      * @param data data collection
      */
     public void replaceData(@NonNull Collection<? extends T> data) {
+        if (mAsyncDiffer != null) {
+            mAsyncDiffer.cancel();
+        }
+        discardPendingBatch();
         // 不是同一个引用才清空列表
         if (data != mData) {
             mData.clear();
@@ -255,15 +716,654 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
     }
 
     /**
-     * compatible getLoadMoreViewCount and getEmptyViewCount may change
-     *
-     * @param size Need compatible data size
+     * Set the callback used by {@link #submitList(List, Runnable)} to compare the items,
+     * the diff will be computed on a shared background executor.
+     *
+     * @param diffCallback compares the items of the old and the new list
+     */
+    public void setDiffCallback(@NonNull DiffUtil.ItemCallback<T> diffCallback) {
+        setDiffCallback(diffCallback, null);
+    }
+
+    /**
+     * Set the callback used by {@link #submitList(List, Runnable)} to compare the items.
+     *
+     * @param diffCallback compares the items of the old and the new list
+     * @param diffExecutor executor the diff is computed on, null to use a shared executor
+     */
+    public void setDiffCallback(@NonNull DiffUtil.ItemCallback<T> diffCallback, @Nullable Executor diffExecutor) {
+        if (mAsyncDiffer != null) {
+            mAsyncDiffer.cancel();
+        }
+        mAsyncDiffer = new QuickAsyncDiffer<>(this, diffCallback, diffExecutor);
+    }
+
+    /**
+     * @see #submitList(List, Runnable)
+     */
+    public void submitList(@Nullable List<T> list) {
+        submitList(list, null);
+    }
+
+    /**
+     * Replace the data with a new list. Unlike {@link #setNewData(List)}, the difference between
+     * the two lists is computed on a background thread and only the changed items are notified,
+     * so item animations are kept and unchanged items are not rebound.
+     * If a newer list is submitted before the diff is done, the result is dropped.
+     * <p>
+     * call {@link #setDiffCallback(DiffUtil.ItemCallback)} before use!
+     *
+     * @param list           the new list, don't modify it after it has been submitted.
+     * @param commitCallback optional runnable executed once the new list has been committed
+     */
+    public void submitList(@Nullable List<T> list, @Nullable Runnable commitCallback) {
+        if (mAsyncDiffer == null) {
+            throw new IllegalStateException("please use setDiffCallback first!");
+        }
+        mAsyncDiffer.submitList(list, commitCallback);
+    }
+
+    /**
+     * Called on the main thread by {@link QuickAsyncDiffer} when the diff of a submitted list is done.
+     */
+    void applyDiffResult(@NonNull List<T> oldList, @NonNull List<T> oldItems, @NonNull List<T> newList,
+                         @NonNull DiffUtil.DiffResult diffResult) {
+        // the data has been modified while diffing, the result doesn't apply any more
+        final boolean modified = mData != oldList || !isSameItems(mData, oldItems);
+        discardPendingBatch();
+        final int oldEmptyViewCount = getEmptyViewCount();
+        final int oldLoadMoreViewCount = getLoadMoreViewCount();
+        final int oldItemCount = getItemCount();
+        final int oldSize = mData.size();
+        if (newList != mPagedList) {
+            releasePagedList();
+        }
+        mData = newList;
+        // the diff only covers the data, the empty and the load more views come and go with it
+        if (modified || oldEmptyViewCount != 0 || getEmptyViewCount() != 0
+                || oldLoadMoreViewCount != getLoadMoreViewCount()
+                || getItemCount() - oldItemCount != newList.size() - oldSize) {
+            notifyDataSetChanged();
+        } else {
+            mDispatchingRecordedUpdates = true;
+            diffResult.dispatchUpdatesTo(mListUpdateCallback);
+            mDispatchingRecordedUpdates = false;
+        }
+    }
+
+    /**
+     * @return true if the lists hold the same instances in the same order
+     */
+    private static boolean isSameItems(@NonNull List<?> list, @NonNull List<?> items) {
+        int size = list.size();
+        if (size != items.size()) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (list.get(i) != items.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * compatible getLoadMoreViewCount and getEmptyViewCount may change
+     *
+     * @param size Need compatible data size
+     */
+    private void compatibilityDataSizeChanged(int size) {
+        final int dataSize = mData == null ? 0 : mData.size();
+        if (dataSize == size) {
+            dispatchDataSetChanged();
+        }
+    }
+
+    /**
+     * @see #setPageSource(PageSource, int, int, Executor)
+     */
+    public void setPageSource(@Nullable PageSource<T> source) {
+        setPageSource(source, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES, null);
+    }
+
+    /**
+     * Show the items of a source too large to be held in memory. The data becomes a read only
+     * list of {@link PageSource#getCount()} items, of which only {@code maxPages} pages are held
+     * in memory, so the mutation methods (addData, remove, expand...) can't be used.
+     * <p>
+     * The items of the pages which are not loaded are shown with placeholders of the type
+     * {@link #PLACEHOLDER_VIEW}, see {@link #setPlaceholderLayout(int)} and
+     * {@link #convertPlaceholder(ViewHolder, int)}. Pages are loaded around the visible items,
+     * further ahead in the direction of the scroll the faster it goes, and rebound once loaded.
+     * <p>
+     * If the count of the source changes, set the source again.
+     *
+     * @param source   the source of the items, null to go back to an empty list
+     * @param pageSize number of items loaded at a time
+     * @param maxPages number of pages held in memory, make sure they hold more than a screen
+     * @param executor executor the pages are loaded on, null to use a shared background thread
+     */
+    public void setPageSource(@Nullable PageSource<T> source, int pageSize, int maxPages, @Nullable Executor executor) {
+        if (source == null) {
+            setNewData(null);
+            return;
+        }
+        PagedWindowList<T> pagedList = new PagedWindowList<>(source, pageSize, maxPages,
+                executor == null ? getDefaultPageExecutor() : executor, new Executor() {
+            final Handler mHandler = new Handler(Looper.getMainLooper());
+
+            @Override
+            public void execute(@NonNull Runnable command) {
+                mHandler.post(command);
+            }
+        }, new PagedWindowList.Callback() {
+            @Override
+            public void onRangeLoaded(int position, int count) {
+                dispatchItemRangeChanged(position + getHeaderLayoutCount(), count);
+            }
+        });
+        setNewData(pagedList);
+        mPagedList = pagedList;
+    }
+
+    private static Executor getDefaultPageExecutor() {
+        synchronized (sPageExecutorLock) {
+            if (sPageExecutor == null) {
+                sPageExecutor = Executors.newSingleThreadExecutor();
+            }
+        }
+        return sPageExecutor;
+    }
+
+    private void releasePagedList() {
+        if (mPagedList != null) {
+            mPagedList.close();
+            mPagedList = null;
+        }
+    }
+
+    /**
+     * @return true if the data is loaded from a {@link PageSource}
+     */
+    public boolean isPaged() {
+        return mPagedList != null;
+    }
+
+    /**
+     * Load again the pages whose loading failed, their items are shown with placeholders until then.
+     */
+    public void retryPageLoading() {
+        if (mPagedList != null) {
+            mPagedList.retryFailedPages();
+        }
+    }
+
+    /**
+     * @param layoutResId layout of the placeholders of the items not loaded yet, the layout of
+     *                    the adapter if not set
+     */
+    public void setPlaceholderLayout(@LayoutRes int layoutResId) {
+        mPlaceholderLayoutResId = layoutResId;
+    }
+
+    /**
+     * @param distance number of items loaded before and after the visible ones when the
+     *                 RecyclerView doesn't scroll, a page by default
+     */
+    public void setPrefetchDistance(@IntRange(from = 0) int distance) {
+        mPrefetchDistance = distance;
+    }
+
+    /**
+     * Bind the placeholder of an item whose page isn't loaded yet, nothing by default.
+     *
+     * @param helper   holder of the placeholder
+     * @param position position of the item in the data
+     */
+    protected void convertPlaceholder(@NonNull ViewHolder helper, int position) {
+    }
+
+    /**
+     * Load the pages around the visible items, further ahead in the direction of the scroll.
+     *
+     * @param delta the last scroll, in pixels
+     */
+    private void prefetchPages(RecyclerView recyclerView, int delta) {
+        int first = Integer.MAX_VALUE;
+        int last = RecyclerView.NO_POSITION;
+        for (int i = 0, n = recyclerView.getChildCount(); i < n; i++) {
+            int position = recyclerView.getChildAdapterPosition(recyclerView.getChildAt(i));
+            if (position != RecyclerView.NO_POSITION) {
+                first = Math.min(first, position);
+                last = Math.max(last, position);
+            }
+        }
+        if (last == RecyclerView.NO_POSITION) {
+            return;
+        }
+        first -= getHeaderLayoutCount();
+        last -= getHeaderLayoutCount();
+        RecyclerView.LayoutManager manager = recyclerView.getLayoutManager();
+        int extent = manager != null && manager.canScrollHorizontally()
+                ? recyclerView.getWidth() : recyclerView.getHeight();
+        int distance = mPrefetchDistance < 0 ? mPagedList.getPageSize() : mPrefetchDistance;
+        int ahead = distance;
+        if (extent > 0) {
+            // the items going by in the next frames at the current speed
+            ahead += (int) ((long) Math.abs(delta) * PREFETCH_FRAMES * (last - first + 1) / extent);
+        }
+        int start = first - (delta < 0 ? ahead : distance);
+        int end = last + (delta > 0 ? ahead : distance);
+        mPagedList.loadRange(start, end, (first + last) / 2);
+    }
+
+    private final RecyclerView.OnScrollListener mPagingScrollListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+            if (mPagedList != null) {
+                prefetchPages(recyclerView, dy != 0 ? dy : dx);
+            }
+            if (mIdlePrebinder != null) {
+                mIdlePrebinder.onScrolled(dy != 0 ? dy : dx);
+            }
+        }
+    };
+
+    /**
+     * Request more data from the listener when a bind gets near the end of the data, the state
+     * of the request is shown by the {@link LoadMoreView} after the data and footers.
+     * A single request is in flight at a time, until {@link #loadMoreComplete()},
+     * {@link #loadMoreEnd()} or {@link #loadMoreFail()}.
+     *
+     * @param listener null to stop loading more
+     * @see #setPreLoadNumber(int)
+     * @see #setPreLoadScreens(float)
+     */
+    public void setOnLoadMoreListener(@Nullable OnLoadMoreListener listener) {
+        mOnLoadMoreListener = listener;
+        mNextLoadEnable = true;
+        mLoadMoreEnable = true;
+        mLoading = false;
+    }
+
+    public void setLoadMoreView(@NonNull LoadMoreView loadingView) {
+        this.mLoadMoreView = loadingView;
+    }
+
+    /**
+     * @return 1 if the load more view is shown, 0 otherwise
+     */
+    public int getLoadMoreViewCount() {
+        if (mOnLoadMoreListener == null || !mLoadMoreEnable) {
+            return 0;
+        }
+        if (!mNextLoadEnable && mLoadMoreView.isLoadEndMoreGone()) {
+            return 0;
+        }
+        if (mData.size() == 0) {
+            return 0;
+        }
+        return 1;
+    }
+
+    /**
+     * @return adapter position of the load more view, after the data and the footers
+     */
+    public int getLoadMoreViewPosition() {
+        return getHeaderLayoutCount() + mData.size() + getFooterLayoutCount();
+    }
+
+    /**
+     * @return true while a request is in flight
+     */
+    public boolean isLoading() {
+        return mLoading;
+    }
+
+    public boolean isLoadMoreEnable() {
+        return mLoadMoreEnable;
+    }
+
+    /**
+     * Set the enabled state of load more.
+     *
+     * @param enable True if load more is enabled, false otherwise.
+     */
+    public void setEnableLoadMore(boolean enable) {
+        int oldLoadMoreCount = getLoadMoreViewCount();
+        mLoadMoreEnable = enable;
+        int newLoadMoreCount = getLoadMoreViewCount();
+
+        if (oldLoadMoreCount == 1) {
+            if (newLoadMoreCount == 0) {
+                dispatchItemRangeRemoved(getLoadMoreViewPosition(), 1);
+            }
+        } else {
+            if (newLoadMoreCount == 1) {
+                mLoadMoreView.setLoadMoreStatus(LoadMoreView.STATUS_DEFAULT);
+                dispatchItemRangeInserted(getLoadMoreViewPosition(), 1);
+            }
+        }
+    }
+
+    /**
+     * Start loading more when a bind is at most {@code preLoadNumber} items away from the end
+     * of the adapter, 1 by default: when the load more view itself is bound.
+     *
+     * @param preLoadNumber distance from the end in items
+     */
+    public void setPreLoadNumber(@IntRange(from = 1) int preLoadNumber) {
+        if (preLoadNumber > 1) {
+            mPreLoadNumber = preLoadNumber;
+        } else {
+            mPreLoadNumber = 1;
+        }
+    }
+
+    /**
+     * Start loading more when a bind is at most {@code screens} screens away from the end of
+     * the adapter, a screen is the number of items laid out in the RecyclerView.
+     * The larger of this distance and the one of {@link #setPreLoadNumber(int)} applies.
+     *
+     * @param screens distance from the end in screens, 0 to use the distance in items only
+     */
+    public void setPreLoadScreens(float screens) {
+        mPreLoadScreens = Math.max(0f, screens);
+    }
+
+    private int getPreLoadDistance() {
+        int distance = mPreLoadNumber;
+        if (mPreLoadScreens > 0f && mAttachedRecyclerView != null) {
+            int screenItems = mAttachedRecyclerView.getChildCount();
+            distance = Math.max(distance, (int) Math.ceil(mPreLoadScreens * screenItems));
+        }
+        return distance;
+    }
+
+    /**
+     * Request more data if the bound position is close enough to the end and no request is
+     * in flight. The listener is called after the bind, so that it may change the data.
+     */
+    private void autoLoadMore(int position) {
+        if (getLoadMoreViewCount() == 0) {
+            return;
+        }
+        if (position < getItemCount() - getPreLoadDistance()) {
+            return;
+        }
+        if (mLoadMoreView.getLoadMoreStatus() != LoadMoreView.STATUS_DEFAULT) {
+            return;
+        }
+        mLoadMoreView.setLoadMoreStatus(LoadMoreView.STATUS_LOADING);
+        if (!mLoading) {
+            mLoading = true;
+            if (mAttachedRecyclerView != null) {
+                mAttachedRecyclerView.post(mLoadMoreRequest);
+            } else {
+                mLoadMoreRequest.run();
+            }
+        }
+    }
+
+    private final Runnable mLoadMoreRequest = new Runnable() {
+        @Override
+        public void run() {
+            if (mOnLoadMoreListener != null && mLoading) {
+                mOnLoadMoreListener.onLoadMoreRequested();
+            }
+        }
+    };
+
+    /**
+     * The data requested has been added, more can be loaded.
+     */
+    public void loadMoreComplete() {
+        if (getLoadMoreViewCount() == 0) {
+            return;
+        }
+        mLoading = false;
+        mNextLoadEnable = true;
+        mLoadMoreView.setLoadMoreStatus(LoadMoreView.STATUS_DEFAULT);
+        dispatchItemRangeChanged(getLoadMoreViewPosition(), 1);
+    }
+
+    /**
+     * @see #loadMoreEnd(boolean)
+     */
+    public void loadMoreEnd() {
+        loadMoreEnd(false);
+    }
+
+    /**
+     * There is no more data to load.
+     *
+     * @param gone true to remove the load more view, false to show its end view
+     */
+    public void loadMoreEnd(boolean gone) {
+        if (getLoadMoreViewCount() == 0) {
+            return;
+        }
+        mLoading = false;
+        mNextLoadEnable = false;
+        mLoadMoreView.setLoadMoreEndGone(gone);
+        if (gone) {
+            dispatchItemRangeRemoved(getLoadMoreViewPosition(), 1);
+        } else {
+            mLoadMoreView.setLoadMoreStatus(LoadMoreView.STATUS_END);
+            dispatchItemRangeChanged(getLoadMoreViewPosition(), 1);
+        }
+    }
+
+    /**
+     * The request failed, the fail view is shown until clicked, which requests the data again.
+     */
+    public void loadMoreFail() {
+        if (getLoadMoreViewCount() == 0) {
+            return;
+        }
+        mLoading = false;
+        mLoadMoreView.setLoadMoreStatus(LoadMoreView.STATUS_FAIL);
+        dispatchItemRangeChanged(getLoadMoreViewPosition(), 1);
+    }
+
+    private ViewHolder getLoadingView(ViewGroup parent) {
+        View view = getItemView(mLoadMoreView.getLayoutId(), parent);
+        ViewHolder holder = createBaseViewHolder(view);
+        holder.itemView.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                if (mLoadMoreView.getLoadMoreStatus() == LoadMoreView.STATUS_FAIL) {
+                    mLoadMoreView.setLoadMoreStatus(LoadMoreView.STATUS_DEFAULT);
+                    // rebinding the view requests the data again
+                    dispatchItemRangeChanged(getLoadMoreViewPosition(), 1);
+                }
+            }
+        });
+        return holder;
+    }
+
+    /**
+     * Start a batch transaction. Until the matching {@link #commitBatch()}, the notifications of
+     * {@link #addData}, {@link #remove(int)}, {@link #setData(int, Object)} and
+     * {@link #moveData(int, int)} are recorded instead of dispatched, adjacent inserts, removes
+     * and changes are merged into range notifications.
+     * Transactions can be nested.
+     * <p>
+     * Within a transaction the data is already changed while the RecyclerView hasn't been told,
+     * so nothing may lay the RecyclerView out before the commit: no scrollBy, scrollToPosition
+     * followed by a measure, or executePendingBindings... in the block.
+     *
+     * @see #batch(Runnable)
+     */
+    public void beginBatch() {
+        if (mBatchDepth++ == 0 && mPendingBatch == null) {
+            mPendingBatch = new BatchingListUpdateCallback(mBatchUpdateCallback);
+        }
+    }
+
+    /**
+     * End the batch transaction started by {@link #beginBatch()}. When the outermost transaction is
+     * committed, the merged notifications are dispatched right away, so the RecyclerView can be
+     * laid out again. It already defers the layout to the next frame, the transactions committed
+     * within a frame cause a single layout pass.
+     */
+    public void commitBatch() {
+        if (mBatchDepth == 0) {
+            throw new IllegalStateException("please use beginBatch first!");
+        }
+        if (--mBatchDepth > 0 || mPendingBatch == null) {
+            return;
+        }
+        flushPendingBatch();
+    }
+
+    /**
+     * Run the mutations of the block in a batch transaction.
+     *
+     * @see #beginBatch()
+     */
+    public void batch(@NonNull Runnable block) {
+        beginBatch();
+        try {
+            block.run();
+        } finally {
+            commitBatch();
+        }
+    }
+
+    /**
+     * Dispatch the notifications recorded by the committed batch transactions right now.
+     * Nothing happens while a transaction is still open, and {@link #commitBatch()} already
+     * dispatches them when the outermost transaction is committed.
+     */
+    public void flushPendingBatch() {
+        if (mPendingBatch == null || mBatchDepth > 0) {
+            return;
+        }
+        BatchingListUpdateCallback batch = mPendingBatch;
+        boolean fullRefresh = mBatchFullRefresh;
+        int rebindFrom = mBatchRebindFrom;
+        int moveFrom = mBatchMoveFrom;
+        int moveTo = mBatchMoveTo;
+        resetPendingBatch();
+        if (fullRefresh) {
+            notifyDataSetChanged();
+            return;
+        }
+        if (moveFrom != moveTo) {
+            batch.onMoved(moveFrom, moveTo);
+        }
+        batch.dispatchLastEvent();
+        if (rebindFrom != RecyclerView.NO_POSITION) {
+            int count = getHeaderLayoutCount() + mData.size() - rebindFrom;
+            if (count > 0) {
+                notifyItemRangeChanged(rebindFrom, count);
+            }
+        }
+    }
+
+    /**
+     * The data is replaced and the adapter fully refreshed, the recorded notifications don't apply.
+     */
+    private void discardPendingBatch() {
+        if (mPendingBatch == null) {
+            return;
+        }
+        resetPendingBatch();
+        if (mBatchDepth > 0) {
+            mPendingBatch = new BatchingListUpdateCallback(mBatchUpdateCallback);
+        }
+    }
+
+    private void resetPendingBatch() {
+        mPendingBatch = null;
+        mBatchFullRefresh = false;
+        mBatchRebindFrom = RecyclerView.NO_POSITION;
+        mBatchMoveFrom = RecyclerView.NO_POSITION;
+        mBatchMoveTo = RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * Record the pending move in the batch, before an other notification is recorded.
+     */
+    private void recordPendingMove() {
+        if (mBatchMoveFrom != mBatchMoveTo) {
+            mPendingBatch.onMoved(mBatchMoveFrom, mBatchMoveTo);
+        }
+        mBatchMoveFrom = RecyclerView.NO_POSITION;
+        mBatchMoveTo = RecyclerView.NO_POSITION;
+    }
+
+    private void dispatchItemMoved(int fromPosition, int toPosition) {
+        if (mPendingBatch != null && mBatchDepth > 0) {
+            if (mBatchMoveTo != RecyclerView.NO_POSITION && mBatchMoveTo == fromPosition) {
+                // the same item moves on
+                mBatchMoveTo = toPosition;
+            } else {
+                recordPendingMove();
+                mBatchMoveFrom = fromPosition;
+                mBatchMoveTo = toPosition;
+            }
+            return;
+        }
+        flushPendingBatch();
+        notifyItemMoved(fromPosition, toPosition);
+    }
+
+    private void dispatchItemRangeInserted(int position, int itemCount) {
+        if (mPendingBatch != null && mBatchDepth > 0) {
+            recordPendingMove();
+            mPendingBatch.onInserted(position, itemCount);
+            return;
+        }
+        flushPendingBatch();
+        notifyItemRangeInserted(position, itemCount);
+    }
+
+    private void dispatchItemRangeRemoved(int position, int itemCount) {
+        if (mPendingBatch != null && mBatchDepth > 0) {
+            recordPendingMove();
+            mPendingBatch.onRemoved(position, itemCount);
+            return;
+        }
+        flushPendingBatch();
+        notifyItemRangeRemoved(position, itemCount);
+    }
+
+    private void dispatchItemRangeChanged(int position, int itemCount) {
+        dispatchItemRangeChanged(position, itemCount, null);
+    }
+
+    private void dispatchItemRangeChanged(int position, int itemCount, @Nullable Object payload) {
+        if (mPendingBatch != null && mBatchDepth > 0) {
+            recordPendingMove();
+            mPendingBatch.onChanged(position, itemCount, payload);
+            return;
+        }
+        flushPendingBatch();
+        notifyItemRangeChanged(position, itemCount, payload);
+    }
+
+    private void dispatchDataSetChanged() {
+        if (mPendingBatch != null && mBatchDepth > 0) {
+            mBatchFullRefresh = true;
+            return;
+        }
+        discardPendingBatch();
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Rebind the items from the position to the end, so that they are bound to their new position.
      */
-    private void compatibilityDataSizeChanged(int size) {
-        final int dataSize = mData == null ? 0 : mData.size();
-        if (dataSize == size) {
-            notifyDataSetChanged();
+    private void dispatchRebindFrom(int position) {
+        if (mPendingBatch != null && mBatchDepth > 0) {
+            if (mBatchRebindFrom == RecyclerView.NO_POSITION || position < mBatchRebindFrom) {
+                mBatchRebindFrom = position;
+            }
+            return;
         }
+        notifyItemRangeChanged(position, mData.size() - position);
     }
 
     /**
@@ -281,7 +1381,7 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      *
      * @param position Position of the item whose data we want within the adapter's
      *                 data set.
-     * @return The data at the specified position.
+     * @return The data at the specified position, null if its page isn't loaded yet when paged.
      */
     @Nullable
     public T getItem(@IntRange(from = 0) int position) {
@@ -292,23 +1392,106 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
     }
 
     /**
-     * if addHeaderView will be return 1, if not will be return 0
+     * @return the number of header views
+     * @see #getHeaderLayoutCount()
      */
     public int getHeaderCount() {
-        if (mHeaderLayout == null || mHeaderLayout.getChildCount() == 0) {
-            return 0;
+        if (mHeaderViewAsItems) {
+            return mHeaderCount;
         }
-        return mHeaderLayout.getChildCount();
+        return mHeaderLayout == null ? 0 : mHeaderLayout.getChildCount();
     }
 
     /**
-     * if addFooterView will be return 1, if not will be return 0
+     * @return the number of footer views
+     * @see #getFooterLayoutCount()
      */
     public int getFooterCount() {
-        if (mFooterLayout == null || mFooterLayout.getChildCount() == 0) {
-            return 0;
+        if (mFooterViewAsItems) {
+            return mFooterCount;
+        }
+        return mFooterLayout == null ? 0 : mFooterLayout.getChildCount();
+    }
+
+    /**
+     * Number of positions of the headers before the data, the offset of the data in the adapter:
+     * if addHeaderView will be return 1, if not will be return 0. When the headers are shown as
+     * items, the number of headers.
+     */
+    public int getHeaderLayoutCount() {
+        return mHeaderCount;
+    }
+
+    /**
+     * Number of positions of the footers after the data: if addFooterView will be return 1, if not
+     * will be return 0. When the footers are shown as items, the number of footers.
+     */
+    public int getFooterLayoutCount() {
+        return mFooterCount;
+    }
+
+    private void updateHeaderCount() {
+        if (mHeaderViewAsItems) {
+            mHeaderCount = mHeaderItems == null ? 0 : mHeaderItems.size();
+        } else {
+            mHeaderCount = mHeaderLayout == null || mHeaderLayout.getChildCount() == 0 ? 0 : 1;
+        }
+    }
+
+    private void updateFooterCount() {
+        if (mFooterViewAsItems) {
+            mFooterCount = mFooterItems == null ? 0 : mFooterItems.size();
+        } else {
+            mFooterCount = mFooterLayout == null || mFooterLayout.getChildCount() == 0 ? 0 : 1;
+        }
+    }
+
+    /**
+     * @param adapterPosition position in the adapter, with the headers
+     * @return the position in the data, NO_POSITION if the adapter position isn't an item of the data
+     */
+    public int getDataPosition(int adapterPosition) {
+        int position = adapterPosition - mHeaderCount;
+        if (adapterPosition < 0 || position < 0 || position >= mData.size()) {
+            return RecyclerView.NO_POSITION;
         }
-        return mFooterLayout.getChildCount();
+        return position;
+    }
+
+    /**
+     * @param dataPosition position in the data
+     * @return the position in the adapter, with the headers
+     */
+    public int getAdapterPosition(int dataPosition) {
+        return dataPosition + mHeaderCount;
+    }
+
+    /**
+     * @param index index of the header position
+     */
+    private int getHeaderViewType(int index) {
+        return mHeaderViewAsItems ? mHeaderItems.get(index).viewType : HEADER_VIEW;
+    }
+
+    /**
+     * @param index index of the footer position
+     */
+    private int getFooterViewType(int index) {
+        return mFooterViewAsItems ? mFooterItems.get(index).viewType : FOOTER_VIEW;
+    }
+
+    /**
+     * @return true for the header holding all the headers and for the headers shown as items
+     */
+    public static boolean isHeaderViewType(int type) {
+        return type == HEADER_VIEW || (type & HEADER_FOOTER_ITEM_VIEW_TYPE_MASK) == HEADER_ITEM_VIEW_TYPE;
+    }
+
+    /**
+     * @return true for the footer holding all the footers and for the footers shown as items
+     */
+    public static boolean isFooterViewType(int type) {
+        return type == FOOTER_VIEW || (type & HEADER_FOOTER_ITEM_VIEW_TYPE_MASK) == FOOTER_ITEM_VIEW_TYPE;
     }
 
     /**
@@ -317,13 +1500,7 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      * @return
      */
     public int getEmptyViewCount() {
-        if (mEmptyLayout == null || mEmptyLayout.getChildCount() == 0) {
-            return 0;
-        }
-        if (!mIsUseEmpty) {
-            return 0;
-        }
-        if (mData.size() != 0) {
+        if (!mEmptyViewEnabled || mData.size() != 0) {
             return 0;
         }
         return 1;
@@ -334,14 +1511,14 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
         int count;
         if (1 == getEmptyViewCount()) {
             count = 1;
-            if (mHeadAndEmptyEnable && getHeaderCount() != 0) {
-                count++;
+            if (mHeadAndEmptyEnable) {
+                count += getHeaderLayoutCount();
             }
-            if (mFootAndEmptyEnable && getFooterCount() != 0) {
-                count++;
+            if (mFootAndEmptyEnable) {
+                count += getFooterLayoutCount();
             }
         } else {
-            count = getHeaderCount() + mData.size() + getFooterCount();
+            count = getHeaderLayoutCount() + mData.size() + getFooterLayoutCount() + getLoadMoreViewCount();
         }
         return count;
     }
@@ -349,39 +1526,39 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
     @Override
     public int getItemViewType(int position) {
         if (getEmptyViewCount() == 1) {
-            boolean header = mHeadAndEmptyEnable && getHeaderCount() != 0;
-            switch (position) {
-                case 0:
-                    if (header) {
-                        return HEADER_VIEW;
-                    } else {
-                        return EMPTY_VIEW;
-                    }
-                case 1:
-                    if (header) {
-                        return EMPTY_VIEW;
-                    } else {
-                        return FOOTER_VIEW;
-                    }
-                case 2:
-                    return FOOTER_VIEW;
-                default:
-                    return EMPTY_VIEW;
+            int numHeaders = mHeadAndEmptyEnable ? getHeaderLayoutCount() : 0;
+            if (position < numHeaders) {
+                return getHeaderViewType(position);
+            }
+            int footerIndex = position - numHeaders - 1;
+            if (footerIndex >= 0 && footerIndex < getFooterLayoutCount()) {
+                return getFooterViewType(footerIndex);
             }
+            return EMPTY_VIEW;
         }
-        int numHeaders = getHeaderCount();
+        int numHeaders = getHeaderLayoutCount();
         if (position < numHeaders) {
-            return HEADER_VIEW;
+            return getHeaderViewType(position);
         } else {
             int adjPosition = position - numHeaders;
             int adapterCount = mData.size();
             if (adjPosition < adapterCount) {
-                return getDefItemViewType(adjPosition);
+                if (mPagedList != null && mPagedList.get(adjPosition) == null) {
+                    mPagedList.loadAround(adjPosition);
+                    return PLACEHOLDER_VIEW;
+                }
+                if (mAdapterMetrics == null) {
+                    return resolveItemViewType(adjPosition);
+                }
+                long start = System.nanoTime();
+                int type = resolveItemViewType(adjPosition);
+                mAdapterMetrics.onItemViewTypeResolved(type, System.nanoTime() - start);
+                return type;
             } else {
                 adjPosition = adjPosition - adapterCount;
-                int numFooters = getFooterCount();
+                int numFooters = getFooterLayoutCount();
                 if (adjPosition < numFooters) {
-                    return FOOTER_VIEW;
+                    return getFooterViewType(adjPosition);
                 } else {
                     return LOADING_VIEW;
                 }
@@ -389,6 +1566,18 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
         }
     }
 
+    private int resolveItemViewType(int position) {
+        if (mViewTypeCache == null || !mDataObserverRegistered) {
+            return getDefItemViewType(position);
+        }
+        if (mViewTypeCache.contains(mData, position)) {
+            return mViewTypeCache.getType(position);
+        }
+        int type = getDefItemViewType(position);
+        mViewTypeCache.put(position, mData.get(position), type);
+        return type;
+    }
+
     protected int getDefItemViewType(int position) {
         return super.getItemViewType(position);
     }
@@ -396,11 +1585,40 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
     @NonNull
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        if (mAdapterMetrics == null && !mTraceEnabled) {
+            return dispatchCreateViewHolder(parent, viewType);
+        }
+        if (mTraceEnabled) {
+            Trace.beginSection(getTraceSectionName(true, viewType));
+        }
+        long start = System.nanoTime();
+        try {
+            return dispatchCreateViewHolder(parent, viewType);
+        } finally {
+            long duration = System.nanoTime() - start;
+            if (mTraceEnabled) {
+                Trace.endSection();
+            }
+            if (mAdapterMetrics != null) {
+                mAdapterMetrics.onViewHolderCreated(viewType, duration);
+            }
+        }
+    }
+
+    private ViewHolder dispatchCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         ViewHolder viewHolder = null;
         this.mContext = parent.getContext();
         this.mLayoutInflater = LayoutInflater.from(mContext);
         switch (viewType) {
             case LOADING_VIEW:
+                viewHolder = getLoadingView(parent);
+                break;
+            case PLACEHOLDER_VIEW:
+                int layoutResId = mPlaceholderLayoutResId != 0 ? mPlaceholderLayoutResId : mLayoutResId;
+                if (layoutResId == 0) {
+                    throw new IllegalStateException("please use setPlaceholderLayout first!");
+                }
+                viewHolder = createBaseViewHolder(parent, layoutResId);
                 break;
             case HEADER_VIEW:
                 ViewParent headerLayoutVp = mHeaderLayout.getParent();
@@ -427,7 +1645,26 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
                 viewHolder = createBaseViewHolder(mFooterLayout);
                 break;
             default:
+                View headerFooterView = getHeaderFooterItemView(viewType);
+                if (headerFooterView != null) {
+                    ViewParent headerFooterVp = headerFooterView.getParent();
+                    if (headerFooterVp instanceof ViewGroup) {
+                        ((ViewGroup) headerFooterVp).removeView(headerFooterView);
+                    }
+                    viewHolder = createBaseViewHolder(headerFooterView);
+                    break;
+                }
                 viewHolder = onCreateDefViewHolder(parent, viewType);
+                ViewSlots slots = mItemViewSlots == null ? null : mItemViewSlots.get(viewType);
+                if (slots != null) {
+                    viewHolder.setViewSlots(slots);
+                }
+                if (mValueMemoizationEnabled) {
+                    viewHolder.setValueMemoizationEnabled(true);
+                }
+                if (mTextPrecomputer != null) {
+                    mTextPrecomputer.onViewHolderCreated(viewHolder, viewType);
+                }
                 bindViewClickListener(viewHolder);
         }
         assert viewHolder != null;
@@ -447,13 +1684,27 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
     public void onViewAttachedToWindow(@NonNull ViewHolder holder) {
         super.onViewAttachedToWindow(holder);
         int type = holder.getItemViewType();
-        if (type == EMPTY_VIEW || type == HEADER_VIEW || type == FOOTER_VIEW || type == LOADING_VIEW) {
+        if (mViewPoolRegistry != null) {
+            int count = mAttachedCounts.get(type) + 1;
+            mAttachedCounts.put(type, count);
+            mViewPoolRegistry.onVisibleCount(getClass(), type, count);
+        }
+        if (type == EMPTY_VIEW || isHeaderViewType(type) || isFooterViewType(type) || type == LOADING_VIEW) {
             setFullSpan(holder);
-        } else {
+        } else if (type != PLACEHOLDER_VIEW) {
             addAnimation(holder);
         }
     }
 
+    @Override
+    public void onViewDetachedFromWindow(@NonNull ViewHolder holder) {
+        super.onViewDetachedFromWindow(holder);
+        if (mViewPoolRegistry != null) {
+            int type = holder.getItemViewType();
+            mAttachedCounts.put(type, Math.max(0, mAttachedCounts.get(type) - 1));
+        }
+    }
+
     /**
      * When set to true, the item will layout using all span area. That means, if orientation
      * is vertical, the view will have full width; if orientation is horizontal, the view will
@@ -473,6 +1724,21 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
     @Override
     public void onAttachedToRecyclerView(@NonNull final RecyclerView recyclerView) {
         super.onAttachedToRecyclerView(recyclerView);
+        mAttachedRecyclerView = recyclerView;
+        recyclerView.addOnScrollListener(mPagingScrollListener);
+        if (!mDataObserverRegistered) {
+            registerAdapterDataObserver(mDataObserver);
+            mDataObserverRegistered = true;
+            mExpandableIndex.setTracking(true);
+            // changes made while detached were not observed
+            invalidateViewTypeCache();
+        }
+        if (mPreInflater != null) {
+            mPreInflater.start(recyclerView, getItemLayouts());
+        }
+        if (mIdlePrebinder != null) {
+            mIdlePrebinder.attach(recyclerView);
+        }
         RecyclerView.LayoutManager manager = recyclerView.getLayoutManager();
         if (manager instanceof GridLayoutManager) {
             final GridLayoutManager gridManager = ((GridLayoutManager) manager);
@@ -481,17 +1747,17 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
                 @Override
                 public int getSpanSize(int position) {
                     int type = getItemViewType(position);
-                    if (type == HEADER_VIEW && isHeaderViewAsFlow()) {
+                    if (isHeaderViewType(type) && isHeaderViewAsFlow()) {
                         return 1;
                     }
-                    if (type == FOOTER_VIEW && isFooterViewAsFlow()) {
+                    if (isFooterViewType(type) && isFooterViewAsFlow()) {
                         return 1;
                     }
                     if (mSpanSizeLookup == null) {
                         return isFixedViewType(type) ? gridManager.getSpanCount() : defSpanSizeLookup.getSpanSize(position);
                     } else {
                         return (isFixedViewType(type)) ? gridManager.getSpanCount() : mSpanSizeLookup.getSpanSize(gridManager,
-                                position - getHeaderCount());
+                                getDataPosition(position));
                     }
                 }
 
@@ -500,8 +1766,33 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
         }
     }
 
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        recyclerView.removeOnScrollListener(mPagingScrollListener);
+        if (mAttachedRecyclerView == recyclerView) {
+            mAttachedRecyclerView = null;
+        }
+        flushPendingBatch();
+        if (mDataObserverRegistered && mAttachedRecyclerView == null) {
+            unregisterAdapterDataObserver(mDataObserver);
+            mDataObserverRegistered = false;
+            mExpandableIndex.setTracking(false);
+        }
+        if (mPreInflater != null) {
+            mPreInflater.stop();
+        }
+        if (mTextPrecomputer != null) {
+            mTextPrecomputer.stop();
+        }
+        resetPrecomputeRange();
+        if (mIdlePrebinder != null) {
+            mIdlePrebinder.detach(recyclerView);
+        }
+    }
+
     protected boolean isFixedViewType(int type) {
-        return type == EMPTY_VIEW || type == HEADER_VIEW || type == FOOTER_VIEW || type ==
+        return type == EMPTY_VIEW || isHeaderViewType(type) || isFooterViewType(type) || type ==
                 LOADING_VIEW;
     }
 
@@ -522,6 +1813,152 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
         return footerViewAsFlow;
     }
 
+    /**
+     * Show each header as an item of its own instead of all of them in the header layout, so that
+     * only the visible headers are laid out, and each is animated and recycled on its own.
+     * {@link #getHeaderLayoutCount()} is then the number of headers and {@link #getHeaderLayout()} is
+     * not used. The orientation passed to addHeaderView only gives the layout params of headers
+     * which have none.
+     *
+     * @param asItems true to show the headers as items, false by default
+     */
+    public void setHeaderViewAsItems(boolean asItems) {
+        if (asItems == mHeaderViewAsItems) {
+            return;
+        }
+        int orientation = mHeaderLayout == null ? LinearLayout.VERTICAL : mHeaderLayout.getOrientation();
+        List<View> headers = takeHeaderFooterViews(mHeaderViewAsItems, mHeaderItems, mHeaderLayout);
+        mHeaderItems = null;
+        mHeaderViewAsItems = asItems;
+        for (View header : headers) {
+            insertHeaderView(header, -1, orientation);
+        }
+        updateHeaderCount();
+        if (!headers.isEmpty()) {
+            dispatchDataSetChanged();
+        }
+    }
+
+    public boolean isHeaderViewAsItems() {
+        return mHeaderViewAsItems;
+    }
+
+    /**
+     * Show each footer as an item of its own instead of all of them in the footer layout.
+     *
+     * @param asItems true to show the footers as items, false by default
+     * @see #setHeaderViewAsItems(boolean)
+     */
+    public void setFooterViewAsItems(boolean asItems) {
+        if (asItems == mFooterViewAsItems) {
+            return;
+        }
+        int orientation = mFooterLayout == null ? LinearLayout.VERTICAL : mFooterLayout.getOrientation();
+        List<View> footers = takeHeaderFooterViews(mFooterViewAsItems, mFooterItems, mFooterLayout);
+        mFooterItems = null;
+        mFooterViewAsItems = asItems;
+        for (View footer : footers) {
+            insertFooterView(footer, -1, orientation);
+        }
+        updateFooterCount();
+        if (!footers.isEmpty()) {
+            dispatchDataSetChanged();
+        }
+    }
+
+    public boolean isFooterViewAsItems() {
+        return mFooterViewAsItems;
+    }
+
+    /**
+     * A header or footer shown as an item, with the view type of its own
+     */
+    private static final class HeaderFooterItem {
+        final View view;
+        final int viewType;
+
+        HeaderFooterItem(View view, int viewType) {
+            this.view = view;
+            this.viewType = viewType;
+        }
+    }
+
+    private HeaderFooterItem newHeaderFooterItem(View view, int typeBase, int orientation) {
+        if (view.getLayoutParams() == null) {
+            if (orientation == LinearLayout.VERTICAL) {
+                view.setLayoutParams(new RecyclerView.LayoutParams(MATCH_PARENT, WRAP_CONTENT));
+            } else {
+                view.setLayoutParams(new RecyclerView.LayoutParams(WRAP_CONTENT, MATCH_PARENT));
+            }
+        }
+        sNextHeaderFooterItemType = (sNextHeaderFooterItemType + 1) & ~HEADER_FOOTER_ITEM_VIEW_TYPE_MASK;
+        HeaderFooterItem item = new HeaderFooterItem(view, typeBase | sNextHeaderFooterItemType);
+        if (mViewPoolRegistry != null) {
+            mViewPoolRegistry.exclude(getClass(), item.viewType);
+        }
+        return item;
+    }
+
+    private void excludeHeaderFooterItems(@Nullable List<HeaderFooterItem> items) {
+        if (items != null) {
+            for (HeaderFooterItem item : items) {
+                mViewPoolRegistry.exclude(getClass(), item.viewType);
+            }
+        }
+    }
+
+    private static int indexOfHeaderFooterItem(List<HeaderFooterItem> items, View view) {
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).view == view) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the view of the header or footer shown as an item of the view type, null if none
+     */
+    @Nullable
+    private View getHeaderFooterItemView(int viewType) {
+        List<HeaderFooterItem> items = (viewType & HEADER_FOOTER_ITEM_VIEW_TYPE_MASK) == HEADER_ITEM_VIEW_TYPE
+                ? mHeaderItems : (viewType & HEADER_FOOTER_ITEM_VIEW_TYPE_MASK) == FOOTER_ITEM_VIEW_TYPE
+                ? mFooterItems : null;
+        if (items != null) {
+            for (int i = 0; i < items.size(); i++) {
+                if (items.get(i).viewType == viewType) {
+                    return items.get(i).view;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remove the headers or footers from where they are held, in order
+     */
+    private static List<View> takeHeaderFooterViews(boolean asItems, @Nullable List<HeaderFooterItem> items,
+                                                    @Nullable LinearLayout layout) {
+        List<View> views = new ArrayList<>();
+        if (asItems) {
+            if (items != null) {
+                for (HeaderFooterItem item : items) {
+                    ViewParent parent = item.view.getParent();
+                    if (parent instanceof ViewGroup) {
+                        ((ViewGroup) parent).removeView(item.view);
+                    }
+                    views.add(item.view);
+                }
+            }
+        } else if (layout != null) {
+            for (int i = 0; i < layout.getChildCount(); i++) {
+                views.add(layout.getChildAt(i));
+            }
+            layout.removeAllViews();
+        }
+        return views;
+    }
+
     private SpanSizeLookup mSpanSizeLookup;
 
     public interface SpanSizeLookup {
@@ -545,20 +1982,83 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
         //Add up fetch logic, almost like load more, but simpler.
+        autoLoadMore(position);
         int viewType = holder.getItemViewType();
 
         switch (viewType) {
             case LOADING_VIEW:
+                mLoadMoreView.convert(holder);
+                break;
             case FOOTER_VIEW:
             case EMPTY_VIEW:
             case HEADER_VIEW:
                 break;
+            case PLACEHOLDER_VIEW:
+                convertPlaceholder(holder, getDataPosition(position));
+                break;
             default:
-                convert(holder, getItem(position - getHeaderCount()));
+                if (isHeaderViewType(viewType) || isFooterViewType(viewType)) {
+                    break;
+                }
+                convert(holder, getItem(getDataPosition(position)));
+                if (mTextPrecomputer != null) {
+                    precomputeTexts(getDataPosition(position));
+                }
                 break;
         }
     }
 
+    private void resetPrecomputeRange() {
+        mPrecomputeStart = 0;
+        mPrecomputeEnd = 0;
+    }
+
+    /**
+     * Hand the items following the bound one, in the direction of the scroll, to the text
+     * precomputer. The range already handed is skipped.
+     */
+    private void precomputeTexts(int position) {
+        if (position == RecyclerView.NO_POSITION) {
+            return;
+        }
+        int lookAhead = mTextPrecomputer.getLookAhead();
+        if (position >= mLastPrecomputePosition) {
+            int from = position + 1;
+            int to = Math.min(mData.size(), from + lookAhead);
+            if (from >= mPrecomputeStart && from <= mPrecomputeEnd) {
+                from = mPrecomputeEnd;
+            } else {
+                mPrecomputeStart = from;
+                mPrecomputeEnd = from;
+            }
+            for (int i = from; i < to; i++) {
+                precomputeText(i);
+            }
+            mPrecomputeEnd = Math.max(mPrecomputeEnd, to);
+        } else {
+            int to = position;
+            int from = Math.max(0, to - lookAhead);
+            if (to >= mPrecomputeStart && to <= mPrecomputeEnd) {
+                to = mPrecomputeStart;
+            } else {
+                mPrecomputeStart = to;
+                mPrecomputeEnd = to;
+            }
+            for (int i = to - 1; i >= from; i--) {
+                precomputeText(i);
+            }
+            mPrecomputeStart = Math.min(mPrecomputeStart, from);
+        }
+        mLastPrecomputePosition = position;
+    }
+
+    private void precomputeText(int position) {
+        T item = mData.get(position);
+        if (item != null) {
+            mTextPrecomputer.precompute(item, getItemViewType(position + getHeaderLayoutCount()));
+        }
+    }
+
     /**
      * To bind different types of holder and solve different the bind events
      *
@@ -574,56 +2074,215 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      */
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (holder.getQuickAdapter() != this) {
+            adoptViewHolder(holder);
+        }
+        if (mAdapterMetrics == null && !mTraceEnabled) {
+            dispatchBindViewHolder(holder, position, payloads);
+            return;
+        }
+        int viewType = holder.getItemViewType();
+        if (mTraceEnabled) {
+            Trace.beginSection(getTraceSectionName(false, viewType));
+        }
+        long start = System.nanoTime();
+        try {
+            dispatchBindViewHolder(holder, position, payloads);
+        } finally {
+            long duration = System.nanoTime() - start;
+            if (mTraceEnabled) {
+                Trace.endSection();
+            }
+            if (mAdapterMetrics != null) {
+                mAdapterMetrics.onViewHolderBound(viewType, !payloads.isEmpty(), duration);
+            }
+        }
+    }
+
+    /**
+     * Set up a holder created by another adapter of the class, taken from a pool shared with
+     * {@link RecycledViewPoolRegistry}, the way {@link #onCreateViewHolder} sets up its own.
+     * The click dispatchers of the other adapter are replaced by the ones of this adapter.
+     */
+    private void adoptViewHolder(@NonNull ViewHolder holder) {
+        int viewType = holder.getItemViewType();
+        View itemView = holder.itemView;
+        if (itemView.getTag(R.id.BaseQuickAdapter_click_support) != null) {
+            itemView.setOnClickListener(null);
+            itemView.setTag(R.id.BaseQuickAdapter_click_support, null);
+        }
+        if (itemView.getTag(R.id.BaseQuickAdapter_long_click_support) != null) {
+            itemView.setOnLongClickListener(null);
+            itemView.setTag(R.id.BaseQuickAdapter_long_click_support, null);
+        }
+        ViewSlots slots = mItemViewSlots == null ? null : mItemViewSlots.get(viewType);
+        if (slots != null) {
+            holder.setViewSlots(slots);
+        }
+        holder.setValueMemoizationEnabled(mValueMemoizationEnabled);
+        if (mTextPrecomputer != null) {
+            mTextPrecomputer.onViewHolderCreated(holder, viewType);
+        }
+        bindViewClickListener(holder);
+        holder.setAdapter(this);
+    }
+
+    private void dispatchBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
         if (payloads.isEmpty()) {
             onBindViewHolder(holder, position);
             return;
         }
+        autoLoadMore(position);
         int viewType = holder.getItemViewType();
 
         switch (viewType) {
             case LOADING_VIEW:
+                mLoadMoreView.convert(holder);
+                break;
             case HEADER_VIEW:
             case EMPTY_VIEW:
             case FOOTER_VIEW:
+            case PLACEHOLDER_VIEW:
                 break;
             default:
-                convertPayloads(holder, getItem(position - getHeaderCount()), payloads);
+                if (isHeaderViewType(viewType) || isFooterViewType(viewType)) {
+                    break;
+                }
+                convertPayloads(holder, getItem(getDataPosition(position)), payloads);
                 break;
         }
     }
 
-
-    protected void bindViewClickListener(final ViewHolder viewHolder) {
-        if (viewHolder == null) {
-            return;
-        }
-        final View view = viewHolder.itemView;
-        if (getOnItemClickListener() != null) {
-            view.setOnClickListener(new View.OnClickListener() {
-                @Override
-                public void onClick(View v) {
-                    int position = viewHolder.getAdapterPosition();
-                    if (position == RecyclerView.NO_POSITION) {
-                        return;
-                    }
-                    position -= getHeaderCount();
-                    setOnItemClick(v, position);
-                }
-            });
+
+    protected void bindViewClickListener(final ViewHolder viewHolder) {
+        if (viewHolder == null) {
+            return;
+        }
+        final View view = viewHolder.itemView;
+        if (getOnItemClickListener() != null) {
+            setClickDispatcher(view, viewHolder, mItemClickDispatcher);
+        }
+        if (getOnItemLongClickListener() != null) {
+            setLongClickDispatcher(view, viewHolder, mItemLongClickDispatcher);
+        }
+    }
+
+    /**
+     * Click listeners shared by all the views of the adapter, the holder of the clicked view
+     * is read from its tag.
+     */
+    private final View.OnClickListener mItemClickDispatcher = new View.OnClickListener() {
+        @Override
+        public void onClick(View v) {
+            int position = getTaggedDataPosition(v);
+            if (position == RecyclerView.NO_POSITION) {
+                return;
+            }
+            setOnItemClick(v, position);
+        }
+    };
+
+    private final View.OnLongClickListener mItemLongClickDispatcher = new View.OnLongClickListener() {
+        @Override
+        public boolean onLongClick(View v) {
+            int position = getTaggedDataPosition(v);
+            if (position == RecyclerView.NO_POSITION) {
+                return false;
+            }
+            return setOnItemLongClick(v, position);
+        }
+    };
+
+    private final View.OnClickListener mItemChildClickDispatcher = new View.OnClickListener() {
+        @Override
+        public void onClick(View v) {
+            if (getOnItemChildClickListener() != null) {
+                int position = getTaggedDataPosition(v);
+                if (position == RecyclerView.NO_POSITION) {
+                    return;
+                }
+                getOnItemChildClickListener().onItemChildClick(BaseQuickAdapter.this, v, position);
+            }
+        }
+    };
+
+    private final View.OnLongClickListener mItemChildLongClickDispatcher = new View.OnLongClickListener() {
+        @Override
+        public boolean onLongClick(View v) {
+            if (getOnItemChildLongClickListener() == null) {
+                return false;
+            }
+            int position = getTaggedDataPosition(v);
+            if (position == RecyclerView.NO_POSITION) {
+                return false;
+            }
+            return getOnItemChildLongClickListener().onItemChildLongClick(BaseQuickAdapter.this, v, position);
+        }
+    };
+
+    /**
+     * @return the position in the data of the holder tagged on the view, NO_POSITION if unknown
+     */
+    int getTaggedDataPosition(View view) {
+        Object holder = view.getTag(R.id.BaseQuickAdapter_viewholder_support);
+        if (!(holder instanceof ViewHolder) || ((ViewHolder) holder).getQuickAdapter() != this) {
+            // bound by another adapter sharing the pool since
+            return RecyclerView.NO_POSITION;
+        }
+        int position = ((ViewHolder) holder).getAdapterPosition();
+        return getDataPosition(position);
+    }
+
+    /**
+     * Set the click listener of a view of the holder unless it is already set.
+     *
+     * @return true if the listener has been set, false if it already was
+     */
+    static boolean setClickDispatcher(View view, ViewHolder holder, View.OnClickListener dispatcher) {
+        if (view.getTag(R.id.BaseQuickAdapter_viewholder_support) != holder) {
+            view.setTag(R.id.BaseQuickAdapter_viewholder_support, holder);
+        }
+        if (view.getTag(R.id.BaseQuickAdapter_click_support) == dispatcher) {
+            return false;
+        }
+        view.setOnClickListener(dispatcher);
+        view.setTag(R.id.BaseQuickAdapter_click_support, dispatcher);
+        return true;
+    }
+
+    /**
+     * Set the long click listener of a view of the holder unless it is already set.
+     *
+     * @return true if the listener has been set, false if it already was
+     */
+    static boolean setLongClickDispatcher(View view, ViewHolder holder, View.OnLongClickListener dispatcher) {
+        if (view.getTag(R.id.BaseQuickAdapter_viewholder_support) != holder) {
+            view.setTag(R.id.BaseQuickAdapter_viewholder_support, holder);
         }
-        if (getOnItemLongClickListener() != null) {
-            view.setOnLongClickListener(new View.OnLongClickListener() {
-                @Override
-                public boolean onLongClick(View v) {
-                    int position = viewHolder.getAdapterPosition();
-                    if (position == RecyclerView.NO_POSITION) {
-                        return false;
-                    }
-                    position -= getHeaderCount();
-                    return setOnItemLongClick(v, position);
-                }
-            });
+        if (view.getTag(R.id.BaseQuickAdapter_long_click_support) == dispatcher) {
+            return false;
         }
+        view.setOnLongClickListener(dispatcher);
+        view.setTag(R.id.BaseQuickAdapter_long_click_support, dispatcher);
+        return true;
+    }
+
+    /**
+     * Called by {@link ViewHolder#addOnClickListener(int)}
+     *
+     * @return true if the listener has been set, false if it already was
+     */
+    boolean setItemChildClickDispatcher(View view, ViewHolder holder) {
+        return setClickDispatcher(view, holder, mItemChildClickDispatcher);
+    }
+
+    /**
+     * Called by {@link ViewHolder#addOnLongClickListener(int)}
+     *
+     * @return true if the listener has been set, false if it already was
+     */
+    boolean setItemChildLongClickDispatcher(View view, ViewHolder holder) {
+        return setLongClickDispatcher(view, holder, mItemChildLongClickDispatcher);
     }
 
     /**
@@ -655,6 +2314,102 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
         return createBaseViewHolder(getItemView(layoutResId, parent));
     }
 
+    /**
+     * Set a factory to create the ViewHolder of item views,
+     * the ViewHolder class will not be resolved by reflection any more.
+     *
+     * @param viewHolderFactory null to resolve the ViewHolder class from the generic parameter
+     */
+    public void setViewHolderFactory(@Nullable ViewHolderFactory viewHolderFactory) {
+        mViewHolderFactory = viewHolderFactory;
+    }
+
+    @Nullable
+    public ViewHolderFactory getViewHolderFactory() {
+        return mViewHolderFactory;
+    }
+
+    /**
+     * Declare the ids of the views accessed in {@link #convert(ViewHolder, Object)} for a view type.
+     * The holders of the view type find the views once when they are created. The slot setters of
+     * {@link ViewHolder}, {@link ViewHolder#setTextAt(int, CharSequence)},
+     * {@link ViewHolder#setGoneAt(int, boolean)}..., take the index of the id in viewIds and read
+     * the view from an array. The setters taking the id find it with a hash lookup instead.
+     * Missing ids are then remembered as missing by {@link ViewHolder#getView(int)}.
+     * Call before the holders of the view type are created.
+     *
+     * @param viewType the view type, 0 for adapters with a single layout
+     * @param viewIds  the view ids, each declared once, ids missing from the layout are resolved
+     *                 to null once
+     */
+    public void setItemViewIds(int viewType, @IdRes int... viewIds) {
+        if (mItemViewSlots == null) {
+            mItemViewSlots = new SparseArray<>();
+        }
+        mItemViewSlots.put(viewType, new ViewSlots(viewIds));
+    }
+
+    /**
+     * Enable {@link ViewHolder#setValueMemoizationEnabled(boolean)} for the item holders created
+     * from now on, so that rebinding the same values doesn't touch the views.
+     *
+     * @param enabled false by default
+     */
+    public void setValueMemoizationEnabled(boolean enabled) {
+        mValueMemoizationEnabled = enabled;
+    }
+
+    public boolean isValueMemoizationEnabled() {
+        return mValueMemoizationEnabled;
+    }
+
+    /**
+     * Report the time spent creating and binding the holders and resolving the view types.
+     *
+     * @param metrics null to stop measuring, which costs nothing
+     * @see SimpleAdapterMetrics
+     */
+    public void setAdapterMetrics(@Nullable AdapterMetrics metrics) {
+        mAdapterMetrics = metrics;
+    }
+
+    @Nullable
+    public AdapterMetrics getAdapterMetrics() {
+        return mAdapterMetrics;
+    }
+
+    /**
+     * Wrap the creation and the binding of the holders in {@link Trace} sections named
+     * "BRVAH create &lt;viewType&gt;" and "BRVAH bind &lt;viewType&gt;", visible in system traces.
+     *
+     * @param enabled false by default
+     */
+    public void setTraceEnabled(boolean enabled) {
+        mTraceEnabled = enabled;
+    }
+
+    public boolean isTraceEnabled() {
+        return mTraceEnabled;
+    }
+
+    private String getTraceSectionName(boolean create, int viewType) {
+        SparseArray<String> names = create ? mCreateSectionNames : mBindSectionNames;
+        if (names == null) {
+            names = new SparseArray<>();
+            if (create) {
+                mCreateSectionNames = names;
+            } else {
+                mBindSectionNames = names;
+            }
+        }
+        String name = names.get(viewType);
+        if (name == null) {
+            name = (create ? "BRVAH create " : "BRVAH bind ") + viewType;
+            names.put(viewType, name);
+        }
+        return name;
+    }
+
     /**
      * if you want to use subclass of BaseViewHolder in the adapter,
      * you must override the method to create new ViewHolder.
@@ -662,58 +2417,105 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      * @param view view
      * @return new ViewHolder
      */
-    @SuppressWarnings("unchecked")
     protected ViewHolder createBaseViewHolder(View view) {
-        Class temp = getClass();
+        if (mViewHolderFactory != null) {
+            return mViewHolderFactory.createViewHolder(view);
+        }
+        ViewHolderConstructor holderConstructor = getViewHolderConstructor();
+        ViewHolder k = null;
+        if (holderConstructor != null) {
+            k = createGenericKInstance(holderConstructor, view);
+        }
+        return k != null ? k : new ViewHolder(view);
+    }
+
+    /**
+     * Resolve the ViewHolder constructor of this adapter class, the result is cached per adapter class.
+     *
+     * @return null if the generic parameter is erased or the constructor can't be found
+     */
+    @Nullable
+    private ViewHolderConstructor getViewHolderConstructor() {
+        final Class adapterClass = getClass();
+        ViewHolderConstructor holderConstructor = sViewHolderConstructors.get(adapterClass);
+        if (holderConstructor == null) {
+            holderConstructor = findViewHolderConstructor(adapterClass);
+            sViewHolderConstructors.put(adapterClass, holderConstructor);
+        }
+        return holderConstructor == ViewHolderConstructor.NONE ? null : holderConstructor;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ViewHolderConstructor findViewHolderConstructor(Class adapterClass) {
+        Class temp = adapterClass;
         Class z = null;
         while (z == null && null != temp) {
             z = getInstancedGenericKClass(temp);
             temp = temp.getSuperclass();
         }
-        ViewHolder k;
         // 泛型擦除会导致z为null
-        if (z == null) {
-            k = new ViewHolder(view);
-        } else {
-            k = createGenericKInstance(z, view);
+        if (z == null || z == ViewHolder.class) {
+            return ViewHolderConstructor.NONE;
         }
-        return k != null ? k : new ViewHolder(view);
+        try {
+            Constructor constructor;
+            boolean inner = z.isMemberClass() && !Modifier.isStatic(z.getModifiers());
+            // inner and unstatic class
+            if (inner) {
+                constructor = z.getDeclaredConstructor(adapterClass, View.class);
+            } else {
+                constructor = z.getDeclaredConstructor(View.class);
+            }
+            constructor.setAccessible(true);
+            return new ViewHolderConstructor(constructor, inner);
+        } catch (NoSuchMethodException e) {
+            e.printStackTrace();
+        }
+        return ViewHolderConstructor.NONE;
     }
 
     /**
      * try to create Generic K instance
      *
-     * @param z
+     * @param holderConstructor
      * @param view
      * @return
      */
-    @SuppressWarnings("unchecked")
-    private ViewHolder createGenericKInstance(Class z, View view) {
+    private ViewHolder createGenericKInstance(ViewHolderConstructor holderConstructor, View view) {
         try {
-            Constructor constructor;
-            // inner and unstatic class
-            if (z.isMemberClass() && !Modifier.isStatic(z.getModifiers())) {
-                constructor = z.getDeclaredConstructor(getClass(), View.class);
-                constructor.setAccessible(true);
-                return (ViewHolder) constructor.newInstance(this, view);
+            if (holderConstructor.inner) {
+                return (ViewHolder) holderConstructor.constructor.newInstance(this, view);
             } else {
-                constructor = z.getDeclaredConstructor(View.class);
-                constructor.setAccessible(true);
-                return (ViewHolder) constructor.newInstance(view);
+                return (ViewHolder) holderConstructor.constructor.newInstance(view);
             }
-        } catch (NoSuchMethodException | InvocationTargetException | InstantiationException | IllegalAccessException e) {
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
             e.printStackTrace();
         }
         return null;
     }
 
+    /**
+     * Cached ViewHolder constructor of an adapter class
+     */
+    private static final class ViewHolderConstructor {
+        static final ViewHolderConstructor NONE = new ViewHolderConstructor(null, false);
+
+        final Constructor constructor;
+        final boolean inner;
+
+        ViewHolderConstructor(Constructor constructor, boolean inner) {
+            this.constructor = constructor;
+            this.inner = inner;
+        }
+    }
+
     /**
      * get generic parameter K
      *
      * @param z
      * @return
      */
-    private Class getInstancedGenericKClass(Class z) {
+    private static Class getInstancedGenericKClass(Class z) {
         Type type = z.getGenericSuperclass();
         if (type instanceof ParameterizedType) {
             Type[] types = ((ParameterizedType) type).getActualTypeArguments();
@@ -735,7 +2537,8 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
     }
 
     /**
-     * Return root layout of header
+     * Return root layout of header, empty when the headers are shown as items.
+     * Add and remove the headers with addHeaderView and removeHeaderView, not on the layout.
      */
 
     public LinearLayout getHeaderLayout() {
@@ -743,7 +2546,8 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
     }
 
     /**
-     * Return root layout of footer
+     * Return root layout of footer, empty when the footers are shown as items.
+     * Add and remove the footers with addFooterView and removeFooterView, not on the layout.
      */
     public LinearLayout getFooterLayout() {
         return mFooterLayout;
@@ -777,7 +2581,33 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      * @param index
      * @param orientation
      */
-    public int addHeaderView(View header,final int index, int orientation) {
+    public int addHeaderView(View header, final int index, int orientation) {
+        int mIndex = insertHeaderView(header, index, orientation);
+        if (mHeaderViewAsItems || mHeaderLayout.getChildCount() == 1) {
+            int position = getHeaderViewPosition();
+            if (position != -1) {
+                dispatchItemRangeInserted(position + (mHeaderViewAsItems ? mIndex : 0), 1);
+            }
+        }
+        return mIndex;
+    }
+
+    /**
+     * Add the header without notification
+     */
+    private int insertHeaderView(View header, int index, int orientation) {
+        if (mHeaderViewAsItems) {
+            if (mHeaderItems == null) {
+                mHeaderItems = new ArrayList<>();
+            }
+            int count = mHeaderItems.size();
+            if (index < 0 || index > count) {
+                index = count;
+            }
+            mHeaderItems.add(index, newHeaderFooterItem(header, HEADER_ITEM_VIEW_TYPE, orientation));
+            updateHeaderCount();
+            return index;
+        }
         if (mHeaderLayout == null) {
             mHeaderLayout = new LinearLayout(header.getContext());
             if (orientation == LinearLayout.VERTICAL) {
@@ -789,17 +2619,12 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
             }
         }
         final int childCount = mHeaderLayout.getChildCount();
-        int mIndex =index;
+        int mIndex = index;
         if (index < 0 || index > childCount) {
             mIndex = childCount;
         }
         mHeaderLayout.addView(header, mIndex);
-        if (mHeaderLayout.getChildCount() == 1) {
-            int position = getHeaderViewPosition();
-            if (position != -1) {
-                notifyItemInserted(position);
-            }
-        }
+        updateHeaderCount();
         return mIndex;
     }
 
@@ -808,6 +2633,17 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
     }
 
     public int setHeaderView(View header, int index, int orientation) {
+        if (mHeaderViewAsItems) {
+            if (mHeaderItems == null || index < 0 || mHeaderItems.size() <= index) {
+                return addHeaderView(header, index, orientation);
+            }
+            mHeaderItems.set(index, newHeaderFooterItem(header, HEADER_ITEM_VIEW_TYPE, orientation));
+            int position = getHeaderViewPosition();
+            if (position != -1) {
+                dispatchItemRangeChanged(position + index, 1);
+            }
+            return index;
+        }
         if (mHeaderLayout == null || mHeaderLayout.getChildCount() <= index) {
             return addHeaderView(header, index, orientation);
         } else {
@@ -841,6 +2677,32 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      *               the effect of this method is the same as that of {@link #addFooterView(View)}.
      */
     public int addFooterView(View footer, int index, int orientation) {
+        index = insertFooterView(footer, index, orientation);
+        if (mFooterViewAsItems || mFooterLayout.getChildCount() == 1) {
+            int position = getFooterViewPosition();
+            if (position != -1) {
+                dispatchItemRangeInserted(position + (mFooterViewAsItems ? index : 0), 1);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Add the footer without notification
+     */
+    private int insertFooterView(View footer, int index, int orientation) {
+        if (mFooterViewAsItems) {
+            if (mFooterItems == null) {
+                mFooterItems = new ArrayList<>();
+            }
+            int count = mFooterItems.size();
+            if (index < 0 || index > count) {
+                index = count;
+            }
+            mFooterItems.add(index, newHeaderFooterItem(footer, FOOTER_ITEM_VIEW_TYPE, orientation));
+            updateFooterCount();
+            return index;
+        }
         if (mFooterLayout == null) {
             mFooterLayout = new LinearLayout(footer.getContext());
             if (orientation == LinearLayout.VERTICAL) {
@@ -856,12 +2718,7 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
             index = childCount;
         }
         mFooterLayout.addView(footer, index);
-        if (mFooterLayout.getChildCount() == 1) {
-            int position = getFooterViewPosition();
-            if (position != -1) {
-                notifyItemInserted(position);
-            }
-        }
+        updateFooterCount();
         return index;
     }
 
@@ -870,6 +2727,17 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
     }
 
     public int setFooterView(View header, int index, int orientation) {
+        if (mFooterViewAsItems) {
+            if (mFooterItems == null || index < 0 || mFooterItems.size() <= index) {
+                return addFooterView(header, index, orientation);
+            }
+            mFooterItems.set(index, newHeaderFooterItem(header, FOOTER_ITEM_VIEW_TYPE, orientation));
+            int position = getFooterViewPosition();
+            if (position != -1) {
+                dispatchItemRangeChanged(position + index, 1);
+            }
+            return index;
+        }
         if (mFooterLayout == null || mFooterLayout.getChildCount() <= index) {
             return addFooterView(header, index, orientation);
         } else {
@@ -886,13 +2754,28 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      * @param header
      */
     public void removeHeaderView(View header) {
-        if (getHeaderCount() == 0) return;
+        if (getHeaderLayoutCount() == 0) return;
+
+        if (mHeaderViewAsItems) {
+            int index = indexOfHeaderFooterItem(mHeaderItems, header);
+            if (index == -1) {
+                return;
+            }
+            int position = getHeaderViewPosition();
+            mHeaderItems.remove(index);
+            updateHeaderCount();
+            if (position != -1) {
+                dispatchItemRangeRemoved(position + index, 1);
+            }
+            return;
+        }
 
         mHeaderLayout.removeView(header);
+        updateHeaderCount();
         if (mHeaderLayout.getChildCount() == 0) {
             int position = getHeaderViewPosition();
             if (position != -1) {
-                notifyItemRemoved(position);
+                dispatchItemRangeRemoved(position, 1);
             }
         }
     }
@@ -904,13 +2787,28 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      * @param footer
      */
     public void removeFooterView(View footer) {
-        if (getFooterCount() == 0) return;
+        if (getFooterLayoutCount() == 0) return;
+
+        if (mFooterViewAsItems) {
+            int index = indexOfHeaderFooterItem(mFooterItems, footer);
+            if (index == -1) {
+                return;
+            }
+            int position = getFooterViewPosition();
+            mFooterItems.remove(index);
+            updateFooterCount();
+            if (position != -1) {
+                dispatchItemRangeRemoved(position + index, 1);
+            }
+            return;
+        }
 
         mFooterLayout.removeView(footer);
+        updateFooterCount();
         if (mFooterLayout.getChildCount() == 0) {
             int position = getFooterViewPosition();
             if (position != -1) {
-                notifyItemRemoved(position);
+                dispatchItemRangeRemoved(position, 1);
             }
         }
     }
@@ -919,12 +2817,24 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      * remove all header view from mHeaderLayout and set null to mHeaderLayout
      */
     public void removeAllHeaderView() {
-        if (getHeaderCount() == 0) return;
+        if (getHeaderLayoutCount() == 0) return;
+
+        if (mHeaderViewAsItems) {
+            int count = mHeaderItems.size();
+            int position = getHeaderViewPosition();
+            mHeaderItems.clear();
+            updateHeaderCount();
+            if (position != -1) {
+                dispatchItemRangeRemoved(position, count);
+            }
+            return;
+        }
 
         mHeaderLayout.removeAllViews();
+        updateHeaderCount();
         int position = getHeaderViewPosition();
         if (position != -1) {
-            notifyItemRemoved(position);
+            dispatchItemRangeRemoved(position, 1);
         }
     }
 
@@ -932,12 +2842,24 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      * remove all footer view from mFooterLayout and set null to mFooterLayout
      */
     public void removeAllFooterView() {
-        if (getFooterCount() == 0) return;
+        if (getFooterLayoutCount() == 0) return;
+
+        if (mFooterViewAsItems) {
+            int count = mFooterItems.size();
+            int position = getFooterViewPosition();
+            mFooterItems.clear();
+            updateFooterCount();
+            if (position != -1) {
+                dispatchItemRangeRemoved(position, count);
+            }
+            return;
+        }
 
         mFooterLayout.removeAllViews();
+        updateFooterCount();
         int position = getFooterViewPosition();
         if (position != -1) {
-            notifyItemRemoved(position);
+            dispatchItemRangeRemoved(position, 1);
         }
     }
 
@@ -957,14 +2879,14 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
         //Return to footer view notify position
         if (getEmptyViewCount() == 1) {
             int position = 1;
-            if (mHeadAndEmptyEnable && getHeaderCount() != 0) {
-                position++;
+            if (mHeadAndEmptyEnable) {
+                position += getHeaderLayoutCount();
             }
             if (mFootAndEmptyEnable) {
                 return position;
             }
         } else {
-            return getHeaderCount() + mData.size();
+            return getHeaderLayoutCount() + mData.size();
         }
         return -1;
     }
@@ -1003,15 +2925,13 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
         mEmptyLayout.removeAllViews();
         mEmptyLayout.addView(emptyView);
         mIsUseEmpty = true;
+        mEmptyViewEnabled = true;
         if (insert && getEmptyViewCount() == 1) {
-            int position = 0;
-            if (mHeadAndEmptyEnable && getHeaderCount() != 0) {
-                position++;
-            }
+            int position = mHeadAndEmptyEnable ? getHeaderLayoutCount() : 0;
             if (getItemCount() > oldItemCount) {
-                notifyItemInserted(position);
+                dispatchItemRangeInserted(position, 1);
             } else {
-                notifyDataSetChanged();
+                dispatchDataSetChanged();
             }
         }
     }
@@ -1044,6 +2964,7 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      */
     public void isUseEmpty(boolean isUseEmpty) {
         mIsUseEmpty = isUseEmpty;
+        mEmptyViewEnabled = isUseEmpty && mEmptyLayout != null && mEmptyLayout.getChildCount() != 0;
     }
 
     /**
@@ -1079,9 +3000,108 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      * @return view will be return
      */
     protected View getItemView(@LayoutRes int layoutResId, ViewGroup parent) {
+        if (mPreInflater != null) {
+            View view = mPreInflater.obtain(layoutResId, parent);
+            if (view != null) {
+                return view;
+            }
+        }
         return mLayoutInflater.inflate(layoutResId, parent, false);
     }
 
+    /**
+     * Inflate the item views of every view type off the main thread ahead of time,
+     * {@link #getItemView(int, ViewGroup)} falls back to synchronous inflation when the pool is empty.
+     * The views are inflated once the adapter is attached to the RecyclerView.
+     *
+     * @param preInflater null to disable pre-inflation
+     */
+    public void setPreInflater(@Nullable ItemViewPreInflater preInflater) {
+        if (mPreInflater != null) {
+            mPreInflater.stop();
+        }
+        mPreInflater = preInflater;
+        if (mPreInflater != null && getRecyclerView() != null) {
+            mPreInflater.start(getRecyclerView(), getItemLayouts());
+        }
+    }
+
+    @Nullable
+    public ItemViewPreInflater getPreInflater() {
+        return mPreInflater;
+    }
+
+    /**
+     * Compute the text layout of the TextViews of the upcoming items off the main thread while
+     * scrolling, {@link ViewHolder#setText(int, CharSequence)} then applies it when it matches.
+     * Call before the holders are created, the params of the TextViews are captured then.
+     *
+     * @param textPrecomputer null to disable text precomputation
+     */
+    public void setTextPrecomputer(@Nullable TextPrecomputer<T> textPrecomputer) {
+        if (mTextPrecomputer != null) {
+            mTextPrecomputer.stop();
+        }
+        mTextPrecomputer = textPrecomputer;
+        resetPrecomputeRange();
+    }
+
+    @Nullable
+    public TextPrecomputer<T> getTextPrecomputer() {
+        return mTextPrecomputer;
+    }
+
+    /**
+     * @see #setIdlePrebind(int, int)
+     */
+    public void setIdlePrebind(int count) {
+        setIdlePrebind(count, DEFAULT_PREBIND_BUDGET_MILLIS);
+    }
+
+    /**
+     * Create and bind the holders of the positions past the visible ones, in the direction of
+     * the scroll, while the main thread is idle, so that they are ready when scrolled to.
+     * The prebound holders are handed to the RecyclerView by its ViewCacheExtension, which
+     * this replaces.
+     *
+     * @param count        number of positions past the visible ones to prebind, 0 to disable
+     * @param budgetMillis time spent prebinding per frame at most, a holder is only prebound
+     *                     if its average cost fits in what is left
+     */
+    public void setIdlePrebind(int count, int budgetMillis) {
+        if (mIdlePrebinder != null && mAttachedRecyclerView != null) {
+            mIdlePrebinder.detach(mAttachedRecyclerView);
+        }
+        mIdlePrebinder = count > 0 ? new IdlePrebinder(this, count, budgetMillis) : null;
+        if (mIdlePrebinder != null && mAttachedRecyclerView != null) {
+            mIdlePrebinder.attach(mAttachedRecyclerView);
+        }
+    }
+
+    private void dropPrebound() {
+        if (mIdlePrebinder != null) {
+            mIdlePrebinder.dropAll();
+        }
+    }
+
+    private SparseIntArray getItemLayouts() {
+        SparseIntArray layouts = new SparseIntArray();
+        collectItemLayouts(layouts);
+        return layouts;
+    }
+
+    /**
+     * Collect the layouts of the item view types, override it if you register layouts
+     * other than the layoutResId of the adapter.
+     *
+     * @param layouts layout resource ids indexed with their view types
+     */
+    protected void collectItemLayouts(@NonNull SparseIntArray layouts) {
+        if (mLayoutResId != 0) {
+            layouts.put(0, mLayoutResId);
+        }
+    }
+
 
     /**
      * {@link #addAnimation(RecyclerView.ViewHolder)}
@@ -1153,25 +3173,6 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
         return position;
     }
 
-    @SuppressWarnings("unchecked")
-    private int recursiveExpand(int position, @NonNull List list) {
-        int count = list.size();
-        int pos = position + list.size() - 1;
-        for (int i = list.size() - 1; i >= 0; i--, pos--) {
-            if (list.get(i) instanceof IExpandable) {
-                IExpandable item = (IExpandable) list.get(i);
-                if (item.isExpanded() && hasSubItems(item)) {
-                    List subList = item.getSubItems();
-                    mData.addAll(pos + 1, subList);
-                    int subItemCount = recursiveExpand(pos + 1, subList);
-                    count += subItemCount;
-                }
-            }
-        }
-        return count;
-
-    }
-
     /**
      * Expand an expandable item
      *
@@ -1183,7 +3184,7 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      */
     @SuppressWarnings("unchecked")
     public int expand(@IntRange(from = 0) int position, boolean animate, boolean shouldNotify) {
-        position -= getHeaderCount();
+        position -= getHeaderLayoutCount();
 
         IExpandable expandable = getExpandableItem(position);
         if (expandable == null) {
@@ -1191,25 +3192,24 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
         }
         if (!hasSubItems(expandable)) {
             expandable.setExpanded(true);
-            notifyItemChanged(position);
+            dispatchItemRangeChanged(position, 1);
             return 0;
         }
         int subItemCount = 0;
         if (!expandable.isExpanded()) {
             List list = expandable.getSubItems();
-            mData.addAll(position + 1, list);
-            subItemCount += recursiveExpand(position + 1, list);
+            subItemCount += AdapterListUtil.addSubItems(mData, position + 1, list);
 
             expandable.setExpanded(true);
 //            subItemCount += list.size();
         }
-        int parentPos = position + getHeaderCount();
+        int parentPos = position + getHeaderLayoutCount();
         if (shouldNotify) {
             if (animate) {
-                notifyItemChanged(parentPos);
-                notifyItemRangeInserted(parentPos + 1, subItemCount);
+                dispatchItemRangeChanged(parentPos, 1);
+                dispatchItemRangeInserted(parentPos + 1, subItemCount);
             } else {
-                notifyDataSetChanged();
+                dispatchDataSetChanged();
             }
         }
         return subItemCount;
@@ -1237,7 +3237,7 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
     }
 
     public int expandAll(int position, boolean animate, boolean notify) {
-        position -= getHeaderCount();
+        position -= getHeaderLayoutCount();
 
         T endItem = null;
         if (position + 1 < this.mData.size()) {
@@ -1251,11 +3251,11 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
 
         if (!hasSubItems(expandable)) {
             expandable.setExpanded(true);
-            notifyItemChanged(position);
+            dispatchItemRangeChanged(position, 1);
             return 0;
         }
 
-        int count = expand(position + getHeaderCount(), false, false);
+        int count = expand(position + getHeaderLayoutCount(), false, false);
         for (int i = position + 1; i < this.mData.size(); i++) {
             T item = getItem(i);
 
@@ -1263,15 +3263,15 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
                 break;
             }
             if (isExpandable(item)) {
-                count += expand(i + getHeaderCount(), false, false);
+                count += expand(i + getHeaderLayoutCount(), false, false);
             }
         }
 
         if (notify) {
             if (animate) {
-                notifyItemRangeInserted(position + getHeaderCount() + 1, count);
+                dispatchItemRangeInserted(position + getHeaderLayoutCount() + 1, count);
             } else {
-                notifyDataSetChanged();
+                dispatchDataSetChanged();
             }
         }
         return count;
@@ -1291,7 +3291,7 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
 
     public void expandAll() {
 
-        for (int i = mData.size() - 1 + getHeaderCount(); i >= getHeaderCount(); i--) {
+        for (int i = mData.size() - 1 + getHeaderLayoutCount(); i >= getHeaderLayoutCount(); i--) {
             expandAll(i, false, false);
         }
     }
@@ -1306,18 +3306,8 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
         if (!expandable.isExpanded()) {
             return 0;
         }
-        List<T> collapseList = new ArrayList<>();
-        int itemLevel = expandable.getLevel();
-        T itemTemp;
-        for (int i = position + 1, n = mData.size(); i < n; i++) {
-            itemTemp = mData.get(i);
-            if (itemTemp instanceof IExpandable && ((IExpandable) itemTemp).getLevel() <= itemLevel) {
-                break;
-            }
-            collapseList.add(itemTemp);
-        }
-        mData.removeAll(collapseList);
-        return collapseList.size();
+        // the sub items are the contiguous range following the item, remove it in one go
+        return AdapterListUtil.removeSubItems(mData, position);
     }
 
     /**
@@ -1329,7 +3319,7 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      * @return the number of subItems collapsed.
      */
     public int collapse(@IntRange(from = 0) int position, boolean animate, boolean notify) {
-        position -= getHeaderCount();
+        position -= getHeaderLayoutCount();
 
         IExpandable expandable = getExpandableItem(position);
         if (expandable == null) {
@@ -1337,13 +3327,13 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
         }
         int subItemCount = recursiveCollapse(position);
         expandable.setExpanded(false);
-        int parentPos = position + getHeaderCount();
+        int parentPos = position + getHeaderLayoutCount();
         if (notify) {
             if (animate) {
-                notifyItemChanged(parentPos);
-                notifyItemRangeRemoved(parentPos + 1, subItemCount);
+                dispatchItemRangeChanged(parentPos, 1);
+                dispatchItemRangeRemoved(parentPos + 1, subItemCount);
             } else {
-                notifyDataSetChanged();
+                dispatchDataSetChanged();
             }
         }
         return subItemCount;
@@ -1396,6 +3386,9 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
 
     /**
      * Get the parent item position of the IExpandable item
+     * <p>
+     * The item is looked up in the data with indexOf, which is O(n), use
+     * {@link #getParentPositionAt(int)} when the position of the item is known.
      *
      * @return return the closest parent item position of the IExpandable.
      * if the IExpandable item's level is 0, return itself position.
@@ -1403,35 +3396,28 @@ public abstract class BaseQuickAdapter<T> extends RecyclerView.Adapter<ViewHolde
      * if the item is not exist in the data list, return a negative.
      */
     public int getParentPosition(@NonNull T item) {
-        int position = getItemPosition(item);
-        if (position == -1) {
-            return -1;
-        }
+        return getParentPositionAt(getItemPosition(item));
+    }
 
-        // if the item is IExpandable, return a closest IExpandable item position whose level smaller than this.
-        // if it is not, return the closest IExpandable item position whose level is not negative
-        int level;
-        if (item instanceof IExpandable) {
-            level = ((IExpandable) item).getLevel();
-        } else {
-            level = Integer.MAX_VALUE;
-        }
-        if (level == 0) {
-            return position;
-        } else if (level == -1) {
-            return -1;
-        }
+    /**
+     * Get the parent item position of the item at a position of the data, in O(log n)
+     *
+     * @param position the position of the item in the data, without the header layout count.
+     * @return the same as {@link #getParentPosition(Object)}
+     */
+    public int getParentPositionAt(int position) {
+        return AdapterListUtil.getParentPosition(mData, mExpandableIndex, position);
+    }
 
-        for (int i = position; i >= 0; i--) {
-            T temp = mData.get(i);
-            if (temp instanceof IExpandable) {
-                IExpandable expandable = (IExpandable) temp;
-                if (expandable.getLevel() >= 0 && expandable.getLevel() < level) {
-                    return i;
-                }
-            }
-        }
-        return -1;
+    /**
+     * Used by {@link #removeAll(ItemPredicate)} to select the items to remove
+     */
+    public interface ItemPredicate<T> {
+        /**
+         * @param item the item of the data
+         * @return true if the item matches
+         */
+        boolean test(T item);
     }
 
     /**
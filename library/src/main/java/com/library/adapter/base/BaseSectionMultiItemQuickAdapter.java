@@ -5,15 +5,19 @@ import android.view.ViewGroup;
 import androidx.annotation.IntRange;
 import androidx.annotation.LayoutRes;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
 import com.library.adapter.base.entity.IExpandable;
 import com.library.adapter.base.entity.MultiItemEntity;
 import com.library.adapter.base.entity.SectionMultiEntity;
+import com.library.adapter.base.util.SectionIndex;
 import java.util.List;
 
 /**
  * https://github.com/CymChad/BaseRecyclerViewAdapterHelper
  */
-public abstract class BaseSectionMultiItemQuickAdapter<T extends SectionMultiEntity> extends BaseQuickAdapter<T> {
+public abstract class BaseSectionMultiItemQuickAdapter<T extends SectionMultiEntity> extends BaseQuickAdapter<T>
+        implements SectionAdapter {
 
     /**
      * layouts indexed with their types
@@ -25,6 +29,11 @@ public abstract class BaseSectionMultiItemQuickAdapter<T extends SectionMultiEnt
 
     protected int mSectionHeadResId;
     protected static final int SECTION_HEADER_VIEW = 0x00000444;
+    /**
+     * positions of the section headers in the data
+     */
+    private final SectionIndex mSectionIndex = new SectionIndex();
+    private final SectionIndexTracker mSectionIndexTracker = new SectionIndexTracker(this, mSectionIndex);
 
     /**
      * Same as QuickAdapter#QuickAdapter(Context,int) but with
@@ -38,6 +47,52 @@ public abstract class BaseSectionMultiItemQuickAdapter<T extends SectionMultiEnt
         this.mSectionHeadResId = sectionHeadResId;
     }
 
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        mSectionIndexTracker.onAttached();
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        mSectionIndexTracker.onDetached();
+    }
+
+    @Override
+    public int getSectionHeaderViewType() {
+        return SECTION_HEADER_VIEW;
+    }
+
+    @Override
+    public void bindSectionHeader(@NonNull ViewHolder holder, int position) {
+        convertHead(holder, mData.get(position));
+    }
+
+    @NonNull
+    @Override
+    public SectionIndex getSectionIndex() {
+        mSectionIndex.ensureValid(mData);
+        return mSectionIndex;
+    }
+
+    @Override
+    public int getSectionForPosition(int position) {
+        return getSectionIndex().getSectionForPosition(position);
+    }
+
+    @Override
+    public int getPositionForSection(int section) {
+        return getSectionIndex().getHeaderPosition(section);
+    }
+
+    @Nullable
+    @Override
+    public CharSequence getSectionLabel(int section) {
+        T item = getItem(getPositionForSection(section));
+        return item == null ? null : item.header;
+    }
+
     @Override
     protected int getDefItemViewType(int position) {
         T item = mData.get(position);
@@ -79,6 +134,16 @@ public abstract class BaseSectionMultiItemQuickAdapter<T extends SectionMultiEnt
         layouts.put(type, layoutResId);
     }
 
+    @Override
+    protected void collectItemLayouts(@NonNull SparseIntArray layouts) {
+        if (this.layouts != null) {
+            for (int i = 0; i < this.layouts.size(); i++) {
+                layouts.put(this.layouts.keyAt(i), this.layouts.valueAt(i));
+            }
+        }
+        layouts.put(SECTION_HEADER_VIEW, mSectionHeadResId);
+    }
+
     @Override
     protected boolean isFixedViewType(int type) {
         return super.isFixedViewType(type) || type == SECTION_HEADER_VIEW;
@@ -89,7 +154,7 @@ public abstract class BaseSectionMultiItemQuickAdapter<T extends SectionMultiEnt
         switch (holder.getItemViewType()) {
             case SECTION_HEADER_VIEW:
                 setFullSpan(holder);
-                convertHead(holder, getItem(position - getHeaderCount()));
+                convertHead(holder, getItem(getDataPosition(position)));
                 break;
             default:
                 super.onBindViewHolder(holder, position);
@@ -1,18 +1,28 @@
 package com.library.adapter.base;
 
+import android.util.SparseIntArray;
 import android.view.ViewGroup;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
 import com.library.adapter.base.entity.SectionEntity;
+import com.library.adapter.base.util.SectionIndex;
 import java.util.List;
 
 /**
  * https://github.com/CymChad/BaseRecyclerViewAdapterHelper
  */
-public abstract class BaseSectionQuickAdapter<T extends SectionEntity> extends BaseQuickAdapter<T> {
+public abstract class BaseSectionQuickAdapter<T extends SectionEntity> extends BaseQuickAdapter<T>
+        implements SectionAdapter {
 
 
     protected int mSectionHeadResId;
     protected static final int SECTION_HEADER_VIEW = 0x00000444;
+    /**
+     * positions of the section headers in the data
+     */
+    private final SectionIndex mSectionIndex = new SectionIndex();
+    private final SectionIndexTracker mSectionIndexTracker = new SectionIndexTracker(this, mSectionIndex);
 
     /**
      * Same as QuickAdapter#QuickAdapter(Context,int) but with
@@ -27,6 +37,52 @@ public abstract class BaseSectionQuickAdapter<T extends SectionEntity> extends B
         this.mSectionHeadResId = sectionHeadResId;
     }
 
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onAttachedToRecyclerView(recyclerView);
+        mSectionIndexTracker.onAttached();
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        super.onDetachedFromRecyclerView(recyclerView);
+        mSectionIndexTracker.onDetached();
+    }
+
+    @Override
+    public int getSectionHeaderViewType() {
+        return SECTION_HEADER_VIEW;
+    }
+
+    @Override
+    public void bindSectionHeader(@NonNull ViewHolder holder, int position) {
+        convertHead(holder, mData.get(position));
+    }
+
+    @NonNull
+    @Override
+    public SectionIndex getSectionIndex() {
+        mSectionIndex.ensureValid(mData);
+        return mSectionIndex;
+    }
+
+    @Override
+    public int getSectionForPosition(int position) {
+        return getSectionIndex().getSectionForPosition(position);
+    }
+
+    @Override
+    public int getPositionForSection(int section) {
+        return getSectionIndex().getHeaderPosition(section);
+    }
+
+    @Nullable
+    @Override
+    public CharSequence getSectionLabel(int section) {
+        T item = getItem(getPositionForSection(section));
+        return item == null ? null : item.header;
+    }
+
     @Override
     protected int getDefItemViewType(int position) {
         return mData.get(position).isHeader ? SECTION_HEADER_VIEW : 0;
@@ -40,6 +96,12 @@ public abstract class BaseSectionQuickAdapter<T extends SectionEntity> extends B
         return super.onCreateDefViewHolder(parent, viewType);
     }
 
+    @Override
+    protected void collectItemLayouts(@NonNull SparseIntArray layouts) {
+        super.collectItemLayouts(layouts);
+        layouts.put(SECTION_HEADER_VIEW, mSectionHeadResId);
+    }
+
     @Override
     protected boolean isFixedViewType(int type) {
         return super.isFixedViewType(type) || type == SECTION_HEADER_VIEW;
@@ -50,7 +112,7 @@ public abstract class BaseSectionQuickAdapter<T extends SectionEntity> extends B
         switch (holder.getItemViewType()) {
             case SECTION_HEADER_VIEW:
                 setFullSpan(holder);
-                convertHead(holder, getItem(position - getHeaderCount()));
+                convertHead(holder, getItem(getDataPosition(position)));
                 break;
             default:
                 super.onBindViewHolder(holder, position);
@@ -1,8 +1,8 @@
 package com.library.adapter.base;
 
 import static com.library.adapter.base.BaseQuickAdapter.EMPTY_VIEW;
-import static com.library.adapter.base.BaseQuickAdapter.FOOTER_VIEW;
-import static com.library.adapter.base.BaseQuickAdapter.HEADER_VIEW;
+import static com.library.adapter.base.BaseQuickAdapter.isFooterViewType;
+import static com.library.adapter.base.BaseQuickAdapter.isHeaderViewType;
 import static com.library.adapter.base.BaseQuickAdapter.LOADING_VIEW;
 
 import android.annotation.SuppressLint;
@@ -18,7 +18,6 @@ import com.library.adapter.base.callback.ItemDragAndSwipeCallback;
 import com.library.adapter.base.listener.IDraggableListener;
 import com.library.adapter.base.listener.OnItemDragListener;
 import com.library.adapter.base.listener.OnItemSwipeListener;
-import java.util.Collections;
 
 /**
  * <pre>
@@ -56,8 +55,8 @@ public class DraggableController implements IDraggableListener {
     public void initView(ViewHolder holder) {
         int viewType = holder.getItemViewType();
 
-        if (mItemTouchHelper != null && itemDragEnabled && viewType != LOADING_VIEW && viewType != HEADER_VIEW
-                && viewType != EMPTY_VIEW && viewType != FOOTER_VIEW) {
+        if (mItemTouchHelper != null && itemDragEnabled && viewType != LOADING_VIEW && !isHeaderViewType(viewType)
+                && viewType != EMPTY_VIEW && !isFooterViewType(viewType)) {
             if (hasToggleView()) {
                 View toggleView = holder.getView(mToggleViewId);
                 if (toggleView != null) {
@@ -199,7 +198,7 @@ public class DraggableController implements IDraggableListener {
     }
 
     public int getViewHolderPosition(RecyclerView.ViewHolder viewHolder) {
-        return viewHolder.getAdapterPosition() - mAdapter.getHeaderCount();
+        return mAdapter.getDataPosition(viewHolder.getAdapterPosition());
     }
 
     @Override
@@ -215,16 +214,7 @@ public class DraggableController implements IDraggableListener {
         int to = getViewHolderPosition(target);
 
         if (inRange(from) && inRange(to)) {
-            if (from < to) {
-                for (int i = from; i < to; i++) {
-                    Collections.swap(mAdapter.getData(), i, i + 1);
-                }
-            } else {
-                for (int i = from; i > to; i--) {
-                    Collections.swap(mAdapter.getData(), i, i - 1);
-                }
-            }
-            mAdapter.notifyItemMoved(source.getAdapterPosition(), target.getAdapterPosition());
+            mAdapter.moveData(from, to);
         }
 
         if (mOnItemDragListener != null && itemDragEnabled) {
@@ -0,0 +1,218 @@
+package com.library.adapter.base;
+
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.util.SparseArray;
+import android.view.Choreographer;
+import android.view.View;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Create and bind the holders of the positions past the visible ones, in the direction of the
+ * scroll, while the main thread is idle, further than the prefetch of the RecyclerView goes.
+ * <p>
+ * The holders are obtained from the Recycler of the RecyclerView, so they are created or taken
+ * from its caches and bound as for a layout, then parked until the RecyclerView asks its
+ * ViewCacheExtension for their position. Parked holders go back to the pool when the data
+ * changes or when they leave the positions to prebind.
+ * <p>
+ * The work of a frame starts once the frame is drawn and the main thread is idle, and stops
+ * before a holder whose average cost would exceed the budget of the frame.
+ */
+final class IdlePrebinder extends RecyclerView.ViewCacheExtension
+        implements Choreographer.FrameCallback, MessageQueue.IdleHandler {
+
+    private final BaseQuickAdapter<?> mAdapter;
+    private final int mCount;
+    private final long mBudgetNanos;
+
+    private RecyclerView mRecyclerView;
+    private RecyclerView.Recycler mRecycler;
+    /**
+     * prebound holders indexed with their adapter positions
+     */
+    private final SparseArray<ViewHolder> mParked = new SparseArray<>();
+    private int mDirection = 1;
+    private boolean mFrameCallbackPosted;
+    private boolean mIdleHandlerAdded;
+    private boolean mPrebinding;
+    private long mSpentNanos;
+    private long mAverageNanos;
+
+    /**
+     * @param count        number of positions past the visible ones to prebind
+     * @param budgetMillis time spent prebinding per frame at most
+     */
+    IdlePrebinder(@NonNull BaseQuickAdapter<?> adapter, int count, int budgetMillis) {
+        mAdapter = adapter;
+        mCount = count;
+        mBudgetNanos = budgetMillis * 1000000L;
+    }
+
+    void attach(@NonNull RecyclerView recyclerView) {
+        mRecyclerView = recyclerView;
+        recyclerView.setViewCacheExtension(this);
+        schedule();
+    }
+
+    void detach(@NonNull RecyclerView recyclerView) {
+        if (mRecyclerView != recyclerView) {
+            return;
+        }
+        recyclerView.setViewCacheExtension(null);
+        dropAll();
+        if (mFrameCallbackPosted) {
+            Choreographer.getInstance().removeFrameCallback(this);
+            mFrameCallbackPosted = false;
+        }
+        if (mIdleHandlerAdded) {
+            Looper.myQueue().removeIdleHandler(this);
+            mIdleHandlerAdded = false;
+        }
+        mRecyclerView = null;
+        mRecycler = null;
+    }
+
+    /**
+     * Called when the RecyclerView scrolls, to prebind in the direction of the scroll.
+     */
+    void onScrolled(int delta) {
+        if (delta != 0) {
+            mDirection = delta > 0 ? 1 : -1;
+        }
+        schedule();
+    }
+
+    /**
+     * Return the parked holders to the pool, they were bound to the data before the change.
+     */
+    void dropAll() {
+        for (int i = 0; i < mParked.size(); i++) {
+            recycle(mParked.valueAt(i));
+        }
+        mParked.clear();
+    }
+
+    private void schedule() {
+        if (mRecyclerView != null && !mFrameCallbackPosted) {
+            Choreographer.getInstance().postFrameCallback(this);
+            mFrameCallbackPosted = true;
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        mFrameCallbackPosted = false;
+        mSpentNanos = 0;
+        if (mRecyclerView != null && !mIdleHandlerAdded) {
+            Looper.myQueue().addIdleHandler(this);
+            mIdleHandlerAdded = true;
+        }
+    }
+
+    @Override
+    public boolean queueIdle() {
+        mIdleHandlerAdded = false;
+        if (mRecyclerView == null || mRecycler == null) {
+            return false;
+        }
+        while (mSpentNanos + mAverageNanos <= mBudgetNanos) {
+            int position = nextPosition();
+            if (position == RecyclerView.NO_POSITION) {
+                return false;
+            }
+            long start = System.nanoTime();
+            prebind(position);
+            long duration = System.nanoTime() - start;
+            mSpentNanos += duration;
+            mAverageNanos = mAverageNanos == 0 ? duration : (mAverageNanos * 3 + duration) / 4;
+        }
+        // out of budget for this frame, go on in the next one
+        schedule();
+        return false;
+    }
+
+    /**
+     * @return the nearest position past the visible ones to prebind, NO_POSITION if none
+     */
+    private int nextPosition() {
+        RecyclerView recyclerView = mRecyclerView;
+        if (recyclerView.hasPendingAdapterUpdates() || recyclerView.isComputingLayout()
+                || recyclerView.getLayoutManager() == null) {
+            return RecyclerView.NO_POSITION;
+        }
+        int first = Integer.MAX_VALUE;
+        int last = RecyclerView.NO_POSITION;
+        for (int i = 0, n = recyclerView.getChildCount(); i < n; i++) {
+            int position = recyclerView.getChildAdapterPosition(recyclerView.getChildAt(i));
+            if (position != RecyclerView.NO_POSITION) {
+                first = Math.min(first, position);
+                last = Math.max(last, position);
+            }
+        }
+        if (last == RecyclerView.NO_POSITION) {
+            return RecyclerView.NO_POSITION;
+        }
+        int start = mDirection > 0 ? last + 1 : first - mCount;
+        int end = mDirection > 0 ? last + mCount : first - 1;
+        // the parked holders out of the range won't be asked for soon
+        for (int i = mParked.size() - 1; i >= 0; i--) {
+            int position = mParked.keyAt(i);
+            if (position < start || position > end) {
+                recycle(mParked.valueAt(i));
+                mParked.removeAt(i);
+            }
+        }
+        for (int i = 1; i <= mCount; i++) {
+            int position = mDirection > 0 ? last + i : first - i;
+            if (mAdapter.getDataPosition(position) == RecyclerView.NO_POSITION) {
+                // past the data, the headers, footers and load more view are cheap
+                return RecyclerView.NO_POSITION;
+            }
+            if (mParked.get(position) == null
+                    && mAdapter.getItemViewType(position) != BaseQuickAdapter.PLACEHOLDER_VIEW) {
+                return position;
+            }
+        }
+        return RecyclerView.NO_POSITION;
+    }
+
+    private void prebind(int position) {
+        View view;
+        mPrebinding = true;
+        try {
+            view = mRecycler.getViewForPosition(position);
+        } finally {
+            mPrebinding = false;
+        }
+        mParked.put(position, (ViewHolder) mRecyclerView.getChildViewHolder(view));
+    }
+
+    @Nullable
+    @Override
+    public View getViewForPositionAndType(@NonNull RecyclerView.Recycler recycler, int position, int type) {
+        mRecycler = recycler;
+        if (mPrebinding) {
+            return null;
+        }
+        ViewHolder holder = mParked.get(position);
+        if (holder == null) {
+            return null;
+        }
+        mParked.remove(position);
+        if (holder.getItemViewType() != type) {
+            recycle(holder);
+            return null;
+        }
+        return holder.itemView;
+    }
+
+    private void recycle(ViewHolder holder) {
+        mAdapter.onViewRecycled(holder);
+        if (mRecyclerView != null) {
+            mRecyclerView.getRecycledViewPool().putRecycledView(holder);
+        }
+    }
+}
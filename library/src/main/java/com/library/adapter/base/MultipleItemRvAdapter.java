@@ -1,11 +1,13 @@
 package com.library.adapter.base;
 
 import android.util.SparseArray;
+import android.util.SparseIntArray;
 import android.view.View;
 import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
+import com.library.R;
 import com.library.adapter.base.provider.BaseItemProvider;
 import com.library.adapter.base.util.MultiTypeDelegate;
 import com.library.adapter.base.util.ProviderDelegate;
@@ -80,6 +82,13 @@ public abstract class MultipleItemRvAdapter<T> extends BaseQuickAdapter<T> {
         return createBaseViewHolder(parent, layoutId);
     }
 
+    @Override
+    protected void collectItemLayouts(@NonNull SparseIntArray layouts) {
+        if (getMultiTypeDelegate() != null) {
+            getMultiTypeDelegate().collectLayouts(layouts);
+        }
+    }
+
     @Override
     protected int getDefItemViewType(int position) {
         if (getMultiTypeDelegate() == null) {
@@ -95,7 +104,7 @@ public abstract class MultipleItemRvAdapter<T> extends BaseQuickAdapter<T> {
 
         provider.mContext = helper.itemView.getContext();
 
-        int position = helper.getLayoutPosition() - getHeaderCount();
+        int position = getDataPosition(helper.getLayoutPosition());
         provider.convert(helper, item, position);
     }
 
@@ -104,7 +113,7 @@ public abstract class MultipleItemRvAdapter<T> extends BaseQuickAdapter<T> {
         int itemViewType = helper.getItemViewType();
         BaseItemProvider provider = mItemProviders.get(itemViewType);
 
-        int position = helper.getLayoutPosition() - getHeaderCount();
+        int position = getDataPosition(helper.getLayoutPosition());
         provider.convertPayloads(helper, item, position, payloads);
     }
 
@@ -121,43 +130,50 @@ public abstract class MultipleItemRvAdapter<T> extends BaseQuickAdapter<T> {
         if (clickListener == null) {
             //如果没有设置点击监听，则回调给itemProvider
             //Callback to itemProvider if no click listener is set
-            helper.itemView.setOnClickListener(new View.OnClickListener() {
-                @Override
-                public void onClick(View v) {
-                    int position = helper.getAdapterPosition();
-                    if (position == RecyclerView.NO_POSITION) {
-                        return;
-                    }
-                    position -= getHeaderCount();
-
-                    int itemViewType = helper.getItemViewType();
-                    BaseItemProvider provider = mItemProviders.get(itemViewType);
-
-                    provider.onClick(helper, mData.get(position), position);
-                }
-            });
+            setClickDispatcher(helper.itemView, helper, mProviderClickDispatcher);
         }
 
         if (longClickListener == null) {
             //如果没有设置长按监听，则回调给itemProvider
             // If you do not set a long press listener, callback to the itemProvider
-            helper.itemView.setOnLongClickListener(new View.OnLongClickListener() {
-                @Override
-                public boolean onLongClick(View v) {
-                    int position = helper.getAdapterPosition();
-                    if (position == RecyclerView.NO_POSITION) {
-                        return false;
-                    }
-                    position -= getHeaderCount();
-
-                    int itemViewType = helper.getItemViewType();
-                    BaseItemProvider provider = mItemProviders.get(itemViewType);
-                    return provider.onLongClick(helper, mData.get(position), position);
-                }
-            });
+            setLongClickDispatcher(helper.itemView, helper, mProviderLongClickDispatcher);
         }
     }
 
+    /**
+     * Click listeners shared by the item views, the holder is read from the view tag
+     */
+    private final View.OnClickListener mProviderClickDispatcher = new View.OnClickListener() {
+        @Override
+        public void onClick(View v) {
+            int position = getTaggedDataPosition(v);
+            if (position == RecyclerView.NO_POSITION) {
+                return;
+            }
+            ViewHolder helper = (ViewHolder) v.getTag(R.id.BaseQuickAdapter_viewholder_support);
+
+            int itemViewType = helper.getItemViewType();
+            BaseItemProvider provider = mItemProviders.get(itemViewType);
+
+            provider.onClick(helper, mData.get(position), position);
+        }
+    };
+
+    private final View.OnLongClickListener mProviderLongClickDispatcher = new View.OnLongClickListener() {
+        @Override
+        public boolean onLongClick(View v) {
+            int position = getTaggedDataPosition(v);
+            if (position == RecyclerView.NO_POSITION) {
+                return false;
+            }
+            ViewHolder helper = (ViewHolder) v.getTag(R.id.BaseQuickAdapter_viewholder_support);
+
+            int itemViewType = helper.getItemViewType();
+            BaseItemProvider provider = mItemProviders.get(itemViewType);
+            return provider.onLongClick(helper, mData.get(position), position);
+        }
+    };
+
     public void setMultiTypeDelegate(MultiTypeDelegate<T> multiTypeDelegate) {
         mMultiTypeDelegate = multiTypeDelegate;
     }
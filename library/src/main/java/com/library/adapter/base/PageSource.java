@@ -0,0 +1,31 @@
+package com.library.adapter.base;
+
+import androidx.annotation.NonNull;
+import java.util.List;
+
+/**
+ * Source of the data of a paged {@link BaseQuickAdapter}, the data is loaded a page at a time
+ * when the RecyclerView gets near it.
+ *
+ * @see BaseQuickAdapter#setPageSource(PageSource)
+ */
+public interface PageSource<T> {
+
+    /**
+     * Called on the main thread when the source is set to the adapter.
+     *
+     * @return the total number of items
+     */
+    int getCount();
+
+    /**
+     * Load a page of items. Called on a background thread, a failure can be thrown, the page is
+     * then shown with placeholders until {@link BaseQuickAdapter#retryPageLoading()}.
+     *
+     * @param position position of the first item
+     * @param count    number of items to load
+     * @return the items, count of them
+     */
+    @NonNull
+    List<T> loadRange(int position, int count);
+}
@@ -0,0 +1,169 @@
+package com.library.adapter.base;
+
+import android.os.Handler;
+import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Computes the difference between the data of a {@link BaseQuickAdapter} and a new list on a
+ * background thread, then hands the result back to the adapter on the main thread.
+ * <p>
+ * Only the latest submitted list is applied, results of older submissions are dropped.
+ * <p>
+ * The diff runs against a copy of the adapter data taken on the main thread when the list is
+ * submitted, so the adapter data can still be modified (addData, remove...) while it runs. If
+ * it has been, the result is not dispatched and the new list is applied with a full refresh.
+ *
+ * @see BaseQuickAdapter#submitList(List, Runnable)
+ */
+public class QuickAsyncDiffer<T> {
+
+    private static final Object sExecutorLock = new Object();
+    private static Executor sDiffExecutor = null;
+
+    private final BaseQuickAdapter<T> mAdapter;
+    private final DiffUtil.ItemCallback<T> mItemCallback;
+    private final Executor mBackgroundExecutor;
+    private final Executor mMainThreadExecutor;
+
+    /**
+     * Max generation of currently scheduled runnable
+     */
+    private int mMaxScheduledGeneration;
+
+    public QuickAsyncDiffer(@NonNull BaseQuickAdapter<T> adapter, @NonNull DiffUtil.ItemCallback<T> itemCallback) {
+        this(adapter, itemCallback, null);
+    }
+
+    /**
+     * @param adapter            the adapter to dispatch the result to
+     * @param itemCallback       compares the items of the old and the new list
+     * @param backgroundExecutor executor the diff is computed on, null to use a shared executor
+     */
+    public QuickAsyncDiffer(@NonNull BaseQuickAdapter<T> adapter, @NonNull DiffUtil.ItemCallback<T> itemCallback,
+                            @Nullable Executor backgroundExecutor) {
+        mAdapter = adapter;
+        mItemCallback = itemCallback;
+        mBackgroundExecutor = backgroundExecutor == null ? getDefaultDiffExecutor() : backgroundExecutor;
+        mMainThreadExecutor = new MainThreadExecutor();
+    }
+
+    private static Executor getDefaultDiffExecutor() {
+        synchronized (sExecutorLock) {
+            if (sDiffExecutor == null) {
+                sDiffExecutor = Executors.newFixedThreadPool(2);
+            }
+        }
+        return sDiffExecutor;
+    }
+
+    @NonNull
+    public DiffUtil.ItemCallback<T> getItemCallback() {
+        return mItemCallback;
+    }
+
+    /**
+     * Drop the result of the diff that is currently running, if any.
+     * Called when the adapter data is replaced without diffing.
+     */
+    public void cancel() {
+        mMaxScheduledGeneration++;
+    }
+
+    /**
+     * Pass a new list to the adapter. The adapter data is not changed before the diff is
+     * calculated, don't modify the list passed in afterwards. The adapter data is copied here,
+     * on the main thread, and the diff is computed against the copy.
+     *
+     * @param newList        the new list, null is the same as an empty list
+     * @param commitCallback optional runnable executed once the new list has been committed
+     */
+    public void submitList(@Nullable List<T> newList, @Nullable final Runnable commitCallback) {
+        final int runGeneration = ++mMaxScheduledGeneration;
+        final List<T> oldList = mAdapter.getData();
+        if (newList == oldList) {
+            if (commitCallback != null) {
+                commitCallback.run();
+            }
+            return;
+        }
+        final List<T> targetList = newList == null ? new ArrayList<T>() : newList;
+        // the items of a paged list are not all in memory, diff from nothing and refresh instead
+        final List<T> oldItems = mAdapter.isPaged() ? new ArrayList<T>() : new ArrayList<>(oldList);
+        final int oldSize = oldItems.size();
+        mBackgroundExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                    @Override
+                    public int getOldListSize() {
+                        return oldSize;
+                    }
+
+                    @Override
+                    public int getNewListSize() {
+                        return targetList.size();
+                    }
+
+                    @Override
+                    public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                        T oldItem = oldItems.get(oldItemPosition);
+                        T newItem = targetList.get(newItemPosition);
+                        if (oldItem != null && newItem != null) {
+                            return mItemCallback.areItemsTheSame(oldItem, newItem);
+                        }
+                        return oldItem == null && newItem == null;
+                    }
+
+                    @Override
+                    public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                        T oldItem = oldItems.get(oldItemPosition);
+                        T newItem = targetList.get(newItemPosition);
+                        if (oldItem != null && newItem != null) {
+                            return mItemCallback.areContentsTheSame(oldItem, newItem);
+                        }
+                        return oldItem == null && newItem == null;
+                    }
+
+                    @Nullable
+                    @Override
+                    public Object getChangePayload(int oldItemPosition, int newItemPosition) {
+                        T oldItem = oldItems.get(oldItemPosition);
+                        T newItem = targetList.get(newItemPosition);
+                        if (oldItem != null && newItem != null) {
+                            return mItemCallback.getChangePayload(oldItem, newItem);
+                        }
+                        return null;
+                    }
+                });
+
+                mMainThreadExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mMaxScheduledGeneration == runGeneration) {
+                            mAdapter.applyDiffResult(oldList, oldItems, targetList, result);
+                            if (commitCallback != null) {
+                                commitCallback.run();
+                            }
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    private static class MainThreadExecutor implements Executor {
+        final Handler mHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            mHandler.post(command);
+        }
+    }
+}
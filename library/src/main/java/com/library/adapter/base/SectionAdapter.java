@@ -0,0 +1,51 @@
+package com.library.adapter.base;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.library.adapter.base.util.SectionIndex;
+
+/**
+ * Adapter whose data is split into sections by section header items
+ *
+ * @see com.library.adapter.base.decoration.StickySectionDecoration
+ * @see com.library.adapter.base.decoration.SectionIndexBar
+ */
+public interface SectionAdapter {
+
+    /**
+     * @return the view type of the section headers
+     */
+    int getSectionHeaderViewType();
+
+    /**
+     * Bind the section header at the position to a holder of {@link #getSectionHeaderViewType()}
+     * which is not shown by the RecyclerView, like the sticky header. Only the header is bound,
+     * the hooks of a bind by the RecyclerView (load more, metrics...) are not run.
+     *
+     * @param position position in the data of the section header
+     */
+    void bindSectionHeader(@NonNull ViewHolder holder, int position);
+
+    /**
+     * @return the positions of the section headers in the data, up to date with the data
+     */
+    @NonNull
+    SectionIndex getSectionIndex();
+
+    /**
+     * @param position position in the data
+     * @return the section of the item, -1 if it is before the first section header
+     */
+    int getSectionForPosition(int position);
+
+    /**
+     * @return the position in the data of the header of the section
+     */
+    int getPositionForSection(int section);
+
+    /**
+     * @return the label of the section, shown by the SectionIndexBar
+     */
+    @Nullable
+    CharSequence getSectionLabel(int section);
+}
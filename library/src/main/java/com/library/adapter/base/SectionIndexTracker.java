@@ -0,0 +1,123 @@
+package com.library.adapter.base;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+import com.library.adapter.base.util.SectionIndex;
+
+/**
+ * Keep the {@link SectionIndex} of a section adapter up to date with its notifications,
+ * whose positions include the headers of the adapter.
+ */
+final class SectionIndexTracker extends RecyclerView.AdapterDataObserver {
+
+    private final BaseQuickAdapter<?> mAdapter;
+    private final SectionIndex mIndex;
+    /**
+     * number of RecyclerViews the adapter is attached to
+     */
+    private int mAttachedCount;
+    /**
+     * header count of the adapter when the last notification was received
+     */
+    private int mHeaderCount;
+
+    SectionIndexTracker(@NonNull BaseQuickAdapter<?> adapter, @NonNull SectionIndex index) {
+        mAdapter = adapter;
+        mIndex = index;
+    }
+
+    /**
+     * Start observing the adapter, called when it is attached to a RecyclerView. The adapter is
+     * not observed while detached, so that setHasStableIds can still be called.
+     */
+    void onAttached() {
+        if (mAttachedCount++ == 0) {
+            mAdapter.registerAdapterDataObserver(this);
+            mHeaderCount = mAdapter.getHeaderLayoutCount();
+            // changes made while detached were not observed
+            mIndex.setTracking(true);
+        }
+    }
+
+    void onDetached() {
+        if (mAttachedCount > 0 && --mAttachedCount == 0) {
+            mAdapter.unregisterAdapterDataObserver(this);
+            mIndex.setTracking(false);
+        }
+    }
+
+    @Override
+    public void onChanged() {
+        mHeaderCount = mAdapter.getHeaderLayoutCount();
+        mIndex.invalidate();
+    }
+
+    @Override
+    public void onItemRangeChanged(int positionStart, int itemCount) {
+        int position = toDataPosition(positionStart, itemCount);
+        if (position != RecyclerView.NO_POSITION && checkDataReadable()) {
+            mIndex.onItemRangeChanged(mAdapter.getData(), position, itemCount);
+        }
+    }
+
+    @Override
+    public void onItemRangeInserted(int positionStart, int itemCount) {
+        int position = toDataPosition(positionStart, itemCount);
+        if (position != RecyclerView.NO_POSITION && checkDataReadable()) {
+            mIndex.onItemRangeInserted(mAdapter.getData(), position, itemCount);
+        }
+    }
+
+    @Override
+    public void onItemRangeRemoved(int positionStart, int itemCount) {
+        int position = toDataPosition(positionStart, itemCount);
+        if (position != RecyclerView.NO_POSITION) {
+            mIndex.onItemRangeRemoved(position, itemCount);
+        }
+    }
+
+    @Override
+    public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+        int from = toDataPosition(fromPosition, itemCount);
+        int to = toDataPosition(toPosition, itemCount);
+        if (from != RecyclerView.NO_POSITION && to != RecyclerView.NO_POSITION && checkDataReadable()) {
+            mIndex.onItemRangeMoved(mAdapter.getData(), from, to, itemCount);
+        }
+    }
+
+    /**
+     * The index reads the items of an insert, a change or a move from the data at the positions
+     * of the notification. The notifications of a batch transaction or a diff are dispatched
+     * after the data has changed further, the index is read again instead.
+     *
+     * @return true if the data can be read at the positions of the notification
+     */
+    private boolean checkDataReadable() {
+        if (mAdapter.isDispatchingRecordedUpdates()) {
+            mIndex.invalidate();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the position of the range in the data, NO_POSITION if the range is not in the data
+     */
+    private int toDataPosition(int positionStart, int itemCount) {
+        int headerCount = mAdapter.getHeaderLayoutCount();
+        if (headerCount != mHeaderCount) {
+            // a header was added or removed, the count is already the one after the change so
+            // the positions of the notification can't be mapped to the data
+            mHeaderCount = headerCount;
+            mIndex.invalidate();
+            return RecyclerView.NO_POSITION;
+        }
+        int position = positionStart - headerCount;
+        if (position + itemCount <= 0) {
+            // the headers
+            return RecyclerView.NO_POSITION;
+        }
+        // ranges past the data, the footers and the load more view, are dropped by the index
+        return position;
+    }
+}
@@ -0,0 +1,182 @@
+package com.library.adapter.base;
+
+import android.util.SparseArray;
+import androidx.annotation.NonNull;
+import java.util.Arrays;
+
+/**
+ * {@link AdapterMetrics} keeping counts, total durations and duration histograms per view type.
+ * <p>
+ * The histograms have {@link #BUCKET_COUNT} buckets of powers of two microseconds: bucket 0 counts
+ * the calls under 1us, bucket i the calls in [2^(i-1), 2^i)us, the last one everything above.
+ * Not thread safe, read it on the main thread.
+ */
+public class SimpleAdapterMetrics implements AdapterMetrics {
+
+    public static final int BUCKET_COUNT = 20;
+
+    private final SparseArray<TypeMetrics> mTypes = new SparseArray<>();
+
+    @Override
+    public void onViewHolderCreated(int viewType, long durationNanos) {
+        TypeMetrics metrics = obtain(viewType);
+        metrics.createCount++;
+        metrics.createNanos += durationNanos;
+        metrics.createHistogram[bucketOf(durationNanos)]++;
+    }
+
+    @Override
+    public void onViewHolderBound(int viewType, boolean partial, long durationNanos) {
+        TypeMetrics metrics = obtain(viewType);
+        metrics.bindCount++;
+        metrics.bindNanos += durationNanos;
+        metrics.bindHistogram[bucketOf(durationNanos)]++;
+        if (partial) {
+            metrics.partialBindCount++;
+        }
+    }
+
+    @Override
+    public void onItemViewTypeResolved(int viewType, long durationNanos) {
+        TypeMetrics metrics = obtain(viewType);
+        metrics.resolveCount++;
+        metrics.resolveNanos += durationNanos;
+    }
+
+    private TypeMetrics obtain(int viewType) {
+        TypeMetrics metrics = mTypes.get(viewType);
+        if (metrics == null) {
+            metrics = new TypeMetrics();
+            mTypes.put(viewType, metrics);
+        }
+        return metrics;
+    }
+
+    private static int bucketOf(long durationNanos) {
+        long micros = durationNanos / 1000;
+        if (micros <= 0) {
+            return 0;
+        }
+        int bucket = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(bucket, BUCKET_COUNT - 1);
+    }
+
+    /**
+     * @return the view types seen so far
+     */
+    @NonNull
+    public int[] getViewTypes() {
+        int[] types = new int[mTypes.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = mTypes.keyAt(i);
+        }
+        return types;
+    }
+
+    public int getCreateCount(int viewType) {
+        TypeMetrics metrics = mTypes.get(viewType);
+        return metrics == null ? 0 : metrics.createCount;
+    }
+
+    public long getCreateNanos(int viewType) {
+        TypeMetrics metrics = mTypes.get(viewType);
+        return metrics == null ? 0 : metrics.createNanos;
+    }
+
+    /**
+     * @return number of binds, full and partial
+     */
+    public int getBindCount(int viewType) {
+        TypeMetrics metrics = mTypes.get(viewType);
+        return metrics == null ? 0 : metrics.bindCount;
+    }
+
+    /**
+     * @return number of binds with payloads
+     */
+    public int getPartialBindCount(int viewType) {
+        TypeMetrics metrics = mTypes.get(viewType);
+        return metrics == null ? 0 : metrics.partialBindCount;
+    }
+
+    public long getBindNanos(int viewType) {
+        TypeMetrics metrics = mTypes.get(viewType);
+        return metrics == null ? 0 : metrics.bindNanos;
+    }
+
+    public int getResolveCount(int viewType) {
+        TypeMetrics metrics = mTypes.get(viewType);
+        return metrics == null ? 0 : metrics.resolveCount;
+    }
+
+    public long getResolveNanos(int viewType) {
+        TypeMetrics metrics = mTypes.get(viewType);
+        return metrics == null ? 0 : metrics.resolveNanos;
+    }
+
+    /**
+     * @return copy of the histogram of the create durations
+     */
+    @NonNull
+    public int[] getCreateHistogram(int viewType) {
+        TypeMetrics metrics = mTypes.get(viewType);
+        return metrics == null ? new int[BUCKET_COUNT] : metrics.createHistogram.clone();
+    }
+
+    /**
+     * @return copy of the histogram of the bind durations
+     */
+    @NonNull
+    public int[] getBindHistogram(int viewType) {
+        TypeMetrics metrics = mTypes.get(viewType);
+        return metrics == null ? new int[BUCKET_COUNT] : metrics.bindHistogram.clone();
+    }
+
+    /**
+     * @return the share of the binds with payloads among all binds, of all view types
+     */
+    public float getPartialBindRatio() {
+        int binds = 0;
+        int partialBinds = 0;
+        for (int i = 0; i < mTypes.size(); i++) {
+            binds += mTypes.valueAt(i).bindCount;
+            partialBinds += mTypes.valueAt(i).partialBindCount;
+        }
+        return binds == 0 ? 0f : (float) partialBinds / binds;
+    }
+
+    public void reset() {
+        mTypes.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("SimpleAdapterMetrics{");
+        for (int i = 0; i < mTypes.size(); i++) {
+            TypeMetrics metrics = mTypes.valueAt(i);
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append("type ").append(mTypes.keyAt(i))
+                    .append(": create ").append(metrics.createCount).append('/')
+                    .append(metrics.createNanos / 1000).append("us")
+                    .append(", bind ").append(metrics.bindCount).append('/')
+                    .append(metrics.bindNanos / 1000).append("us")
+                    .append(" (").append(metrics.partialBindCount).append(" partial)")
+                    .append(", bind histogram ").append(Arrays.toString(metrics.bindHistogram));
+        }
+        return builder.append('}').toString();
+    }
+
+    private static final class TypeMetrics {
+        int createCount;
+        long createNanos;
+        int bindCount;
+        int partialBindCount;
+        long bindNanos;
+        int resolveCount;
+        long resolveNanos;
+        final int[] createHistogram = new int[BUCKET_COUNT];
+        final int[] bindHistogram = new int[BUCKET_COUNT];
+    }
+}
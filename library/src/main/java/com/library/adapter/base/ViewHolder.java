@@ -28,6 +28,7 @@ import android.widget.Adapter;
 import android.widget.AdapterView;
 import android.widget.Checkable;
 import android.widget.CompoundButton;
+import android.widget.EditText;
 import android.widget.ImageView;
 import android.widget.ProgressBar;
 import android.widget.RatingBar;
@@ -35,8 +36,11 @@ import android.widget.TextView;
 import androidx.annotation.ColorInt;
 import androidx.annotation.DrawableRes;
 import androidx.annotation.IdRes;
+import androidx.annotation.NonNull;
 import androidx.annotation.StringRes;
 import androidx.recyclerview.widget.RecyclerView;
+import com.library.adapter.base.util.TextPrecomputer;
+import com.library.adapter.base.util.ViewSlots;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -48,10 +52,20 @@ import java.util.Set;
 public class ViewHolder extends RecyclerView.ViewHolder {
 
     /**
-     * Views indexed with their IDs
+     * Views indexed with their IDs. With declared ids, null values are ids missing from the item
+     * view, otherwise missing ids are looked up again.
      */
     private final SparseArray<View> views;
 
+    /**
+     * slots of the ids declared for the view type, see {@link BaseQuickAdapter#setItemViewIds(int, int...)}
+     */
+    private ViewSlots viewSlots;
+    /**
+     * Views indexed with their slots
+     */
+    private View[] slotViews;
+
     public Set<Integer> getNestViews() {
         return nestViews;
     }
@@ -73,6 +87,20 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      */
     private Object associatedObject;
 
+    private static final int MEMO_TEXT_RES = 0;
+    private static final int MEMO_TEXT_COLOR = 1;
+    private static final int MEMO_VISIBILITY = 2;
+    private static final int MEMO_IMAGE_RES = 3;
+    private static final int MEMO_BACKGROUND_COLOR = 4;
+    private static final int MEMO_BACKGROUND_RES = 5;
+    private static final int MEMO_ENABLED = 6;
+    private static final int MEMO_COUNT = 7;
+
+    /**
+     * Values last applied by the setters indexed with the view IDs, null if memoization is disabled
+     */
+    private SparseArray<MemoizedValues> memoizedValues;
+
 
     public ViewHolder(final View view) {
         super(view);
@@ -111,12 +139,60 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      * @return The BaseViewHolder for chaining.
      */
     public void setText(@IdRes int viewId, CharSequence value) {
-        TextView view = getView(viewId);
+        applyText((TextView) getView(viewId), viewId, value);
+    }
+
+    /**
+     * Same as {@link #setText(int, CharSequence)} for the view of a declared id.
+     *
+     * @param slot index of the id in the ids declared with {@link BaseQuickAdapter#setItemViewIds(int, int...)}
+     */
+    public void setTextAt(int slot, CharSequence value) {
+        applyText((TextView) getViewAt(slot), viewSlots.getId(slot), value);
+    }
+
+    private void applyText(TextView view, @IdRes int viewId, CharSequence value) {
+        if (memoizedValues != null) {
+            MemoizedValues values = getMemoizedValues(viewId);
+            values.forget(MEMO_TEXT_RES);
+            // only immutable text the user can't edit is memoized
+            if (value instanceof String && !(view instanceof EditText)) {
+                if (value.equals(values.text)) {
+                    return;
+                }
+                values.text = (String) value;
+            } else {
+                values.text = null;
+            }
+        }
+        TextPrecomputer textPrecomputer = adapter == null ? null : adapter.getTextPrecomputer();
+        if (textPrecomputer != null && textPrecomputer.apply(view, viewId, value)) {
+            return;
+        }
         view.setText(value);
     }
 
     public void setText(@IdRes int viewId, @StringRes int strId) {
-        TextView view = getView(viewId);
+        applyText((TextView) getView(viewId), viewId, strId);
+    }
+
+    /**
+     * Same as {@link #setText(int, int)} for the view of a declared id.
+     *
+     * @param slot index of the id in the ids declared with {@link BaseQuickAdapter#setItemViewIds(int, int...)}
+     */
+    public void setTextAt(int slot, @StringRes int strId) {
+        applyText((TextView) getViewAt(slot), viewSlots.getId(slot), strId);
+    }
+
+    private void applyText(TextView view, @IdRes int viewId, @StringRes int strId) {
+        if (memoizedValues != null) {
+            MemoizedValues values = getMemoizedValues(viewId);
+            values.text = null;
+            if (!(view instanceof EditText) && values.isApplied(MEMO_TEXT_RES, strId)) {
+                return;
+            }
+        }
         view.setText(strId);
     }
 
@@ -128,10 +204,26 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      * @return The BaseViewHolder for chaining.
      */
     public void setImageResource(@IdRes int viewId, @DrawableRes int imageResId) {
+        if (isMemoized(viewId, MEMO_IMAGE_RES, imageResId)) {
+            return;
+        }
         ImageView view = getView(viewId);
         view.setImageResource(imageResId);
     }
 
+    /**
+     * Same as {@link #setImageResource(int, int)} for the view of a declared id.
+     *
+     * @param slot index of the id in the ids declared with {@link BaseQuickAdapter#setItemViewIds(int, int...)}
+     */
+    public void setImageResourceAt(int slot, @DrawableRes int imageResId) {
+        if (isMemoized(viewSlots.getId(slot), MEMO_IMAGE_RES, imageResId)) {
+            return;
+        }
+        ImageView view = getViewAt(slot);
+        view.setImageResource(imageResId);
+    }
+
     /**
      * Will set background color of a view.
      *
@@ -140,10 +232,29 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      * @return The BaseViewHolder for chaining.
      */
     public void setBackgroundColor(@IdRes int viewId, @ColorInt int color) {
+        forgetMemoized(viewId, MEMO_BACKGROUND_RES);
+        if (isMemoized(viewId, MEMO_BACKGROUND_COLOR, color)) {
+            return;
+        }
         View view = getView(viewId);
         view.setBackgroundColor(color);
     }
 
+    /**
+     * Same as {@link #setBackgroundColor(int, int)} for the view of a declared id.
+     *
+     * @param slot index of the id in the ids declared with {@link BaseQuickAdapter#setItemViewIds(int, int...)}
+     */
+    public void setBackgroundColorAt(int slot, @ColorInt int color) {
+        int viewId = viewSlots.getId(slot);
+        forgetMemoized(viewId, MEMO_BACKGROUND_RES);
+        if (isMemoized(viewId, MEMO_BACKGROUND_COLOR, color)) {
+            return;
+        }
+        View view = getViewAt(slot);
+        view.setBackgroundColor(color);
+    }
+
     /**
      * Will set background of a view.
      *
@@ -152,10 +263,29 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      * @return The BaseViewHolder for chaining.
      */
     public void setBackgroundRes(@IdRes int viewId, @DrawableRes int backgroundRes) {
+        forgetMemoized(viewId, MEMO_BACKGROUND_COLOR);
+        if (isMemoized(viewId, MEMO_BACKGROUND_RES, backgroundRes)) {
+            return;
+        }
         View view = getView(viewId);
         view.setBackgroundResource(backgroundRes);
     }
 
+    /**
+     * Same as {@link #setBackgroundRes(int, int)} for the view of a declared id.
+     *
+     * @param slot index of the id in the ids declared with {@link BaseQuickAdapter#setItemViewIds(int, int...)}
+     */
+    public void setBackgroundResAt(int slot, @DrawableRes int backgroundRes) {
+        int viewId = viewSlots.getId(slot);
+        forgetMemoized(viewId, MEMO_BACKGROUND_COLOR);
+        if (isMemoized(viewId, MEMO_BACKGROUND_RES, backgroundRes)) {
+            return;
+        }
+        View view = getViewAt(slot);
+        view.setBackgroundResource(backgroundRes);
+    }
+
     /**
      * Will set text color of a TextView.
      *
@@ -164,10 +294,26 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      * @return The BaseViewHolder for chaining.
      */
     public void setTextColor(@IdRes int viewId, @ColorInt int textColor) {
+        if (isMemoized(viewId, MEMO_TEXT_COLOR, textColor)) {
+            return;
+        }
         TextView view = getView(viewId);
         view.setTextColor(textColor);
     }
 
+    /**
+     * Same as {@link #setTextColor(int, int)} for the view of a declared id.
+     *
+     * @param slot index of the id in the ids declared with {@link BaseQuickAdapter#setItemViewIds(int, int...)}
+     */
+    public void setTextColorAt(int slot, @ColorInt int textColor) {
+        if (isMemoized(viewSlots.getId(slot), MEMO_TEXT_COLOR, textColor)) {
+            return;
+        }
+        TextView view = getViewAt(slot);
+        view.setTextColor(textColor);
+    }
+
 
     /**
      * Will set the image of an ImageView from a drawable.
@@ -177,14 +323,27 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      * @return The BaseViewHolder for chaining.
      */
     public void setImageDrawable(@IdRes int viewId, Drawable drawable) {
+        forgetMemoized(viewId, MEMO_IMAGE_RES);
         ImageView view = getView(viewId);
         view.setImageDrawable(drawable);
     }
 
+    /**
+     * Same as {@link #setImageDrawable(int, Drawable)} for the view of a declared id.
+     *
+     * @param slot index of the id in the ids declared with {@link BaseQuickAdapter#setItemViewIds(int, int...)}
+     */
+    public void setImageDrawableAt(int slot, Drawable drawable) {
+        forgetMemoized(viewSlots.getId(slot), MEMO_IMAGE_RES);
+        ImageView view = getViewAt(slot);
+        view.setImageDrawable(drawable);
+    }
+
     /**
      * Add an action to set the image of an image view. Can be called multiple times.
      */
     public void setImageBitmap(@IdRes int viewId, Bitmap bitmap) {
+        forgetMemoized(viewId, MEMO_IMAGE_RES);
         ImageView view = getView(viewId);
         view.setImageBitmap(bitmap);
     }
@@ -210,8 +369,7 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      *
      */
     public void setGone(@IdRes int viewId, boolean gone) {
-        View view = getView(viewId);
-        view.setVisibility(gone ? View.GONE : View.VISIBLE);
+        setVisibility(viewId, gone ? View.GONE : View.VISIBLE);
     }
 
     /**
@@ -219,13 +377,45 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      *
      */
     public void setVisible(@IdRes int viewId, boolean visible) {
-        View view = getView(viewId);
-        view.setVisibility(visible ? View.VISIBLE : View.GONE);
+        setVisibility(viewId, visible ? View.VISIBLE : View.GONE);
     }
 
     public void setInVisible(@IdRes int viewId, boolean invisible){
+        setVisibility(viewId, invisible ? View.VISIBLE : View.GONE);
+    }
+
+    private void setVisibility(@IdRes int viewId, int visibility) {
+        if (isMemoized(viewId, MEMO_VISIBILITY, visibility)) {
+            return;
+        }
         View view = getView(viewId);
-        view.setVisibility(invisible ? View.VISIBLE : View.GONE);
+        view.setVisibility(visibility);
+    }
+
+    /**
+     * Same as {@link #setGone(int, boolean)} for the view of a declared id.
+     *
+     * @param slot index of the id in the ids declared with {@link BaseQuickAdapter#setItemViewIds(int, int...)}
+     */
+    public void setGoneAt(int slot, boolean gone) {
+        setVisibilityAt(slot, gone ? View.GONE : View.VISIBLE);
+    }
+
+    /**
+     * Same as {@link #setVisible(int, boolean)} for the view of a declared id.
+     *
+     * @param slot index of the id in the ids declared with {@link BaseQuickAdapter#setItemViewIds(int, int...)}
+     */
+    public void setVisibleAt(int slot, boolean visible) {
+        setVisibilityAt(slot, visible ? View.VISIBLE : View.GONE);
+    }
+
+    private void setVisibilityAt(int slot, int visibility) {
+        if (isMemoized(viewSlots.getId(slot), MEMO_VISIBILITY, visibility)) {
+            return;
+        }
+        View view = getViewAt(slot);
+        view.setVisibility(visibility);
     }
 
     /**
@@ -235,6 +425,11 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      * @return The BaseViewHolder for chaining.
      */
     public void linkify(@IdRes int viewId) {
+        if (memoizedValues != null) {
+            MemoizedValues values = getMemoizedValues(viewId);
+            values.text = null;
+            values.forget(MEMO_TEXT_RES);
+        }
         TextView view = getView(viewId);
         Linkify.addLinks(view, Linkify.ALL);
     }
@@ -345,28 +540,28 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      * <p>
      * or if you can use  recyclerView.addOnItemTouch(listerer)  wo also support this menthod
      */
-    @SuppressWarnings("unchecked")
     public void addOnClickListener(@IdRes final int ...viewIds) {
         for (int viewId : viewIds) {
+            addOnClickListener(viewId);
+        }
+    }
+
+    /**
+     * add childView id, the adapter listener is set once per view so calling it
+     * from convert costs nothing after the first bind
+     *
+     * @param viewId add the child view id can support childview click
+     */
+    public void addOnClickListener(@IdRes int viewId) {
+        final View view = getView(viewId);
+        if (view == null || adapter == null) {
             childClickViewIds.add(viewId);
-            final View view = getView(viewId);
-            if (view != null) {
-                if (!view.isClickable()) {
-                    view.setClickable(true);
-                }
-                view.setOnClickListener(new View.OnClickListener() {
-                    @Override
-                    public void onClick(View v) {
-                        if (adapter.getOnItemChildClickListener() != null) {
-                            int position = getAdapterPosition();
-                            if (position == RecyclerView.NO_POSITION) {
-                                return;
-                            }
-                            position -= adapter.getHeaderCount();
-                            adapter.getOnItemChildClickListener().onItemChildClick(adapter, v, position);
-                        }
-                    }
-                });
+            return;
+        }
+        if (adapter.setItemChildClickDispatcher(view, this)) {
+            childClickViewIds.add(viewId);
+            if (!view.isClickable()) {
+                view.setClickable(true);
             }
         }
     }
@@ -395,29 +590,28 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      * <p>
      * or if you can use  recyclerView.addOnItemTouch(listerer)  wo also support this menthod
      */
-    @SuppressWarnings("unchecked")
     public void addOnLongClickListener(@IdRes final int ... viewIds) {
         for (int viewId : viewIds) {
+            addOnLongClickListener(viewId);
+        }
+    }
+
+    /**
+     * add long click view id, the adapter listener is set once per view so calling it
+     * from convert costs nothing after the first bind
+     *
+     * @param viewId add the child view id can support childview long click
+     */
+    public void addOnLongClickListener(@IdRes int viewId) {
+        final View view = getView(viewId);
+        if (view == null || adapter == null) {
             itemChildLongClickViewIds.add(viewId);
-            final View view = getView(viewId);
-            if (view != null) {
-                if (!view.isLongClickable()) {
-                    view.setLongClickable(true);
-                }
-                view.setOnLongClickListener(new View.OnLongClickListener() {
-                    @Override
-                    public boolean onLongClick(View v) {
-                        if (adapter.getOnItemChildLongClickListener() == null) {
-                            return false;
-                        }
-                        int position = getAdapterPosition();
-                        if (position == RecyclerView.NO_POSITION) {
-                            return false;
-                        }
-                        position -= adapter.getHeaderCount();
-                        return adapter.getOnItemChildLongClickListener().onItemChildLongClick(adapter, v, position);
-                    }
-                });
+            return;
+        }
+        if (adapter.setItemChildLongClickDispatcher(view, this)) {
+            itemChildLongClickViewIds.add(viewId);
+            if (!view.isLongClickable()) {
+                view.setLongClickable(true);
             }
         }
     }
@@ -547,10 +741,26 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      * @return The BaseViewHolder for chaining.
      */
     public void setEnabled(@IdRes int viewId,boolean enable) {
+        if (isMemoized(viewId, MEMO_ENABLED, enable ? 1 : 0)) {
+            return;
+        }
         View view = getView(viewId);
         view.setEnabled(enable);
     }
 
+    /**
+     * Same as {@link #setEnabled(int, boolean)} for the view of a declared id.
+     *
+     * @param slot index of the id in the ids declared with {@link BaseQuickAdapter#setItemViewIds(int, int...)}
+     */
+    public void setEnabledAt(int slot, boolean enable) {
+        if (isMemoized(viewSlots.getId(slot), MEMO_ENABLED, enable ? 1 : 0)) {
+            return;
+        }
+        View view = getViewAt(slot);
+        view.setEnabled(enable);
+    }
+
     /**
      * Sets the adapter of a adapter view.
      *
@@ -572,18 +782,166 @@ public class ViewHolder extends RecyclerView.ViewHolder {
      */
     protected void setAdapter(BaseQuickAdapter adapter) {
         this.adapter = adapter;
+        // ids added before the holder had an adapter, from its constructor or onCreateDefViewHolder
+        for (int viewId : childClickViewIds) {
+            View view = getView(viewId);
+            if (view != null && adapter.setItemChildClickDispatcher(view, this) && !view.isClickable()) {
+                view.setClickable(true);
+            }
+        }
+        for (int viewId : itemChildLongClickViewIds) {
+            View view = getView(viewId);
+            if (view != null && adapter.setItemChildLongClickDispatcher(view, this) && !view.isLongClickable()) {
+                view.setLongClickable(true);
+            }
+        }
+    }
+
+    /**
+     * @return the adapter which created or last bound the holder
+     */
+    BaseQuickAdapter getQuickAdapter() {
+        return adapter;
     }
 
     @SuppressWarnings("unchecked")
     public <T extends View> T getView(@IdRes int viewId) {
+        if (viewSlots != null) {
+            int slot = viewSlots.indexOf(viewId);
+            if (slot >= 0) {
+                return (T) slotViews[slot];
+            }
+        }
         View view = views.get(viewId);
-        if (view == null) {
+        // with declared ids the item view is expected to be complete, a missing id is remembered
+        if (view == null && (viewSlots == null || views.indexOfKey(viewId) < 0)) {
             view = itemView.findViewById(viewId);
             views.put(viewId, view);
         }
         return (T) view;
     }
 
+    /**
+     * Get the view of a declared id by its slot, an array read.
+     *
+     * @param slot index of the id in the ids declared with {@link BaseQuickAdapter#setItemViewIds(int, int...)}
+     * @return the view, null if the id is missing from the item view
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends View> T getViewAt(int slot) {
+        if (slotViews == null) {
+            throw new IllegalStateException("please use BaseQuickAdapter#setItemViewIds first!");
+        }
+        return (T) slotViews[slot];
+    }
+
+    /**
+     * Resolve the views of the declared ids once, {@link #getView(int)} then reads them
+     * from an array.
+     *
+     * @param slots the ids declared for the view type of the holder
+     */
+    void setViewSlots(@NonNull ViewSlots slots) {
+        View[] resolved = new View[slots.size()];
+        for (int i = 0; i < resolved.length; i++) {
+            resolved[i] = itemView.findViewById(slots.getId(i));
+        }
+        slotViews = resolved;
+        viewSlots = slots;
+    }
+
+    /**
+     * Forget the views found so far, for item views whose hierarchy changes after creation
+     * (a ViewStub inflated, views added or removed...). With ids declared by
+     * {@link BaseQuickAdapter#setItemViewIds(int, int...)}, ids missing from the item view are
+     * not looked up again until then.
+     */
+    public void invalidateViews() {
+        views.clear();
+        if (viewSlots != null) {
+            setViewSlots(viewSlots);
+        }
+    }
+
+    /**
+     * Skip the setters whose value is already the one last applied to the view by this holder:
+     * text (String only), text resource, text color, visibility, image resource, background
+     * color and resource, enabled state. The views of a recycled holder keep their values, so
+     * rebinding mostly the same data doesn't trigger layout passes.
+     * <p>
+     * The holder only knows the values it applied, call {@link #clearMemoizedValues()} after
+     * changing one of those properties on the views directly.
+     *
+     * @param enabled false by default
+     */
+    public void setValueMemoizationEnabled(boolean enabled) {
+        if (enabled == (memoizedValues != null)) {
+            return;
+        }
+        memoizedValues = enabled ? new SparseArray<MemoizedValues>() : null;
+    }
+
+    public boolean isValueMemoizationEnabled() {
+        return memoizedValues != null;
+    }
+
+    /**
+     * Forget the values last applied by the setters, the next calls are applied to the views.
+     */
+    public void clearMemoizedValues() {
+        if (memoizedValues != null) {
+            memoizedValues.clear();
+        }
+    }
+
+    private MemoizedValues getMemoizedValues(@IdRes int viewId) {
+        MemoizedValues values = memoizedValues.get(viewId);
+        if (values == null) {
+            values = new MemoizedValues();
+            memoizedValues.put(viewId, values);
+        }
+        return values;
+    }
+
+    /**
+     * @return true if the value was the last one applied, otherwise remember it
+     */
+    private boolean isMemoized(@IdRes int viewId, int property, int value) {
+        return memoizedValues != null && getMemoizedValues(viewId).isApplied(property, value);
+    }
+
+    private void forgetMemoized(@IdRes int viewId, int property) {
+        if (memoizedValues != null) {
+            MemoizedValues values = memoizedValues.get(viewId);
+            if (values != null) {
+                values.forget(property);
+            }
+        }
+    }
+
+    private static final class MemoizedValues {
+        final int[] values = new int[MEMO_COUNT];
+        /**
+         * bits of the properties with a value
+         */
+        int known;
+        String text;
+
+        boolean isApplied(int property, int value) {
+            int bit = 1 << property;
+            if ((known & bit) != 0 && values[property] == value) {
+                return true;
+            }
+            known |= bit;
+            values[property] = value;
+            return false;
+        }
+
+        void forget(int property) {
+            known &= ~(1 << property);
+        }
+    }
+
     /**
      * Retrieves the last converted object on this view.
      */
@@ -600,6 +958,6 @@ public class ViewHolder extends RecyclerView.ViewHolder {
 
 
     public int getDataPosition(){
-        return getAdapterPosition() - adapter.getHeaderCount();
+        return adapter.getDataPosition(getAdapterPosition());
     }
 }
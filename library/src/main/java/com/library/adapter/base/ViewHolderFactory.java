@@ -0,0 +1,22 @@
+package com.library.adapter.base;
+
+import android.view.View;
+import androidx.annotation.NonNull;
+
+/**
+ * Create the {@link ViewHolder} of an item view without reflection.
+ * <p>
+ * By default {@link BaseQuickAdapter} resolves the ViewHolder subclass from the generic
+ * parameter of the adapter, set a factory to skip it.
+ *
+ * @see BaseQuickAdapter#setViewHolderFactory(ViewHolderFactory)
+ */
+public interface ViewHolderFactory {
+
+    /**
+     * @param view the item view
+     * @return new ViewHolder holding the view
+     */
+    @NonNull
+    ViewHolder createViewHolder(@NonNull View view);
+}
@@ -51,8 +51,8 @@ public class GridSpaceDecoration extends RecyclerView.ItemDecoration{
 
         int headerCount = 0,footerCount = 0;
         if (parent.getAdapter() instanceof BaseQuickAdapter){
-            headerCount = ((BaseQuickAdapter) parent.getAdapter()).getHeaderCount();
-            footerCount = ((BaseQuickAdapter) parent.getAdapter()).getFooterCount();
+            headerCount = ((BaseQuickAdapter) parent.getAdapter()).getHeaderLayoutCount();
+            footerCount = ((BaseQuickAdapter) parent.getAdapter()).getFooterLayoutCount();
         }
 
         //头部不绘制
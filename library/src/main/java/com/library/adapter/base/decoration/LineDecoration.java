@@ -1,8 +1,8 @@
 package com.library.adapter.base.decoration;
 
 import android.graphics.Canvas;
+import android.graphics.Paint;
 import android.graphics.Rect;
-import android.graphics.drawable.ColorDrawable;
 import android.view.View;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.GridLayoutManager;
@@ -13,11 +13,14 @@ import androidx.recyclerview.widget.StaggeredGridLayoutManager;
 import com.library.adapter.base.BaseQuickAdapter;
 
 /**
+ * The lines of a frame are collected in a reused array and drawn with a single drawLines call,
+ * the orientation is resolved again only when the LayoutManager lays out new children.
+ *
  * @author MBP
  * @date 2019-11-27
  */
 public class LineDecoration extends RecyclerView.ItemDecoration{
-    private ColorDrawable mColorDrawable;
+    private final Paint mPaint = new Paint();
     private int mHeight;
     private int mPaddingLeft;
     private int mPaddingRight;
@@ -25,12 +28,24 @@ public class LineDecoration extends RecyclerView.ItemDecoration{
     private boolean mDrawAtHeader = false;
     private boolean mDrawAtFooter = false;
 
+    /**
+     * LayoutManager the orientation is of
+     */
+    private RecyclerView.LayoutManager mLayoutManager;
+    private int mOrientation;
+    /**
+     * start and end points of the lines to draw, 4 floats per line
+     */
+    private float[] mLines = new float[64];
+
     public LineDecoration(int color, int height) {
-        this.mColorDrawable = new ColorDrawable(color);
-        this.mHeight = height;
+        this(color, height, 0, 0);
     }
     public LineDecoration(int color, int height, int paddingLeft, int paddingRight) {
-        this.mColorDrawable = new ColorDrawable(color);
+        this.mPaint.setColor(color);
+        this.mPaint.setStyle(Paint.Style.STROKE);
+        this.mPaint.setStrokeCap(Paint.Cap.BUTT);
+        this.mPaint.setStrokeWidth(height);
         this.mHeight = height;
         this.mPaddingLeft = paddingLeft;
         this.mPaddingRight = paddingRight;
@@ -55,20 +70,12 @@ public class LineDecoration extends RecyclerView.ItemDecoration{
             return;
 
         int position = parent.getChildAdapterPosition(view);
-        int orientation = 0;
+        // 布局时更新方向
+        int orientation = resolveOrientation(parent.getLayoutManager());
         int headerCount = 0,footerCount = 0;
         if (parent.getAdapter() instanceof BaseQuickAdapter){
-            headerCount = ((BaseQuickAdapter) parent.getAdapter()).getHeaderCount();
-            footerCount = ((BaseQuickAdapter) parent.getAdapter()).getFooterCount();
-        }
-
-        RecyclerView.LayoutManager layoutManager = parent.getLayoutManager();
-        if (layoutManager instanceof StaggeredGridLayoutManager){
-            orientation = ((StaggeredGridLayoutManager) layoutManager).getOrientation();
-        }else if (layoutManager instanceof GridLayoutManager){
-            orientation = ((GridLayoutManager) layoutManager).getOrientation();
-        }else if (layoutManager instanceof LinearLayoutManager){
-            orientation = ((LinearLayoutManager) layoutManager).getOrientation();
+            headerCount = ((BaseQuickAdapter) parent.getAdapter()).getHeaderLayoutCount();
+            footerCount = ((BaseQuickAdapter) parent.getAdapter()).getFooterLayoutCount();
         }
 
         //头部不绘制
@@ -90,17 +97,31 @@ public class LineDecoration extends RecyclerView.ItemDecoration{
         }
     }
 
+    private int resolveOrientation(RecyclerView.LayoutManager layoutManager) {
+        int orientation = 0;
+        if (layoutManager instanceof StaggeredGridLayoutManager){
+            orientation = ((StaggeredGridLayoutManager) layoutManager).getOrientation();
+        }else if (layoutManager instanceof GridLayoutManager){
+            orientation = ((GridLayoutManager) layoutManager).getOrientation();
+        }else if (layoutManager instanceof LinearLayoutManager){
+            orientation = ((LinearLayoutManager) layoutManager).getOrientation();
+        }
+        mLayoutManager = layoutManager;
+        mOrientation = orientation;
+        return orientation;
+    }
+
+    @Override
     public void onDrawOver(@NonNull Canvas c, RecyclerView parent, @NonNull RecyclerView.State state) {
 
-        if (parent.getAdapter() == null){
+        if (parent.getAdapter() == null || mHeight <= 0){
             return;
         }
 
-        int orientation = 0;
         int headerCount = 0,dataCount;
 
         if (parent.getAdapter() instanceof BaseQuickAdapter){
-            headerCount = ((BaseQuickAdapter) parent.getAdapter()).getHeaderCount();
+            headerCount = ((BaseQuickAdapter) parent.getAdapter()).getHeaderLayoutCount();
             dataCount = ((BaseQuickAdapter) parent.getAdapter()).getData().size();
         }else {
             dataCount = parent.getAdapter().getItemCount();
@@ -108,25 +129,25 @@ public class LineDecoration extends RecyclerView.ItemDecoration{
         int dataStartPosition = headerCount;
         int dataEndPosition = headerCount + dataCount - 1;
 
-
+        // 方向在getItemOffsets中更新, 换了LayoutManager才在这里重新获取
         RecyclerView.LayoutManager layoutManager = parent.getLayoutManager();
-        if (layoutManager instanceof StaggeredGridLayoutManager){
-            orientation = ((StaggeredGridLayoutManager) layoutManager).getOrientation();
-        }else if (layoutManager instanceof GridLayoutManager){
-            orientation = ((GridLayoutManager) layoutManager).getOrientation();
-        }else if (layoutManager instanceof LinearLayoutManager){
-            orientation = ((LinearLayoutManager) layoutManager).getOrientation();
-        }
-        int start,end;
-        if (orientation == OrientationHelper.VERTICAL){
+        int orientation = layoutManager == mLayoutManager ? mOrientation : resolveOrientation(layoutManager);
+        boolean vertical = orientation == OrientationHelper.VERTICAL;
+        float start,end;
+        if (vertical){
             start = parent.getPaddingLeft() + mPaddingLeft;
             end = parent.getWidth() - parent.getPaddingRight() - mPaddingRight;
         }else {
             start = parent.getPaddingTop() + mPaddingLeft;
             end = parent.getHeight() - parent.getPaddingBottom() - mPaddingRight;
         }
+        float half = mHeight / 2f;
 
         int childCount = parent.getChildCount();
+        if (mLines.length < childCount * 4) {
+            mLines = new float[childCount * 8];
+        }
+        int count = 0;
         for (int i = 0; i < childCount; i++) {
             View child = parent.getChildAt(i);
             int position = parent.getChildAdapterPosition(child);
@@ -144,19 +165,23 @@ public class LineDecoration extends RecyclerView.ItemDecoration{
             if(position == dataEndPosition && !mDrawAtLast)
                 continue;
 
-            if (orientation == OrientationHelper.VERTICAL) {
-                RecyclerView.LayoutParams params = (RecyclerView.LayoutParams) child.getLayoutParams();
-                int top = child.getBottom() + params.bottomMargin;
-                int bottom = top + mHeight;
-                mColorDrawable.setBounds(start, top, end, bottom);
-                mColorDrawable.draw(c);
+            RecyclerView.LayoutParams params = (RecyclerView.LayoutParams) child.getLayoutParams();
+            if (vertical) {
+                float y = child.getBottom() + params.bottomMargin + half;
+                mLines[count++] = start;
+                mLines[count++] = y;
+                mLines[count++] = end;
+                mLines[count++] = y;
             } else {
-                RecyclerView.LayoutParams params = (RecyclerView.LayoutParams) child.getLayoutParams();
-                int left = child.getRight() + params.rightMargin;
-                int right = left + mHeight;
-                mColorDrawable.setBounds(left, start, right, end);
-                mColorDrawable.draw(c);
+                float x = child.getRight() + params.rightMargin + half;
+                mLines[count++] = x;
+                mLines[count++] = start;
+                mLines[count++] = x;
+                mLines[count++] = end;
             }
         }
+        if (count > 0) {
+            c.drawLines(mLines, 0, count, mPaint);
+        }
     }
-}
\ No newline at end of file
+}
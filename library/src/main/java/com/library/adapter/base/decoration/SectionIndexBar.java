@@ -0,0 +1,180 @@
+package com.library.adapter.base.decoration;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.view.MotionEvent;
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.StaggeredGridLayoutManager;
+import com.library.adapter.base.BaseQuickAdapter;
+import com.library.adapter.base.SectionAdapter;
+
+/**
+ * Bar of the first letter of the section labels along the right edge of a vertical list, for the adapters
+ * implementing {@link SectionAdapter}. Touching or dragging on the bar jumps to the header of
+ * the section under the finger with scrollToPositionWithOffset, so the items in between are
+ * never laid out. The section of the first visible item is highlighted.
+ * <p>
+ * The bar splits its height evenly between the sections. When there are too many sections for
+ * every label to fit, only every few labels are drawn but every section can still be reached.
+ */
+public class SectionIndexBar extends RecyclerView.ItemDecoration implements RecyclerView.OnItemTouchListener {
+
+    private final int mWidth;
+    private final Paint mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final int mTextColor;
+    private final int mHighlightColor;
+    private final float mTextHeight;
+    private final float mTextCenterOffset;
+
+    private RecyclerView mRecyclerView;
+    private boolean mDragging;
+    private int mJumpSection = -1;
+
+    /**
+     * @param width          width of the bar in pixels
+     * @param textSize       size of the labels in pixels
+     * @param textColor      color of the labels
+     * @param highlightColor color of the label of the current section
+     */
+    public SectionIndexBar(int width, float textSize, @ColorInt int textColor, @ColorInt int highlightColor) {
+        mWidth = width;
+        mTextColor = textColor;
+        mHighlightColor = highlightColor;
+        mPaint.setTextSize(textSize);
+        mPaint.setTextAlign(Paint.Align.CENTER);
+        Paint.FontMetrics metrics = mPaint.getFontMetrics();
+        mTextHeight = metrics.descent - metrics.ascent;
+        mTextCenterOffset = -(metrics.ascent + metrics.descent) / 2;
+    }
+
+    public void attachToRecyclerView(@Nullable RecyclerView recyclerView) {
+        if (mRecyclerView == recyclerView) {
+            return;
+        }
+        if (mRecyclerView != null) {
+            mRecyclerView.removeItemDecoration(this);
+            mRecyclerView.removeOnItemTouchListener(this);
+        }
+        mRecyclerView = recyclerView;
+        mDragging = false;
+        if (recyclerView != null) {
+            recyclerView.addItemDecoration(this);
+            recyclerView.addOnItemTouchListener(this);
+        }
+    }
+
+    @Override
+    public void onDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        SectionAdapter adapter = getSectionAdapter(parent);
+        int count = adapter == null ? 0 : adapter.getSectionIndex().getSectionCount();
+        if (count == 0) {
+            return;
+        }
+        int top = parent.getPaddingTop();
+        float cellHeight = (float) (parent.getHeight() - top - parent.getPaddingBottom()) / count;
+        if (cellHeight <= 0) {
+            return;
+        }
+        int current = mDragging ? mJumpSection : getCurrentSection(parent, adapter);
+        // draw one label every step sections when they don't all fit
+        int step = Math.max(1, (int) Math.ceil(mTextHeight / cellHeight));
+        float x = parent.getWidth() - parent.getPaddingRight() - mWidth / 2f;
+        for (int section = 0; section < count; section++) {
+            boolean highlighted = section == current;
+            if (section % step != 0 && !highlighted) {
+                continue;
+            }
+            CharSequence label = adapter.getSectionLabel(section);
+            if (label == null || label.length() == 0) {
+                continue;
+            }
+            mPaint.setColor(highlighted ? mHighlightColor : mTextColor);
+            float y = top + cellHeight * (section + 0.5f) + mTextCenterOffset;
+            c.drawText(label, 0, Math.min(label.length(), 1), x, y, mPaint);
+        }
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(@NonNull RecyclerView rv, @NonNull MotionEvent e) {
+        if (e.getActionMasked() == MotionEvent.ACTION_DOWN && isOnBar(rv, e)) {
+            mDragging = true;
+            mJumpSection = -1;
+            rv.stopScroll();
+            jump(rv, e.getY());
+            return true;
+        }
+        return mDragging;
+    }
+
+    @Override
+    public void onTouchEvent(@NonNull RecyclerView rv, @NonNull MotionEvent e) {
+        switch (e.getActionMasked()) {
+            case MotionEvent.ACTION_MOVE:
+                jump(rv, e.getY());
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                mDragging = false;
+                rv.invalidate();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void onRequestDisallowInterceptTouchEvent(boolean disallowIntercept) {
+    }
+
+    private boolean isOnBar(@NonNull RecyclerView rv, @NonNull MotionEvent e) {
+        SectionAdapter adapter = getSectionAdapter(rv);
+        return adapter != null && adapter.getSectionIndex().getSectionCount() > 0
+                && e.getX() >= rv.getWidth() - rv.getPaddingRight() - mWidth
+                && e.getX() < rv.getWidth() - rv.getPaddingRight()
+                && e.getY() >= rv.getPaddingTop() && e.getY() < rv.getHeight() - rv.getPaddingBottom();
+    }
+
+    private void jump(@NonNull RecyclerView rv, float y) {
+        SectionAdapter adapter = getSectionAdapter(rv);
+        int count = adapter == null ? 0 : adapter.getSectionIndex().getSectionCount();
+        int height = rv.getHeight() - rv.getPaddingTop() - rv.getPaddingBottom();
+        if (count == 0 || height <= 0) {
+            return;
+        }
+        int section = (int) ((y - rv.getPaddingTop()) * count / height);
+        section = Math.max(0, Math.min(count - 1, section));
+        if (section == mJumpSection) {
+            return;
+        }
+        mJumpSection = section;
+        int position = ((BaseQuickAdapter<?>) adapter).getAdapterPosition(adapter.getPositionForSection(section));
+        RecyclerView.LayoutManager manager = rv.getLayoutManager();
+        if (manager instanceof LinearLayoutManager) {
+            ((LinearLayoutManager) manager).scrollToPositionWithOffset(position, 0);
+        } else if (manager instanceof StaggeredGridLayoutManager) {
+            ((StaggeredGridLayoutManager) manager).scrollToPositionWithOffset(position, 0);
+        } else {
+            rv.scrollToPosition(position);
+        }
+        rv.invalidate();
+    }
+
+    private static int getCurrentSection(@NonNull RecyclerView parent, @NonNull SectionAdapter adapter) {
+        int position = StickySectionDecoration.findFirstVisiblePosition(parent, parent.getPaddingTop());
+        int dataPosition = ((BaseQuickAdapter<?>) adapter).getDataPosition(position);
+        return dataPosition == RecyclerView.NO_POSITION ? -1 : adapter.getSectionForPosition(dataPosition);
+    }
+
+    @Nullable
+    private static SectionAdapter getSectionAdapter(@NonNull RecyclerView parent) {
+        RecyclerView.Adapter<?> adapter = parent.getAdapter();
+        if (adapter instanceof BaseQuickAdapter && adapter instanceof SectionAdapter) {
+            return (SectionAdapter) adapter;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,155 @@
+package com.library.adapter.base.decoration;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.view.View;
+import android.view.ViewGroup;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+import com.library.adapter.base.BaseQuickAdapter;
+import com.library.adapter.base.SectionAdapter;
+import com.library.adapter.base.ViewHolder;
+import com.library.adapter.base.util.SectionIndex;
+
+/**
+ * Draw the header of the section of the first visible item over the top of a vertical list,
+ * pushed up by the header of the next section, for the adapters implementing
+ * {@link SectionAdapter} like BaseSectionQuickAdapter and BaseSectionMultiItemQuickAdapter.
+ * <p>
+ * The section is found with a binary search in the {@link SectionIndex} of the adapter. The
+ * header is bound to a holder of its own only when the section or the data changes, told by the
+ * change count of the index, and drawn from a bitmap of it the rest of the time. The decoration
+ * doesn't observe the adapter, so it can be removed at any time. The sticky header doesn't
+ * receive touch events.
+ */
+public class StickySectionDecoration extends RecyclerView.ItemDecoration {
+
+    /**
+     * adapter the holder was created by
+     */
+    private RecyclerView.Adapter<?> mAdapter;
+    private ViewHolder mHeaderHolder;
+    /**
+     * position in the data of the header bound to the holder
+     */
+    private int mBoundPosition = RecyclerView.NO_POSITION;
+    /**
+     * {@link SectionIndex#getChangeCount()} when the header was bound
+     */
+    private int mBoundChangeCount;
+    private Bitmap mHeaderBitmap;
+
+    @Override
+    public void onDrawOver(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        BaseQuickAdapter<?> adapter = getSectionAdapter(parent);
+        if (adapter == null) {
+            return;
+        }
+        int top = parent.getPaddingTop();
+        int firstPosition = findFirstVisiblePosition(parent, top);
+        int dataPosition = adapter.getDataPosition(firstPosition);
+        if (dataPosition == RecyclerView.NO_POSITION) {
+            return;
+        }
+        SectionIndex index = ((SectionAdapter) adapter).getSectionIndex();
+        int headerPosition = index.getSectionHeaderPosition(dataPosition);
+        if (headerPosition == SectionIndex.NO_POSITION
+                || !SectionIndex.isSectionHeader(adapter.getItem(headerPosition))) {
+            // before the first section, or the data changed and the index is not told yet
+            return;
+        }
+        Bitmap header = getHeaderBitmap(parent, adapter, index, headerPosition);
+        if (header == null) {
+            return;
+        }
+
+        int offset = 0;
+        int nextPosition = index.getNextSectionHeaderPosition(dataPosition);
+        if (nextPosition != SectionIndex.NO_POSITION) {
+            RecyclerView.ViewHolder next = parent.findViewHolderForAdapterPosition(adapter.getAdapterPosition(nextPosition));
+            if (next != null) {
+                int nextTop = next.itemView.getTop() + (int) next.itemView.getTranslationY();
+                offset = Math.min(0, nextTop - top - header.getHeight());
+            }
+        }
+        c.drawBitmap(header, parent.getPaddingLeft(), top + offset, null);
+    }
+
+    @Nullable
+    private BaseQuickAdapter<?> getSectionAdapter(@NonNull RecyclerView parent) {
+        RecyclerView.Adapter<?> adapter = parent.getAdapter();
+        if (adapter != mAdapter) {
+            mAdapter = adapter;
+            mHeaderHolder = null;
+            mBoundPosition = RecyclerView.NO_POSITION;
+        }
+        if (adapter instanceof BaseQuickAdapter && adapter instanceof SectionAdapter) {
+            return (BaseQuickAdapter<?>) adapter;
+        }
+        return null;
+    }
+
+    /**
+     * @return the adapter position of the first item whose bottom is below the top
+     */
+    static int findFirstVisiblePosition(@NonNull RecyclerView parent, int top) {
+        int first = RecyclerView.NO_POSITION;
+        for (int i = 0, n = parent.getChildCount(); i < n; i++) {
+            View child = parent.getChildAt(i);
+            if (child.getBottom() + child.getTranslationY() <= top) {
+                continue;
+            }
+            int position = parent.getChildAdapterPosition(child);
+            if (position != RecyclerView.NO_POSITION && (first == RecyclerView.NO_POSITION || position < first)) {
+                first = position;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * @return the bitmap of the header, bound and drawn again only when the header or the data changed
+     */
+    @Nullable
+    private Bitmap getHeaderBitmap(@NonNull RecyclerView parent, @NonNull BaseQuickAdapter<?> adapter,
+                                   @NonNull SectionIndex index, int headerPosition) {
+        int width = parent.getWidth() - parent.getPaddingLeft() - parent.getPaddingRight();
+        if (width <= 0) {
+            return null;
+        }
+        if (mHeaderHolder == null) {
+            mHeaderHolder = adapter.createViewHolder(parent, ((SectionAdapter) adapter).getSectionHeaderViewType());
+            mBoundPosition = RecyclerView.NO_POSITION;
+        }
+        if (mBoundPosition == headerPosition && mBoundChangeCount == index.getChangeCount()
+                && mHeaderBitmap != null && mHeaderBitmap.getWidth() == width) {
+            return mHeaderBitmap;
+        }
+        ((SectionAdapter) adapter).bindSectionHeader(mHeaderHolder, headerPosition);
+        View view = mHeaderHolder.itemView;
+        ViewGroup.LayoutParams lp = view.getLayoutParams();
+        int heightSpec = lp != null && lp.height > 0
+                ? View.MeasureSpec.makeMeasureSpec(lp.height, View.MeasureSpec.EXACTLY)
+                : View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        view.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY), heightSpec);
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+        int height = view.getMeasuredHeight();
+        if (height <= 0) {
+            return null;
+        }
+        if (mHeaderBitmap == null || mHeaderBitmap.getWidth() != width || mHeaderBitmap.getHeight() != height) {
+            if (mHeaderBitmap != null) {
+                mHeaderBitmap.recycle();
+            }
+            mHeaderBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        } else {
+            mHeaderBitmap.eraseColor(Color.TRANSPARENT);
+        }
+        view.draw(new Canvas(mHeaderBitmap));
+        mBoundPosition = headerPosition;
+        mBoundChangeCount = index.getChangeCount();
+        return mHeaderBitmap;
+    }
+}
@@ -0,0 +1,12 @@
+package com.library.adapter.base.listener;
+
+/**
+ * Called when the RecyclerView gets near the end of the data, to load the next items.
+ * Once done, call loadMoreComplete(), loadMoreEnd() or loadMoreFail() of the adapter.
+ *
+ * @see com.library.adapter.base.BaseQuickAdapter#setOnLoadMoreListener(OnLoadMoreListener)
+ */
+public interface OnLoadMoreListener {
+
+    void onLoadMoreRequested();
+}
@@ -1,9 +1,9 @@
 package com.library.adapter.base.listener;
 
 import static com.library.adapter.base.BaseQuickAdapter.EMPTY_VIEW;
-import static com.library.adapter.base.BaseQuickAdapter.FOOTER_VIEW;
-import static com.library.adapter.base.BaseQuickAdapter.HEADER_VIEW;
 import static com.library.adapter.base.BaseQuickAdapter.LOADING_VIEW;
+import static com.library.adapter.base.BaseQuickAdapter.isFooterViewType;
+import static com.library.adapter.base.BaseQuickAdapter.isHeaderViewType;
 
 import android.os.Build;
 import android.view.GestureDetector;
@@ -12,6 +12,7 @@ import android.view.MotionEvent;
 import android.view.View;
 import androidx.core.view.GestureDetectorCompat;
 import androidx.recyclerview.widget.RecyclerView;
+import com.library.R;
 import com.library.adapter.base.BaseQuickAdapter;
 import com.library.adapter.base.ViewHolder;
 import java.util.Set;
@@ -35,6 +36,24 @@ public abstract class SimpleClickListener implements RecyclerView.OnItemTouchLis
     private boolean mIsPrepressed = false;
     private boolean mIsShowPress = false;
     private View mPressedView = null;
+    private boolean mCachedHitTestEnabled = false;
+
+    /**
+     * Find the tapped child view in bounds cached per holder in item view coordinates, refreshed
+     * when the item is laid out, instead of looking up the child views and their location on
+     * screen on every tap.
+     * <p>
+     * The cached bounds ignore the transformations (translation, scale...) of the child views.
+     *
+     * @param enabled false by default
+     */
+    public void setCachedHitTestEnabled(boolean enabled) {
+        mCachedHitTestEnabled = enabled;
+    }
+
+    public boolean isCachedHitTestEnabled() {
+        return mCachedHitTestEnabled;
+    }
 
     @Override
     public boolean onInterceptTouchEvent(RecyclerView rv, MotionEvent e) {
@@ -107,7 +126,11 @@ public abstract class SimpleClickListener implements RecyclerView.OnItemTouchLis
                 if (isHeaderOrFooterPosition(position)) {
                     return false;
                 }
-                position -= baseQuickAdapter.getHeaderCount();
+                position = baseQuickAdapter.getDataPosition(position);
+
+                if (mCachedHitTestEnabled) {
+                    return onSingleTapUpCached(e, vh, position);
+                }
 
                 Set<Integer> childClickViewIds = vh.getChildClickViewIds();
                 Set<Integer> nestViewIds = vh.getNestViews();
@@ -157,6 +180,50 @@ public abstract class SimpleClickListener implements RecyclerView.OnItemTouchLis
             return true;
         }
 
+        private boolean onSingleTapUpCached(MotionEvent e, ViewHolder vh, int position) {
+            final View pressedView = mPressedView;
+            ChildHitTargets targets = getHitTargets(vh).click;
+            int hit = targets.find(e, pressedView);
+            if (hit >= 0) {
+                if (targets.nest[hit]) {
+                    return false;
+                }
+                View childView = targets.views[hit];
+                setPressViewHotSpot(e, childView);
+                childView.setPressed(true);
+                onItemChildClick(baseQuickAdapter, childView, position);
+                resetPressedView(childView);
+                return true;
+            }
+            setPressViewHotSpot(e, pressedView);
+            pressedView.setPressed(true);
+            targets.setPressed(false);
+            onItemClick(baseQuickAdapter, pressedView, position);
+            resetPressedView(pressedView);
+            return true;
+        }
+
+        private void onLongPressCached(MotionEvent e, ViewHolder vh, int position) {
+            ChildHitTargets targets = getHitTargets(vh).longClick;
+            int hit = targets.find(e, mPressedView);
+            if (hit >= 0) {
+                if (targets.nest[hit]) {
+                    return;
+                }
+                View childView = targets.views[hit];
+                setPressViewHotSpot(e, childView);
+                onItemChildLongClick(baseQuickAdapter, childView, position);
+                childView.setPressed(true);
+                mIsShowPress = true;
+                return;
+            }
+            onItemLongClick(baseQuickAdapter, mPressedView, position);
+            setPressViewHotSpot(e, mPressedView);
+            mPressedView.setPressed(true);
+            targets.setPressed(false);
+            mIsShowPress = true;
+        }
+
         private void resetPressedView(final View pressedView) {
             if (pressedView != null) {
                 pressedView.postDelayed(new Runnable() {
@@ -187,7 +254,9 @@ public abstract class SimpleClickListener implements RecyclerView.OnItemTouchLis
                 if (position == RecyclerView.NO_POSITION) {
                     return;
                 }
-                if (!isHeaderOrFooterPosition(position)) {
+                if (!isHeaderOrFooterPosition(position) && mCachedHitTestEnabled) {
+                    onLongPressCached(e, vh, baseQuickAdapter.getDataPosition(position));
+                } else if (!isHeaderOrFooterPosition(position)) {
                     Set<Integer> longClickViewIds = vh.getItemChildLongClickViewIds();
                     Set<Integer> nestViewIds = vh.getNestViews();
                     if (longClickViewIds != null && longClickViewIds.size() > 0) {
@@ -199,7 +268,7 @@ public abstract class SimpleClickListener implements RecyclerView.OnItemTouchLis
                                     break;
                                 }
                                 setPressViewHotSpot(e, childView);
-                                onItemChildLongClick(baseQuickAdapter, childView, position - baseQuickAdapter.getHeaderCount());
+                                onItemChildLongClick(baseQuickAdapter, childView, baseQuickAdapter.getDataPosition(position));
                                 childView.setPressed(true);
                                 mIsShowPress = true;
                                 isChildLongClick = true;
@@ -208,7 +277,7 @@ public abstract class SimpleClickListener implements RecyclerView.OnItemTouchLis
                         }
                     }
                     if (!isChildLongClick) {
-                        onItemLongClick(baseQuickAdapter, mPressedView, position - baseQuickAdapter.getHeaderCount());
+                        onItemLongClick(baseQuickAdapter, mPressedView, baseQuickAdapter.getDataPosition(position));
                         setPressViewHotSpot(e, mPressedView);
                         mPressedView.setPressed(true);
                         if (longClickViewIds != null) {
@@ -301,6 +370,151 @@ public abstract class SimpleClickListener implements RecyclerView.OnItemTouchLis
         return true;
     }
 
+    private static HolderHitTargets getHitTargets(ViewHolder holder) {
+        Object tag = holder.itemView.getTag(R.id.BaseQuickAdapter_hit_test_support);
+        if (tag instanceof HolderHitTargets && ((HolderHitTargets) tag).holder == holder) {
+            return (HolderHitTargets) tag;
+        }
+        HolderHitTargets targets = new HolderHitTargets(holder);
+        holder.itemView.setTag(R.id.BaseQuickAdapter_hit_test_support, targets);
+        holder.itemView.addOnLayoutChangeListener(targets);
+        return targets;
+    }
+
+    /**
+     * Hit targets of a holder, kept in a tag of its item view. The bounds are computed again
+     * after the item is laid out.
+     */
+    private static final class HolderHitTargets implements View.OnLayoutChangeListener {
+        final ViewHolder holder;
+        final ChildHitTargets click;
+        final ChildHitTargets longClick;
+
+        HolderHitTargets(ViewHolder holder) {
+            this.holder = holder;
+            click = new ChildHitTargets(holder, holder.getChildClickViewIds());
+            longClick = new ChildHitTargets(holder, holder.getItemChildLongClickViewIds());
+        }
+
+        @Override
+        public void onLayoutChange(View v, int left, int top, int right, int bottom,
+                                   int oldLeft, int oldTop, int oldRight, int oldBottom) {
+            click.boundsValid = false;
+            longClick.boundsValid = false;
+        }
+    }
+
+    /**
+     * Child views of a holder registered for clicks, with their bounds in item view coordinates
+     */
+    private static final class ChildHitTargets {
+        private static final int[] NO_IDS = new int[0];
+
+        final ViewHolder holder;
+        final Set<Integer> ids;
+        private int[] viewIds = NO_IDS;
+        View[] views = new View[0];
+        boolean[] nest = new boolean[0];
+        /**
+         * left, top, right, bottom of each view, in item view coordinates
+         */
+        int[] bounds = NO_IDS;
+        boolean boundsValid;
+        private int idsSize = -1;
+        private int nestSize = -1;
+
+        ChildHitTargets(ViewHolder holder, Set<Integer> ids) {
+            this.holder = holder;
+            this.ids = ids;
+        }
+
+        private void update() {
+            Set<Integer> nestViews = holder.getNestViews();
+            if (ids.size() != idsSize || nestViews.size() != nestSize) {
+                // the ids only change in the first binds of a holder
+                int count = ids.size();
+                viewIds = new int[count];
+                views = new View[count];
+                nest = new boolean[count];
+                bounds = new int[count * 4];
+                int i = 0;
+                for (Integer id : ids) {
+                    viewIds[i] = id;
+                    nest[i] = nestViews.contains(id);
+                    i++;
+                }
+                idsSize = count;
+                nestSize = nestViews.size();
+                boundsValid = false;
+            }
+            if (boundsValid) {
+                return;
+            }
+            View itemView = holder.itemView;
+            for (int i = 0; i < views.length; i++) {
+                // the views of the holder may have changed along with the layout
+                views[i] = holder.getView(viewIds[i]);
+                View view = views[i];
+                int left = 0;
+                int top = 0;
+                while (view != null && view != itemView) {
+                    left += view.getLeft();
+                    top += view.getTop();
+                    view = view.getParent() instanceof View ? (View) view.getParent() : null;
+                    if (view != null) {
+                        left -= view.getScrollX();
+                        top -= view.getScrollY();
+                    }
+                }
+                if (view == null) {
+                    // missing or detached from the item view
+                    bounds[i * 4] = Integer.MAX_VALUE;
+                    bounds[i * 4 + 1] = Integer.MAX_VALUE;
+                    bounds[i * 4 + 2] = Integer.MIN_VALUE;
+                    bounds[i * 4 + 3] = Integer.MIN_VALUE;
+                    continue;
+                }
+                bounds[i * 4] = left;
+                bounds[i * 4 + 1] = top;
+                bounds[i * 4 + 2] = left + views[i].getWidth();
+                bounds[i * 4 + 3] = top + views[i].getHeight();
+            }
+            boundsValid = true;
+        }
+
+        /**
+         * @param e        event in the RecyclerView coordinates
+         * @param itemView the pressed item view
+         * @return index of the first enabled and shown view under the event, -1 if none.
+         * The views checked before are no longer pressed.
+         */
+        int find(MotionEvent e, View itemView) {
+            update();
+            float x = e.getX() - itemView.getLeft() - itemView.getTranslationX();
+            float y = e.getY() - itemView.getTop() - itemView.getTranslationY();
+            for (int i = 0; i < views.length; i++) {
+                View view = views[i];
+                if (view == null) {
+                    continue;
+                }
+                if (x >= bounds[i * 4] && x <= bounds[i * 4 + 2] && y >= bounds[i * 4 + 1]
+                        && y <= bounds[i * 4 + 3] && view.isShown() && view.isEnabled()) {
+                    return i;
+                }
+                view.setPressed(false);
+            }
+            return -1;
+        }
+
+        void setPressed(boolean pressed) {
+            for (View view : views) {
+                if (view != null) {
+                    view.setPressed(pressed);
+                }
+            }
+        }
+    }
+
     private boolean isHeaderOrFooterPosition(int position) {
         /**
          *  have a headview and EMPTY_VIEW FOOTER_VIEW LOADING_VIEW
@@ -313,11 +527,11 @@ public abstract class SimpleClickListener implements RecyclerView.OnItemTouchLis
             }
         }
         int type = baseQuickAdapter.getItemViewType(position);
-        return (type == EMPTY_VIEW || type == HEADER_VIEW || type == FOOTER_VIEW || type == LOADING_VIEW);
+        return (type == EMPTY_VIEW || isHeaderViewType(type) || isFooterViewType(type) || type == LOADING_VIEW);
     }
 
     private boolean isHeaderOrFooterView(int type) {
-        return (type == EMPTY_VIEW || type == HEADER_VIEW || type == FOOTER_VIEW || type == LOADING_VIEW);
+        return (type == EMPTY_VIEW || isHeaderViewType(type) || isFooterViewType(type) || type == LOADING_VIEW);
     }
 }
 
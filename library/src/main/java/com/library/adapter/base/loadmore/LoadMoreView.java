@@ -0,0 +1,113 @@
+package com.library.adapter.base.loadmore;
+
+import androidx.annotation.IdRes;
+import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
+import com.library.adapter.base.ViewHolder;
+
+/**
+ * The item shown after the data while more data can be loaded, in the {@code LOADING_VIEW} slot
+ * of the adapter. Its layout holds a view per state, only the one of the current state is shown.
+ *
+ * @see com.library.adapter.base.BaseQuickAdapter#setLoadMoreView(LoadMoreView)
+ */
+public abstract class LoadMoreView {
+
+    /**
+     * nothing is requested, the next bind near the end requests more data
+     */
+    public static final int STATUS_DEFAULT = 1;
+    public static final int STATUS_LOADING = 2;
+    public static final int STATUS_FAIL = 3;
+    public static final int STATUS_END = 4;
+
+    private int mLoadMoreStatus = STATUS_DEFAULT;
+    private boolean mLoadMoreEndGone = false;
+
+    public void setLoadMoreStatus(int loadMoreStatus) {
+        this.mLoadMoreStatus = loadMoreStatus;
+    }
+
+    public int getLoadMoreStatus() {
+        return mLoadMoreStatus;
+    }
+
+    public void convert(@NonNull ViewHolder holder) {
+        switch (mLoadMoreStatus) {
+            case STATUS_LOADING:
+                visibleLoading(holder, true);
+                visibleLoadFail(holder, false);
+                visibleLoadEnd(holder, false);
+                break;
+            case STATUS_FAIL:
+                visibleLoading(holder, false);
+                visibleLoadFail(holder, true);
+                visibleLoadEnd(holder, false);
+                break;
+            case STATUS_END:
+                visibleLoading(holder, false);
+                visibleLoadFail(holder, false);
+                visibleLoadEnd(holder, true);
+                break;
+            default:
+                visibleLoading(holder, false);
+                visibleLoadFail(holder, false);
+                visibleLoadEnd(holder, false);
+                break;
+        }
+    }
+
+    private void visibleLoading(ViewHolder holder, boolean visible) {
+        holder.setGone(getLoadingViewId(), !visible);
+    }
+
+    private void visibleLoadFail(ViewHolder holder, boolean visible) {
+        holder.setGone(getLoadFailViewId(), !visible);
+    }
+
+    private void visibleLoadEnd(ViewHolder holder, boolean visible) {
+        final int loadEndViewId = getLoadEndViewId();
+        if (loadEndViewId != 0) {
+            holder.setGone(loadEndViewId, !visible);
+        }
+    }
+
+    /**
+     * @param loadMoreEndGone true to remove the item once there is no more data, instead of
+     *                        showing the end view
+     */
+    public final void setLoadMoreEndGone(boolean loadMoreEndGone) {
+        this.mLoadMoreEndGone = loadMoreEndGone;
+    }
+
+    public final boolean isLoadEndMoreGone() {
+        if (getLoadEndViewId() == 0) {
+            return true;
+        }
+        return mLoadMoreEndGone;
+    }
+
+    /**
+     * load more layout
+     */
+    @LayoutRes
+    public abstract int getLayoutId();
+
+    /**
+     * loading view
+     */
+    @IdRes
+    protected abstract int getLoadingViewId();
+
+    /**
+     * load fail view, a click on it requests the data again
+     */
+    @IdRes
+    protected abstract int getLoadFailViewId();
+
+    /**
+     * load end view, 0 if the layout has none, the item is then removed once there is no more data
+     */
+    @IdRes
+    protected abstract int getLoadEndViewId();
+}
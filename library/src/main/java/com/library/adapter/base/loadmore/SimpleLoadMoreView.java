@@ -0,0 +1,29 @@
+package com.library.adapter.base.loadmore;
+
+import com.library.R;
+
+/**
+ * The default {@link LoadMoreView}, brvah_quick_view_load_more
+ */
+public final class SimpleLoadMoreView extends LoadMoreView {
+
+    @Override
+    public int getLayoutId() {
+        return R.layout.brvah_quick_view_load_more;
+    }
+
+    @Override
+    protected int getLoadingViewId() {
+        return R.id.load_more_loading_view;
+    }
+
+    @Override
+    protected int getLoadFailViewId() {
+        return R.id.load_more_load_fail_view;
+    }
+
+    @Override
+    protected int getLoadEndViewId() {
+        return R.id.load_more_load_end_view;
+    }
+}
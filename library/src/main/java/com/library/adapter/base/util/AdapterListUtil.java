@@ -0,0 +1,106 @@
+package com.library.adapter.base.util;
+
+import androidx.annotation.NonNull;
+import com.library.adapter.base.entity.IExpandable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The list operations of {@link com.library.adapter.base.BaseQuickAdapter} on its data, without
+ * the notifications. They don't depend on Android, so the benchmark module runs them on the JVM.
+ */
+public final class AdapterListUtil {
+
+    private AdapterListUtil() {
+    }
+
+    /**
+     * Move an item to another position, the items in between shift by one.
+     */
+    public static <T> void moveItem(@NonNull List<T> data, int fromPosition, int toPosition) {
+        if (fromPosition == toPosition) {
+            return;
+        }
+        int start = Math.min(fromPosition, toPosition);
+        int end = Math.max(fromPosition, toPosition);
+        if ((end - start) * 8 < data.size() - start) {
+            // a short move: rotating the range is cheaper than shifting the whole tail twice
+            Collections.rotate(data.subList(start, end + 1), fromPosition < toPosition ? -1 : 1);
+        } else {
+            data.add(toPosition, data.remove(fromPosition));
+        }
+    }
+
+    /**
+     * Insert the sub items of an expanded item, followed by the sub items of those which are
+     * expanded too.
+     *
+     * @param position the position of the first sub item
+     * @return the number of items inserted
+     */
+    @SuppressWarnings("unchecked")
+    public static int addSubItems(@NonNull List data, int position, @NonNull List subItems) {
+        data.addAll(position, subItems);
+        int count = subItems.size();
+        int pos = position + subItems.size() - 1;
+        for (int i = subItems.size() - 1; i >= 0; i--, pos--) {
+            if (subItems.get(i) instanceof IExpandable) {
+                IExpandable item = (IExpandable) subItems.get(i);
+                List subList = item.getSubItems();
+                if (item.isExpanded() && subList != null && !subList.isEmpty()) {
+                    count += addSubItems(data, pos + 1, subList);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Remove the items following an expandable item up to the next item of the same level or
+     * lower, in one range.
+     *
+     * @return the number of items removed
+     */
+    public static int removeSubItems(@NonNull List<?> data, int position) {
+        int level = ((IExpandable) data.get(position)).getLevel();
+        int end = position + 1;
+        for (int n = data.size(); end < n; end++) {
+            Object item = data.get(end);
+            if (item instanceof IExpandable && ((IExpandable) item).getLevel() <= level) {
+                break;
+            }
+        }
+        int count = end - position - 1;
+        if (count > 0) {
+            data.subList(position + 1, end).clear();
+        }
+        return count;
+    }
+
+    /**
+     * Find the parent of the item at a position of the data.
+     *
+     * @return the position itself for a level 0 item, -1 for a negative level or no parent
+     */
+    public static int getParentPosition(@NonNull List<?> data, @NonNull ExpandableIndex index, int position) {
+        if (position < 0 || position >= data.size()) {
+            return -1;
+        }
+        Object item = data.get(position);
+
+        // if the item is IExpandable, return a closest IExpandable item position whose level smaller than this.
+        // if it is not, return the closest IExpandable item position whose level is not negative
+        int level;
+        if (item instanceof IExpandable) {
+            level = ((IExpandable) item).getLevel();
+        } else {
+            level = ExpandableIndex.NO_LEVEL;
+        }
+        if (level == 0) {
+            return position;
+        } else if (level == -1) {
+            return -1;
+        }
+        return index.findParentPosition(data, position, level);
+    }
+}
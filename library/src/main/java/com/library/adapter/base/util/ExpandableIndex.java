@@ -0,0 +1,226 @@
+package com.library.adapter.base.util;
+
+import com.library.adapter.base.entity.IExpandable;
+import java.util.List;
+
+/**
+ * Index of the levels of the {@link IExpandable} items in the adapter data, used to find the
+ * parent of an item in O(log n) instead of walking the data backwards.
+ * <p>
+ * The levels are kept in a primitive array updated with the range notifications of the adapter,
+ * a min segment tree on top of it is rebuilt lazily on the next query after a change.
+ * When the index can't tell what changed, or its size doesn't match the data any more, the
+ * levels are read again from the data.
+ * <p>
+ * The levels of an insert or a change are read from the data at the positions of the
+ * notification, so it must be reported right after the change. Notifications dispatched after
+ * further changes, by a batch transaction or a diff, must {@link #invalidate()} the index instead.
+ */
+public class ExpandableIndex {
+
+    /**
+     * level of the items which are not {@link IExpandable}
+     */
+    public static final int NO_LEVEL = Integer.MAX_VALUE;
+
+    private int[] mLevels = new int[16];
+    private int mSize;
+    private boolean mLevelsValid;
+    private boolean mTracking;
+
+    private int mLeafCount;
+    /**
+     * min of the levels, the levels of negative level items included
+     */
+    private int[] mLevelTree;
+    /**
+     * min of the levels, negative levels are ignored
+     */
+    private int[] mParentLevelTree;
+    private boolean mLevelTreeValid;
+    private boolean mParentLevelTreeValid;
+
+    /**
+     * @param tracking true if every change of the data is reported to the index, otherwise the
+     *                 levels are read again from the data on every query.
+     */
+    public void setTracking(boolean tracking) {
+        mTracking = tracking;
+        invalidate();
+    }
+
+    /**
+     * Forget everything, the levels are read again from the data on the next query.
+     */
+    public void invalidate() {
+        mLevelsValid = false;
+        invalidateTrees();
+    }
+
+    private void invalidateTrees() {
+        mLevelTreeValid = false;
+        mParentLevelTreeValid = false;
+    }
+
+    public void onItemRangeInserted(List<?> data, int position, int itemCount) {
+        if (position >= data.size()) {
+            // past the data, the footer or load more views
+            return;
+        }
+        if (!mLevelsValid || position < 0 || position > mSize || position + itemCount > data.size()) {
+            invalidate();
+            return;
+        }
+        ensureCapacity(mSize + itemCount);
+        System.arraycopy(mLevels, position, mLevels, position + itemCount, mSize - position);
+        for (int i = position; i < position + itemCount; i++) {
+            mLevels[i] = levelOf(data.get(i));
+        }
+        mSize += itemCount;
+        invalidateTrees();
+    }
+
+    public void onItemRangeRemoved(int position, int itemCount) {
+        if (mLevelsValid && position >= mSize) {
+            return;
+        }
+        if (!mLevelsValid || position < 0 || position + itemCount > mSize) {
+            invalidate();
+            return;
+        }
+        System.arraycopy(mLevels, position + itemCount, mLevels, position, mSize - position - itemCount);
+        mSize -= itemCount;
+        invalidateTrees();
+    }
+
+    public void onItemRangeChanged(List<?> data, int position, int itemCount) {
+        if (position >= data.size()) {
+            return;
+        }
+        if (!mLevelsValid || position < 0 || position + itemCount > mSize || mSize != data.size()) {
+            invalidate();
+            return;
+        }
+        for (int i = position; i < position + itemCount; i++) {
+            mLevels[i] = levelOf(data.get(i));
+        }
+        invalidateTrees();
+    }
+
+    public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+        if (!mLevelsValid || itemCount != 1 || fromPosition < 0 || fromPosition >= mSize
+                || toPosition < 0 || toPosition >= mSize) {
+            invalidate();
+            return;
+        }
+        int level = mLevels[fromPosition];
+        if (fromPosition < toPosition) {
+            System.arraycopy(mLevels, fromPosition + 1, mLevels, fromPosition, toPosition - fromPosition);
+        } else {
+            System.arraycopy(mLevels, toPosition, mLevels, toPosition + 1, fromPosition - toPosition);
+        }
+        mLevels[toPosition] = level;
+        invalidateTrees();
+    }
+
+    /**
+     * Find the closest position at or before the given one whose item is an {@link IExpandable}
+     * with a level in [0, level).
+     *
+     * @return -1 if there is none
+     */
+    public int findParentPosition(List<?> data, int position, int level) {
+        ensureLevels(data);
+        if (!mParentLevelTreeValid) {
+            mParentLevelTree = buildTree(mParentLevelTree, true);
+            mParentLevelTreeValid = true;
+        }
+        return findLast(mParentLevelTree, Math.min(position, mSize - 1), level);
+    }
+
+    /**
+     * Find the closest position before the given one whose item is an {@link IExpandable}
+     * with a level lower than the given one, negative levels included.
+     *
+     * @param level {@link #NO_LEVEL} to find the closest {@link IExpandable} of any level
+     * @return -1 if there is none
+     */
+    public int findPreviousExpandable(List<?> data, int position, int level) {
+        ensureLevels(data);
+        if (!mLevelTreeValid) {
+            mLevelTree = buildTree(mLevelTree, false);
+            mLevelTreeValid = true;
+        }
+        return findLast(mLevelTree, Math.min(position - 1, mSize - 1), level);
+    }
+
+    private void ensureLevels(List<?> data) {
+        if (mTracking && mLevelsValid && mSize == data.size()) {
+            return;
+        }
+        final int size = data.size();
+        ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            mLevels[i] = levelOf(data.get(i));
+        }
+        mSize = size;
+        mLevelsValid = true;
+        invalidateTrees();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (mLevels.length < capacity) {
+            int[] levels = new int[Math.max(capacity, mLevels.length * 2)];
+            System.arraycopy(mLevels, 0, levels, 0, mSize);
+            mLevels = levels;
+        }
+    }
+
+    private int[] buildTree(int[] tree, boolean ignoreNegative) {
+        int leafCount = 1;
+        while (leafCount < mSize) {
+            leafCount <<= 1;
+        }
+        mLeafCount = leafCount;
+        if (tree == null || tree.length < leafCount * 2) {
+            tree = new int[leafCount * 2];
+        }
+        for (int i = 0; i < leafCount; i++) {
+            int level = i < mSize ? mLevels[i] : NO_LEVEL;
+            tree[leafCount + i] = ignoreNegative && level < 0 ? NO_LEVEL : level;
+        }
+        for (int node = leafCount - 1; node > 0; node--) {
+            tree[node] = Math.min(tree[2 * node], tree[2 * node + 1]);
+        }
+        return tree;
+    }
+
+    /**
+     * @return the last position in [0, end] whose value in the tree is lower than bound, -1 if none
+     */
+    private int findLast(int[] tree, int end, int bound) {
+        if (end < 0) {
+            return -1;
+        }
+        int node = mLeafCount + end;
+        if (tree[node] < bound) {
+            return end;
+        }
+        while (node > 1) {
+            // a right child, its left sibling covers the positions just before
+            if ((node & 1) == 1 && tree[node - 1] < bound) {
+                node--;
+                while (node < mLeafCount) {
+                    node = tree[2 * node + 1] < bound ? 2 * node + 1 : 2 * node;
+                }
+                return node - mLeafCount;
+            }
+            node >>= 1;
+        }
+        return -1;
+    }
+
+    private static int levelOf(Object item) {
+        return item instanceof IExpandable ? ((IExpandable) item).getLevel() : NO_LEVEL;
+    }
+}
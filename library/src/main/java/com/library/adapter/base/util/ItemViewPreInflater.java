@@ -0,0 +1,202 @@
+package com.library.adapter.base.util;
+
+import android.content.Context;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Inflate item views off the main thread ahead of time, so that
+ * {@link com.library.adapter.base.BaseQuickAdapter#onCreateViewHolder} doesn't have to.
+ * <p>
+ * The layouts are the ones registered in the adapter (the layoutResId of the adapter,
+ * addItemType, {@link MultiTypeDelegate#registerItemType(int, int)} or the item providers).
+ * When the pool of a layout is empty, the adapter inflates synchronously as usual.
+ * <p>
+ * Views whose constructor requires the main thread can't be pre-inflated, inflation of
+ * that layout stops at the first failure.
+ * <p>
+ * The RecyclerView is never touched in the background: the views are inflated against a
+ * detached FrameLayout, their LayoutParams are converted by the LayoutManager of the
+ * RecyclerView when they are taken out of the pool.
+ *
+ * @see com.library.adapter.base.BaseQuickAdapter#setPreInflater(ItemViewPreInflater)
+ */
+public class ItemViewPreInflater {
+
+    private static final Object sExecutorLock = new Object();
+    private static Executor sInflateExecutor = null;
+
+    private final Object mLock = new Object();
+    /**
+     * pre-inflated views indexed with their layout ids
+     */
+    private final SparseArray<ArrayDeque<View>> mPool = new SparseArray<>();
+    private final SparseIntArray mCounts = new SparseIntArray();
+    private final int mDefaultCount;
+    private final Executor mExecutor;
+
+    /**
+     * layout ids indexed with their view types
+     */
+    private SparseIntArray mLayouts = new SparseIntArray();
+    private final SparseIntArray mHitCounts = new SparseIntArray();
+    private final SparseIntArray mMissCounts = new SparseIntArray();
+    private volatile int mGeneration;
+
+    /**
+     * @param countPerType number of views inflated ahead of time for each view type
+     */
+    public ItemViewPreInflater(int countPerType) {
+        this(countPerType, null);
+    }
+
+    /**
+     * @param countPerType number of views inflated ahead of time for each view type
+     * @param executor     executor the views are inflated on, null to use a shared background thread
+     */
+    public ItemViewPreInflater(int countPerType, @Nullable Executor executor) {
+        mDefaultCount = countPerType;
+        mExecutor = executor == null ? getDefaultInflateExecutor() : executor;
+    }
+
+    private static Executor getDefaultInflateExecutor() {
+        synchronized (sExecutorLock) {
+            if (sInflateExecutor == null) {
+                sInflateExecutor = Executors.newSingleThreadExecutor();
+            }
+        }
+        return sInflateExecutor;
+    }
+
+    /**
+     * Override the number of views inflated ahead of time for a view type.
+     * Call before the adapter is attached to the RecyclerView.
+     */
+    public void setCount(int viewType, int count) {
+        mCounts.put(viewType, count);
+    }
+
+    /**
+     * Start inflating the views in the background, called by the adapter.
+     *
+     * @param parent  the RecyclerView the views will be attached to
+     * @param layouts layout ids indexed with their view types
+     */
+    public void start(@NonNull final ViewGroup parent, @NonNull SparseIntArray layouts) {
+        final int generation = ++mGeneration;
+        final SparseIntArray targets = new SparseIntArray(layouts.size());
+        for (int i = 0; i < layouts.size(); i++) {
+            int layoutResId = layouts.valueAt(i);
+            int count = mCounts.get(layouts.keyAt(i), mDefaultCount);
+            // view types sharing a layout share the pool too
+            targets.put(layoutResId, Math.max(targets.get(layoutResId), count));
+        }
+        mLayouts = layouts.clone();
+        if (targets.size() == 0) {
+            return;
+        }
+        final Context context = parent.getContext();
+        // reads the layout attributes of the root of the item views, never attached
+        final ViewGroup inflateParent = new FrameLayout(context);
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                LayoutInflater inflater = LayoutInflater.from(context).cloneInContext(context);
+                for (int i = 0; i < targets.size(); i++) {
+                    int layoutResId = targets.keyAt(i);
+                    int count = targets.valueAt(i);
+                    for (int n = getPooledCount(layoutResId); n < count; n++) {
+                        if (generation != mGeneration) {
+                            return;
+                        }
+                        View view;
+                        try {
+                            view = inflater.inflate(layoutResId, inflateParent, false);
+                        } catch (RuntimeException e) {
+                            // the layout can only be inflated on the main thread
+                            break;
+                        }
+                        synchronized (mLock) {
+                            ArrayDeque<View> views = mPool.get(layoutResId);
+                            if (views == null) {
+                                views = new ArrayDeque<>();
+                                mPool.put(layoutResId, views);
+                            }
+                            views.add(view);
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Stop inflating and drop the views which have not been used.
+     */
+    public void stop() {
+        mGeneration++;
+        synchronized (mLock) {
+            mPool.clear();
+        }
+    }
+
+    private int getPooledCount(int layoutResId) {
+        synchronized (mLock) {
+            ArrayDeque<View> views = mPool.get(layoutResId);
+            return views == null ? 0 : views.size();
+        }
+    }
+
+    /**
+     * Take a pre-inflated view out of the pool, called on the main thread by the adapter.
+     *
+     * @param parent the RecyclerView the view will be attached to
+     * @return null if there is no view left for the layout
+     */
+    @Nullable
+    public View obtain(@LayoutRes int layoutResId, @NonNull ViewGroup parent) {
+        View view;
+        synchronized (mLock) {
+            ArrayDeque<View> views = mPool.get(layoutResId);
+            view = views == null ? null : views.poll();
+        }
+        if (view != null) {
+            RecyclerView.LayoutManager layoutManager = parent instanceof RecyclerView
+                    ? ((RecyclerView) parent).getLayoutManager() : null;
+            if (layoutManager != null) {
+                view.setLayoutParams(layoutManager.generateLayoutParams(view.getLayoutParams()));
+            }
+            mHitCounts.put(layoutResId, mHitCounts.get(layoutResId) + 1);
+        } else {
+            mMissCounts.put(layoutResId, mMissCounts.get(layoutResId) + 1);
+        }
+        return view;
+    }
+
+    /**
+     * @return number of views of the view type which have been taken from the pool.
+     * View types sharing a layout share their counters.
+     */
+    public int getHitCount(int viewType) {
+        return mHitCounts.get(mLayouts.get(viewType));
+    }
+
+    /**
+     * @return number of views of the view type which had to be inflated synchronously.
+     * View types sharing a layout share their counters.
+     */
+    public int getMissCount(int viewType) {
+        return mMissCounts.get(mLayouts.get(viewType));
+    }
+}
@@ -4,7 +4,10 @@ import static com.library.adapter.base.BaseMultiItemQuickAdapter.TYPE_NOT_FOUND;
 
 import android.util.SparseIntArray;
 import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * help you to achieve multi type easily
@@ -15,12 +18,23 @@ import java.util.List;
  * <p>
  * <p>
  * more information: https://github.com/CymChad/BaseRecyclerViewAdapterHelper/issues/968
+ * <p>
+ * When the type only depends on the class of the item, register the classes with
+ * {@link #registerItemType(Class, int, int)} instead of overriding {@link #getItemType(Object)}.
  */
 
-public abstract class MultiTypeDelegate<T> {
+public class MultiTypeDelegate<T> {
 
     private static final int DEFAULT_VIEW_TYPE = -0xff;
     private SparseIntArray layouts;
+    /**
+     * item types indexed with the registered item classes
+     */
+    private Map<Class<?>, Integer> classTypes;
+    /**
+     * item types indexed with the item classes met so far, subclasses included
+     */
+    private Map<Class<?>, Integer> resolvedClassTypes;
     private boolean autoMode, selfMode;
 
     public MultiTypeDelegate(SparseIntArray layouts) {
@@ -37,16 +51,55 @@ public abstract class MultiTypeDelegate<T> {
 
     /**
      * get the item type from specific entity.
+     * By default the type registered for the class of the entity or its closest superclass.
      *
      * @param t entity
      * @return item type
      */
-    protected abstract int getItemType(T t);
+    protected int getItemType(T t) {
+        Class<?> itemClass = t.getClass();
+        Integer type = resolvedClassTypes == null ? null : resolvedClassTypes.get(itemClass);
+        if (type == null) {
+            type = findClassType(itemClass);
+            if (resolvedClassTypes == null) {
+                resolvedClassTypes = new HashMap<>();
+            }
+            resolvedClassTypes.put(itemClass, type);
+        }
+        return type;
+    }
+
+    private Integer findClassType(Class<?> itemClass) {
+        if (classTypes != null) {
+            for (Class<?> c = itemClass; c != null; c = c.getSuperclass()) {
+                Integer type = classTypes.get(c);
+                if (type != null) {
+                    return type;
+                }
+            }
+        }
+        throw new IllegalStateException("please use registerItemType(Class, int, int) for "
+                + itemClass.getName() + " first!");
+    }
 
     public final int getLayoutId(int viewType) {
         return this.layouts.get(viewType, TYPE_NOT_FOUND);
     }
 
+    /**
+     * copy the registered layouts into the given array
+     *
+     * @param out layout ids indexed with their types
+     */
+    public final void collectLayouts(SparseIntArray out) {
+        if (this.layouts == null) {
+            return;
+        }
+        for (int i = 0; i < this.layouts.size(); i++) {
+            out.put(this.layouts.keyAt(i), this.layouts.valueAt(i));
+        }
+    }
+
     private void addItemType(int type, @LayoutRes int layoutResId) {
         if (this.layouts == null) {
             this.layouts = new SparseIntArray();
@@ -83,6 +136,26 @@ public abstract class MultiTypeDelegate<T> {
         return this;
     }
 
+    /**
+     * set the type of the items of a class, items of its subclasses get the same type
+     * unless their class is registered too.
+     *
+     * @param itemClass   class of the items
+     * @param type        type value
+     * @param layoutResId layout id
+     * @return MultiTypeDelegate
+     */
+    public MultiTypeDelegate registerItemType(@NonNull Class<? extends T> itemClass, int type,
+                                              @LayoutRes int layoutResId) {
+        registerItemType(type, layoutResId);
+        if (classTypes == null) {
+            classTypes = new HashMap<>();
+        }
+        classTypes.put(itemClass, type);
+        resolvedClassTypes = null;
+        return this;
+    }
+
     private void checkMode(boolean mode) {
         if (mode) {
             throw new IllegalArgumentException("Don't mess two register mode");
@@ -0,0 +1,266 @@
+package com.library.adapter.base.util;
+
+import androidx.annotation.NonNull;
+import com.library.adapter.base.PageSource;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.Executor;
+
+/**
+ * Read only list of the items of a {@link PageSource}, of which only a window of pages is held
+ * in memory. The items of the pages which are not loaded are null, the placeholders.
+ * <p>
+ * Pages are loaded on the background executor when asked with {@link #loadRange(int, int, int)},
+ * the nearest to the anchor first. When the window is full, the page farthest from the anchor
+ * is dropped, its items become placeholders again without notification: the window must be
+ * larger than what is shown, so that only items out of sight are dropped.
+ * <p>
+ * Everything but the loading of the pages happens on the main thread.
+ */
+public class PagedWindowList<T> extends AbstractList<T> implements RandomAccess {
+
+    /**
+     * Receive the pages once loaded, on the main thread
+     */
+    public interface Callback {
+        void onRangeLoaded(int position, int count);
+    }
+
+    private static final int NO_PAGE = -1;
+
+    private static final int STATE_LOADING = 1;
+    private static final int STATE_LOADED = 2;
+    private static final int STATE_FAILED = 3;
+
+    private final PageSource<T> mSource;
+    private final int mSize;
+    private final int mPageSize;
+    private final Executor mBackgroundExecutor;
+    private final Executor mMainThreadExecutor;
+    private final Callback mCallback;
+
+    /**
+     * slots of the window: the page held, its state, its items once loaded and the token of
+     * the load, which tells whether a result is still wanted by the slot
+     */
+    private final int[] mSlotPages;
+    private final int[] mSlotStates;
+    private final int[] mSlotTokens;
+    private final Object[][] mSlotItems;
+    private int mNextToken;
+    private int mAnchorPage;
+    private boolean mClosed;
+
+    /**
+     * @param source             the source of the items, its count is read once here
+     * @param pageSize           number of items of a page
+     * @param maxPages           number of pages held in memory, at least 2
+     * @param backgroundExecutor executor the pages are loaded on
+     * @param mainThreadExecutor executor the loaded pages are handed back on
+     * @param callback           receives the loaded pages
+     */
+    public PagedWindowList(@NonNull PageSource<T> source, int pageSize, int maxPages,
+                           @NonNull Executor backgroundExecutor, @NonNull Executor mainThreadExecutor,
+                           @NonNull Callback callback) {
+        if (pageSize <= 0 || maxPages < 2) {
+            throw new IllegalArgumentException("pageSize must be positive and maxPages at least 2");
+        }
+        mSource = source;
+        mSize = Math.max(0, source.getCount());
+        mPageSize = pageSize;
+        mBackgroundExecutor = backgroundExecutor;
+        mMainThreadExecutor = mainThreadExecutor;
+        mCallback = callback;
+        mSlotPages = new int[maxPages];
+        mSlotStates = new int[maxPages];
+        mSlotTokens = new int[maxPages];
+        mSlotItems = new Object[maxPages][];
+        Arrays.fill(mSlotPages, NO_PAGE);
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * @return the item, null if its page isn't loaded
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + mSize);
+        }
+        int slot = findSlot(index / mPageSize);
+        if (slot < 0 || mSlotStates[slot] != STATE_LOADED) {
+            return null;
+        }
+        Object[] items = mSlotItems[slot];
+        int offset = index % mPageSize;
+        return offset < items.length ? (T) items[offset] : null;
+    }
+
+    public int getPageSize() {
+        return mPageSize;
+    }
+
+    public int getMaxPages() {
+        return mSlotPages.length;
+    }
+
+    /**
+     * Load the page of the position, if needed.
+     */
+    public void loadAround(int position) {
+        loadRange(position, position, position);
+    }
+
+    /**
+     * Load the pages of the range which are not loaded nor loading, the nearest to the anchor
+     * first. At most the window is loaded, the pages of the range the farthest from the anchor
+     * are left out if it doesn't fit.
+     *
+     * @param start  position of the first item of the range
+     * @param end    position of the last item of the range
+     * @param anchor position the range is centered on, the visible items
+     */
+    public void loadRange(int start, int end, int anchor) {
+        if (mClosed || mSize == 0) {
+            return;
+        }
+        start = Math.max(0, start);
+        end = Math.min(mSize - 1, end);
+        if (start > end) {
+            return;
+        }
+        anchor = Math.max(start, Math.min(end, anchor));
+        int startPage = start / mPageSize;
+        int endPage = end / mPageSize;
+        mAnchorPage = anchor / mPageSize;
+        int maxPages = mSlotPages.length;
+        int pages = 0;
+        for (int distance = 0; pages < maxPages; distance++) {
+            int after = mAnchorPage + distance;
+            int before = mAnchorPage - distance;
+            boolean hasAfter = after <= endPage;
+            boolean hasBefore = distance > 0 && before >= startPage;
+            if (!hasAfter && !hasBefore) {
+                break;
+            }
+            if (hasAfter) {
+                requestPage(after);
+                pages++;
+            }
+            if (hasBefore && pages < maxPages) {
+                requestPage(before);
+                pages++;
+            }
+        }
+    }
+
+    /**
+     * Load again the pages whose loading failed.
+     */
+    public void retryFailedPages() {
+        for (int slot = 0; slot < mSlotPages.length; slot++) {
+            if (mSlotStates[slot] == STATE_FAILED) {
+                startLoading(slot, mSlotPages[slot]);
+            }
+        }
+    }
+
+    /**
+     * Drop the pages and ignore the loads still running. Called when the list is replaced.
+     */
+    public void close() {
+        mClosed = true;
+        Arrays.fill(mSlotPages, NO_PAGE);
+        Arrays.fill(mSlotItems, null);
+    }
+
+    private int findSlot(int page) {
+        for (int slot = 0; slot < mSlotPages.length; slot++) {
+            if (mSlotPages[slot] == page) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void requestPage(int page) {
+        if (findSlot(page) >= 0) {
+            // loaded, loading or failed
+            return;
+        }
+        int slot = findFreeSlot(page);
+        if (slot >= 0) {
+            startLoading(slot, page);
+        }
+    }
+
+    /**
+     * @return an empty slot, else the slot of the page farthest from the anchor, if it is farther
+     * than the page to load
+     */
+    private int findFreeSlot(int page) {
+        int freeSlot = -1;
+        int maxDistance = Math.abs(page - mAnchorPage);
+        for (int slot = 0; slot < mSlotPages.length; slot++) {
+            if (mSlotPages[slot] == NO_PAGE) {
+                return slot;
+            }
+            int distance = Math.abs(mSlotPages[slot] - mAnchorPage);
+            if (distance > maxDistance) {
+                maxDistance = distance;
+                freeSlot = slot;
+            }
+        }
+        return freeSlot;
+    }
+
+    private void startLoading(final int slot, final int page) {
+        final int token = ++mNextToken;
+        mSlotPages[slot] = page;
+        mSlotStates[slot] = STATE_LOADING;
+        mSlotTokens[slot] = token;
+        mSlotItems[slot] = null;
+        final int position = page * mPageSize;
+        final int count = Math.min(mPageSize, mSize - position);
+        mBackgroundExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Object[] items;
+                try {
+                    List<T> list = mSource.loadRange(position, count);
+                    items = list.toArray();
+                } catch (RuntimeException e) {
+                    items = null;
+                }
+                final Object[] result = items;
+                mMainThreadExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        onPageResult(slot, page, token, result, position, count);
+                    }
+                });
+            }
+        });
+    }
+
+    private void onPageResult(int slot, int page, int token, Object[] items, int position, int count) {
+        if (mClosed || mSlotPages[slot] != page || mSlotTokens[slot] != token) {
+            // dropped while loading
+            return;
+        }
+        if (items == null) {
+            mSlotStates[slot] = STATE_FAILED;
+            return;
+        }
+        mSlotStates[slot] = STATE_LOADED;
+        mSlotItems[slot] = items;
+        mCallback.onRangeLoaded(position, count);
+    }
+}
@@ -0,0 +1,101 @@
+package com.library.adapter.base.util;
+
+import android.util.SparseIntArray;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * RecycledViewPools shared by the RecyclerViews whose adapters are of the same class, like the
+ * nested horizontal lists of the rows of a vertical list: a holder recycled by a row is bound
+ * again by the next one instead of being created again.
+ * <p>
+ * The adapters of a class are expected to create the same views for a view type. The views the
+ * adapter holds itself, the headers, footers, empty and load more views, are never shared.
+ * <p>
+ * Unless set with {@link #setMaxRecycledViews(Class, int, int)}, the pool of a view type holds
+ * twice the most holders of the type seen attached at once in one RecyclerView, so that a whole
+ * row can be recycled before the next one is bound. Use on the main thread only.
+ *
+ * @see com.library.adapter.base.BaseQuickAdapter#bindToRecyclerView(RecyclerView, RecycledViewPoolRegistry)
+ */
+public class RecycledViewPoolRegistry {
+
+    /**
+     * the default size of the pools of RecyclerView
+     */
+    private static final int DEFAULT_MAX_SCRAP = 5;
+
+    private final Map<Class<?>, Entry> mEntries = new HashMap<>();
+
+    /**
+     * @return the pool shared by the adapters of the class
+     */
+    @NonNull
+    public RecyclerView.RecycledViewPool getPool(@NonNull Class<?> adapterClass) {
+        return getEntry(adapterClass).pool;
+    }
+
+    /**
+     * Set the size of the pool of a view type, which is then no longer sized automatically.
+     */
+    public void setMaxRecycledViews(@NonNull Class<?> adapterClass, int viewType, int max) {
+        Entry entry = getEntry(adapterClass);
+        entry.fixedMaxes.put(viewType, max);
+        entry.pool.setMaxRecycledViews(viewType, max);
+    }
+
+    /**
+     * Keep the holders of a view type out of the pool, for the views held by the adapter itself.
+     */
+    public void exclude(@NonNull Class<?> adapterClass, int viewType) {
+        setMaxRecycledViews(adapterClass, viewType, 0);
+    }
+
+    /**
+     * Called by the adapter when the number of holders of a view type attached to its
+     * RecyclerView grows, to size the pool of the type.
+     */
+    public void onVisibleCount(@NonNull Class<?> adapterClass, int viewType, int count) {
+        Entry entry = getEntry(adapterClass);
+        if (entry.fixedMaxes.indexOfKey(viewType) >= 0 || count <= entry.peaks.get(viewType)) {
+            return;
+        }
+        entry.peaks.put(viewType, count);
+        entry.pool.setMaxRecycledViews(viewType, Math.max(DEFAULT_MAX_SCRAP, count * 2));
+    }
+
+    /**
+     * @return the most holders of the view type seen attached at once in one RecyclerView
+     */
+    public int getPeakVisibleCount(@NonNull Class<?> adapterClass, int viewType) {
+        Entry entry = mEntries.get(adapterClass);
+        return entry == null ? 0 : entry.peaks.get(viewType);
+    }
+
+    /**
+     * Drop the recycled holders of every pool.
+     */
+    public void clear() {
+        for (Entry entry : mEntries.values()) {
+            entry.pool.clear();
+        }
+    }
+
+    @NonNull
+    private Entry getEntry(@NonNull Class<?> adapterClass) {
+        Entry entry = mEntries.get(adapterClass);
+        if (entry == null) {
+            entry = new Entry();
+            mEntries.put(adapterClass, entry);
+        }
+        return entry;
+    }
+
+    private static final class Entry {
+        final RecyclerView.RecycledViewPool pool = new RecyclerView.RecycledViewPool();
+        final SparseIntArray peaks = new SparseIntArray();
+        final SparseIntArray fixedMaxes = new SparseIntArray();
+    }
+}
@@ -0,0 +1,253 @@
+package com.library.adapter.base.util;
+
+import com.library.adapter.base.entity.SectionEntity;
+import com.library.adapter.base.entity.SectionMultiEntity;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorted index of the positions of the section headers in the adapter data, a
+ * {@link SectionEntity} or {@link SectionMultiEntity} whose isHeader is set. The section of a
+ * position is found with a binary search instead of walking the data backwards.
+ * <p>
+ * The positions are kept up to date with the range notifications of the adapter, by shifting
+ * the positions after the range. When the index can't tell what changed, or its size doesn't
+ * match the data any more, the positions are read again from the data on the next query.
+ * <p>
+ * The items of an insert, a change or a move are read from the data at the positions of the
+ * notification, so it must be reported right after the change. Notifications dispatched after
+ * further changes, by a batch transaction or a diff, must {@link #invalidate()} the index instead.
+ */
+public class SectionIndex {
+
+    public static final int NO_POSITION = -1;
+
+    private int[] mHeaders = new int[16];
+    private int mCount;
+    /**
+     * size of the data the positions are of
+     */
+    private int mSize;
+    private boolean mValid;
+    private boolean mTracking;
+    /**
+     * number of notifications received, see {@link #getChangeCount()}
+     */
+    private int mChangeCount;
+
+    /**
+     * @param tracking true if every change of the data is reported to the index, otherwise the
+     *                 positions are read again from the data on every query.
+     */
+    public void setTracking(boolean tracking) {
+        mTracking = tracking;
+        invalidate();
+    }
+
+    /**
+     * @return true for a section header
+     */
+    public static boolean isSectionHeader(Object item) {
+        if (item instanceof SectionEntity) {
+            return ((SectionEntity) item).isHeader;
+        }
+        return item instanceof SectionMultiEntity && ((SectionMultiEntity) item).isHeader;
+    }
+
+    /**
+     * Forget everything, the positions are read again from the data on the next query.
+     */
+    public void invalidate() {
+        mValid = false;
+        mChangeCount++;
+    }
+
+    public boolean isValid() {
+        return mValid;
+    }
+
+    /**
+     * @return a count which changes whenever a change of the data is reported to the index, to
+     * tell whether something read from the data before is still up to date
+     */
+    public int getChangeCount() {
+        return mChangeCount;
+    }
+
+    /**
+     * Read the positions of the headers from the data.
+     */
+    public void rebuild(List<?> data) {
+        mCount = 0;
+        mSize = data.size();
+        for (int i = 0; i < mSize; i++) {
+            if (isSectionHeader(data.get(i))) {
+                ensureCapacity(mCount + 1);
+                mHeaders[mCount++] = i;
+            }
+        }
+        mValid = true;
+    }
+
+    /**
+     * Read the positions of the headers from the data if the index is not valid, or not tracking
+     * the changes, or of a data of another size.
+     */
+    public void ensureValid(List<?> data) {
+        if (!mTracking || !mValid || mSize != data.size()) {
+            rebuild(data);
+        }
+    }
+
+    public void onItemRangeInserted(List<?> data, int position, int itemCount) {
+        mChangeCount++;
+        if (!mValid) {
+            return;
+        }
+        if (position >= mSize && position >= data.size()) {
+            // past the data, the footer or load more views
+            return;
+        }
+        if (position < 0 || position > mSize || position + itemCount > data.size()) {
+            invalidate();
+            return;
+        }
+        int index = lowerBound(position);
+        for (int i = index; i < mCount; i++) {
+            mHeaders[i] += itemCount;
+        }
+        for (int i = position; i < position + itemCount; i++) {
+            if (isSectionHeader(data.get(i))) {
+                insertAt(index++, i);
+            }
+        }
+        mSize += itemCount;
+    }
+
+    public void onItemRangeRemoved(int position, int itemCount) {
+        mChangeCount++;
+        if (!mValid || position >= mSize) {
+            return;
+        }
+        if (position < 0 || position + itemCount > mSize) {
+            invalidate();
+            return;
+        }
+        int from = lowerBound(position);
+        int to = lowerBound(position + itemCount);
+        System.arraycopy(mHeaders, to, mHeaders, from, mCount - to);
+        mCount -= to - from;
+        for (int i = from; i < mCount; i++) {
+            mHeaders[i] -= itemCount;
+        }
+        mSize -= itemCount;
+    }
+
+    public void onItemRangeChanged(List<?> data, int position, int itemCount) {
+        mChangeCount++;
+        if (!mValid || position >= mSize) {
+            return;
+        }
+        if (position < 0 || position + itemCount > mSize || mSize != data.size()) {
+            invalidate();
+            return;
+        }
+        int from = lowerBound(position);
+        int to = lowerBound(position + itemCount);
+        System.arraycopy(mHeaders, to, mHeaders, from, mCount - to);
+        mCount -= to - from;
+        for (int i = position; i < position + itemCount; i++) {
+            if (isSectionHeader(data.get(i))) {
+                insertAt(from++, i);
+            }
+        }
+    }
+
+    /**
+     * @param data the data, the item already moved
+     */
+    public void onItemRangeMoved(List<?> data, int fromPosition, int toPosition, int itemCount) {
+        mChangeCount++;
+        if (!mValid) {
+            return;
+        }
+        if (itemCount != 1 || fromPosition < 0 || fromPosition >= mSize || toPosition < 0
+                || toPosition >= mSize || mSize != data.size()) {
+            invalidate();
+            return;
+        }
+        onItemRangeRemoved(fromPosition, 1);
+        onItemRangeInserted(data, toPosition, 1);
+    }
+
+    /**
+     * @return number of sections, the items before the first header aren't in a section
+     */
+    public int getSectionCount() {
+        return mCount;
+    }
+
+    /**
+     * @return the position of the header of the section
+     */
+    public int getHeaderPosition(int section) {
+        if (section < 0 || section >= mCount) {
+            throw new IndexOutOfBoundsException("Section: " + section + ", Count: " + mCount);
+        }
+        return mHeaders[section];
+    }
+
+    /**
+     * @return the section of the position, -1 if it is before the first header
+     */
+    public int getSectionForPosition(int position) {
+        return lowerBound(position + 1) - 1;
+    }
+
+    /**
+     * @return the position of the header of the section of the position, NO_POSITION if it is
+     * before the first header
+     */
+    public int getSectionHeaderPosition(int position) {
+        int section = getSectionForPosition(position);
+        return section < 0 ? NO_POSITION : mHeaders[section];
+    }
+
+    /**
+     * @return the position of the first header after the position, NO_POSITION if none
+     */
+    public int getNextSectionHeaderPosition(int position) {
+        int index = lowerBound(position + 1);
+        return index < mCount ? mHeaders[index] : NO_POSITION;
+    }
+
+    /**
+     * @return index of the first header at or after the position
+     */
+    private int lowerBound(int position) {
+        int low = 0;
+        int high = mCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (mHeaders[mid] < position) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void insertAt(int index, int position) {
+        ensureCapacity(mCount + 1);
+        System.arraycopy(mHeaders, index, mHeaders, index + 1, mCount - index);
+        mHeaders[index] = position;
+        mCount++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (mHeaders.length < capacity) {
+            mHeaders = Arrays.copyOf(mHeaders, Math.max(capacity, mHeaders.length * 2));
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.library.adapter.base.util;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.text.SpannedString;
+import android.util.LruCache;
+import android.util.SparseArray;
+import android.view.View;
+import android.widget.EditText;
+import android.widget.TextView;
+import androidx.annotation.IdRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+import com.library.adapter.base.ViewHolder;
+import java.util.HashSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Compute the text layout of the TextViews of the upcoming items off the main thread, so that
+ * {@link ViewHolder#setText(int, CharSequence)} applies a {@link PrecomputedTextCompat} instead
+ * of measuring and breaking the text while binding.
+ * <p>
+ * The texts are given by the {@link TextSource}, they must be the ones convert sets on the
+ * TextViews. They are computed with the params of the TextViews captured when the first holder
+ * of each view type is created, and applied only while the params of the TextView still match.
+ * Only immutable texts, String and SpannedString, are precomputed.
+ *
+ * @see com.library.adapter.base.BaseQuickAdapter#setTextPrecomputer(TextPrecomputer)
+ */
+public class TextPrecomputer<T> {
+
+    /**
+     * Text of the TextViews of an item, read on the main thread
+     */
+    public interface TextSource<T> {
+        /**
+         * @return the text convert sets on the TextView of the item, null if none
+         */
+        @Nullable
+        CharSequence getText(@NonNull T item, int viewType, @IdRes int viewId);
+    }
+
+    private static final int DEFAULT_LOOK_AHEAD = 10;
+
+    private static final Object sExecutorLock = new Object();
+    private static Executor sPrecomputeExecutor = null;
+
+    private final TextSource<T> mSource;
+    private final int[] mViewIds;
+    private final int mLookAhead;
+    private final Executor mExecutor;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    /**
+     * params of the TextViews indexed with the view types then the view ids
+     */
+    private final SparseArray<SparseArray<PrecomputedTextCompat.Params>> mParams = new SparseArray<>();
+    /**
+     * computed texts indexed with the view ids then the texts
+     */
+    private final SparseArray<LruCache<CharSequence, PrecomputedTextCompat>> mResults = new SparseArray<>();
+    /**
+     * texts being computed indexed with the view ids
+     */
+    private final SparseArray<HashSet<CharSequence>> mPending = new SparseArray<>();
+    private int mGeneration;
+    private int mHitCount;
+    private int mMissCount;
+
+    /**
+     * @param source  the texts of the items
+     * @param viewIds ids of the TextViews whose text is precomputed
+     */
+    public TextPrecomputer(@NonNull TextSource<T> source, @IdRes int... viewIds) {
+        this(DEFAULT_LOOK_AHEAD, null, source, viewIds);
+    }
+
+    /**
+     * @param lookAhead number of items past the bound one whose texts are precomputed
+     * @param executor  executor the texts are computed on, null to use a shared background thread
+     * @param source    the texts of the items
+     * @param viewIds   ids of the TextViews whose text is precomputed
+     */
+    public TextPrecomputer(int lookAhead, @Nullable Executor executor, @NonNull TextSource<T> source,
+                           @IdRes int... viewIds) {
+        mLookAhead = Math.max(1, lookAhead);
+        mExecutor = executor == null ? getDefaultPrecomputeExecutor() : executor;
+        mSource = source;
+        mViewIds = viewIds.clone();
+    }
+
+    private static Executor getDefaultPrecomputeExecutor() {
+        synchronized (sExecutorLock) {
+            if (sPrecomputeExecutor == null) {
+                sPrecomputeExecutor = Executors.newSingleThreadExecutor();
+            }
+        }
+        return sPrecomputeExecutor;
+    }
+
+    public int getLookAhead() {
+        return mLookAhead;
+    }
+
+    /**
+     * Capture the params of the TextViews of the first holder of a view type, called by the adapter.
+     */
+    public void onViewHolderCreated(@NonNull ViewHolder holder, int viewType) {
+        if (mParams.get(viewType) != null) {
+            return;
+        }
+        SparseArray<PrecomputedTextCompat.Params> params = new SparseArray<>();
+        for (int viewId : mViewIds) {
+            View view = holder.itemView.findViewById(viewId);
+            if (view instanceof TextView && !(view instanceof EditText)) {
+                params.put(viewId, TextViewCompat.getTextMetricsParams((TextView) view));
+            }
+        }
+        mParams.put(viewType, params);
+    }
+
+    /**
+     * Compute the texts of an upcoming item in the background, called by the adapter.
+     */
+    public void precompute(@NonNull T item, int viewType) {
+        SparseArray<PrecomputedTextCompat.Params> params = mParams.get(viewType);
+        if (params == null) {
+            // no holder of the view type created yet
+            return;
+        }
+        for (int i = 0; i < params.size(); i++) {
+            int viewId = params.keyAt(i);
+            CharSequence text = mSource.getText(item, viewType, viewId);
+            if (!isPrecomputable(text) || getResults(viewId).get(text) != null) {
+                continue;
+            }
+            HashSet<CharSequence> pending = mPending.get(viewId);
+            if (pending == null) {
+                pending = new HashSet<>();
+                mPending.put(viewId, pending);
+            }
+            if (pending.add(text)) {
+                startComputing(viewId, text, params.valueAt(i));
+            }
+        }
+    }
+
+    /**
+     * Set the precomputed text on the TextView, called on the main thread by the ViewHolder.
+     *
+     * @return false if the text has not been computed, or with other params, the text is then left to set
+     */
+    public boolean apply(@NonNull TextView view, @IdRes int viewId, @Nullable CharSequence text) {
+        if (!isPrecomputable(text) || mResults.indexOfKey(viewId) < 0) {
+            return false;
+        }
+        PrecomputedTextCompat result = mResults.get(viewId).get(text);
+        if (result == null || !result.getParams().equals(TextViewCompat.getTextMetricsParams(view))) {
+            mMissCount++;
+            return false;
+        }
+        TextViewCompat.setPrecomputedText(view, result);
+        mHitCount++;
+        return true;
+    }
+
+    /**
+     * Ignore the texts being computed, called when the adapter is detached.
+     */
+    public void stop() {
+        mGeneration++;
+        mPending.clear();
+    }
+
+    /**
+     * @return number of texts set precomputed
+     */
+    public int getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * @return number of texts of the precomputed TextViews which had to be laid out while binding
+     */
+    public int getMissCount() {
+        return mMissCount;
+    }
+
+    private static boolean isPrecomputable(@Nullable CharSequence text) {
+        return text != null && text.length() > 0 && (text instanceof String || text instanceof SpannedString);
+    }
+
+    @NonNull
+    private LruCache<CharSequence, PrecomputedTextCompat> getResults(int viewId) {
+        LruCache<CharSequence, PrecomputedTextCompat> results = mResults.get(viewId);
+        if (results == null) {
+            // the upcoming items in both directions and the ones just bound
+            results = new LruCache<>(mLookAhead * 4);
+            mResults.put(viewId, results);
+        }
+        return results;
+    }
+
+    private void startComputing(final int viewId, final CharSequence text, final PrecomputedTextCompat.Params params) {
+        final int generation = mGeneration;
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                PrecomputedTextCompat result;
+                try {
+                    result = PrecomputedTextCompat.create(text, params);
+                } catch (RuntimeException e) {
+                    result = null;
+                }
+                final PrecomputedTextCompat computed = result;
+                mMainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onComputed(generation, viewId, text, computed);
+                    }
+                });
+            }
+        });
+    }
+
+    private void onComputed(int generation, int viewId, CharSequence text, @Nullable PrecomputedTextCompat result) {
+        if (generation != mGeneration) {
+            return;
+        }
+        HashSet<CharSequence> pending = mPending.get(viewId);
+        if (pending != null) {
+            pending.remove(text);
+        }
+        if (result != null) {
+            getResults(viewId).put(text, result);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.library.adapter.base.util;
+
+import androidx.annotation.IdRes;
+import androidx.annotation.NonNull;
+
+/**
+ * Dense slots for the ids of the views a view type accesses, shared by all the holders of
+ * that view type. A holder keeps its views in an array indexed with the slots, the slot of an
+ * id is its index in the declared ids, repeated ids and View.NO_ID left out.
+ * <p>
+ * The ids are hashed into an open addressing table, a lookup is a multiplication and
+ * usually a single probe.
+ *
+ * @see com.library.adapter.base.BaseQuickAdapter#setItemViewIds(int, int...)
+ */
+public final class ViewSlots {
+
+    private static final int EMPTY = 0;
+
+    private final int[] mIds;
+    private final int[] mKeys;
+    private final int[] mSlots;
+    private final int mShift;
+
+    public ViewSlots(@NonNull @IdRes int... ids) {
+        int count = 0;
+        int[] distinct = new int[ids.length];
+        int bits = 1;
+        while ((1 << bits) < ids.length * 2) {
+            bits++;
+        }
+        mShift = 32 - bits;
+        mKeys = new int[1 << bits];
+        mSlots = new int[1 << bits];
+        for (int id : ids) {
+            // 0 is View.NO_ID, and the empty mark of the table
+            if (id == EMPTY || indexOf(id) >= 0) {
+                continue;
+            }
+            int index = hash(id);
+            while (mKeys[index] != EMPTY) {
+                index = (index + 1) & (mKeys.length - 1);
+            }
+            mKeys[index] = id;
+            mSlots[index] = count;
+            distinct[count++] = id;
+        }
+        mIds = new int[count];
+        System.arraycopy(distinct, 0, mIds, 0, count);
+    }
+
+    private int hash(int id) {
+        return (id * 0x9E3779B9) >>> mShift;
+    }
+
+    /**
+     * @return the slot of the id, -1 if it was not declared
+     */
+    public int indexOf(@IdRes int id) {
+        if (id == EMPTY) {
+            return -1;
+        }
+        int index = hash(id);
+        int key;
+        while ((key = mKeys[index]) != EMPTY) {
+            if (key == id) {
+                return mSlots[index];
+            }
+            index = (index + 1) & (mKeys.length - 1);
+        }
+        return -1;
+    }
+
+    /**
+     * @return number of slots
+     */
+    public int size() {
+        return mIds.length;
+    }
+
+    @IdRes
+    public int getId(int slot) {
+        return mIds[slot];
+    }
+}
@@ -0,0 +1,121 @@
+package com.library.adapter.base.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * View types of the adapter data indexed with their data positions.
+ * <p>
+ * An entry remembers the item it was resolved for and is only used while the same item is
+ * still at that position, so a missed shift costs a resolution, never a wrong type.
+ * Entries are shifted and cleared with the range notifications of the adapter.
+ *
+ * @see com.library.adapter.base.BaseQuickAdapter#setViewTypeCacheEnabled(boolean)
+ */
+public class ViewTypeCache {
+
+    private Object[] mItems = new Object[16];
+    private int[] mTypes = new int[16];
+
+    /**
+     * @return true if the type of the item at the position is cached
+     */
+    public boolean contains(List<?> data, int position) {
+        if (position < 0 || position >= mItems.length) {
+            return false;
+        }
+        Object item = mItems[position];
+        return item != null && item == data.get(position);
+    }
+
+    /**
+     * @return the cached type, only meaningful if {@link #contains(List, int)} returned true
+     */
+    public int getType(int position) {
+        return mTypes[position];
+    }
+
+    public void put(int position, Object item, int type) {
+        if (item == null || position < 0) {
+            return;
+        }
+        ensureCapacity(position + 1);
+        mItems[position] = item;
+        mTypes[position] = type;
+    }
+
+    public void clear() {
+        Arrays.fill(mItems, null);
+    }
+
+    public void onItemRangeInserted(int position, int itemCount) {
+        if (position < 0 || itemCount <= 0) {
+            clear();
+            return;
+        }
+        if (position >= mItems.length) {
+            return;
+        }
+        // entries shifted past the end are dropped, they are resolved again when bound
+        int length = mItems.length;
+        int end = Math.min(position + itemCount, length);
+        if (end < length) {
+            System.arraycopy(mItems, position, mItems, end, length - end);
+            System.arraycopy(mTypes, position, mTypes, end, length - end);
+        }
+        Arrays.fill(mItems, position, end, null);
+    }
+
+    public void onItemRangeRemoved(int position, int itemCount) {
+        if (position < 0 || itemCount <= 0) {
+            clear();
+            return;
+        }
+        int length = mItems.length;
+        if (position >= length) {
+            return;
+        }
+        int end = Math.min(position + itemCount, length);
+        System.arraycopy(mItems, end, mItems, position, length - end);
+        System.arraycopy(mTypes, end, mTypes, position, length - end);
+        Arrays.fill(mItems, length - (end - position), length, null);
+    }
+
+    public void onItemRangeChanged(int position, int itemCount) {
+        if (position < 0) {
+            clear();
+            return;
+        }
+        int end = Math.min(position + itemCount, mItems.length);
+        if (position < end) {
+            Arrays.fill(mItems, position, end, null);
+        }
+    }
+
+    public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+        if (fromPosition < 0 || toPosition < 0 || itemCount != 1) {
+            clear();
+            return;
+        }
+        ensureCapacity(Math.max(fromPosition, toPosition) + 1);
+        Object item = mItems[fromPosition];
+        int type = mTypes[fromPosition];
+        if (fromPosition < toPosition) {
+            System.arraycopy(mItems, fromPosition + 1, mItems, fromPosition, toPosition - fromPosition);
+            System.arraycopy(mTypes, fromPosition + 1, mTypes, fromPosition, toPosition - fromPosition);
+        } else {
+            System.arraycopy(mItems, toPosition, mItems, toPosition + 1, fromPosition - toPosition);
+            System.arraycopy(mTypes, toPosition, mTypes, toPosition + 1, fromPosition - toPosition);
+        }
+        mItems[toPosition] = item;
+        mTypes[toPosition] = type;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (mItems.length < capacity) {
+            int length = Math.max(capacity, mItems.length * 2);
+            mItems = Arrays.copyOf(mItems, length);
+            mTypes = Arrays.copyOf(mTypes, length);
+        }
+    }
+}
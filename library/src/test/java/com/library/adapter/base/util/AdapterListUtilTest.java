@@ -0,0 +1,84 @@
+package com.library.adapter.base.util;
+
+import static org.junit.Assert.assertEquals;
+
+import com.library.adapter.base.entity.AbstractExpandableItem;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+public class AdapterListUtilTest {
+
+    /**
+     * Short moves rotate, long moves remove and insert, both must give what a single remove and
+     * insert gives.
+     */
+    @Test
+    public void moveItemMatchesRemoveAndInsert() {
+        Random random = new Random(3);
+        List<Integer> data = new ArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            data.add(i);
+            expected.add(i);
+        }
+        for (int i = 0; i < 500; i++) {
+            int from = random.nextInt(data.size());
+            int to = random.nextInt(10) == 0 ? random.nextInt(data.size())
+                    : Math.max(0, Math.min(data.size() - 1, from + random.nextInt(7) - 3));
+            AdapterListUtil.moveItem(data, from, to);
+            expected.add(to, expected.remove(from));
+            assertEquals(expected, data);
+        }
+    }
+
+    @Test
+    public void collapseAndExpandAgain() {
+        Node root = new Node(0);
+        Node child = new Node(1);
+        child.addSubItem("leaf 1");
+        child.addSubItem("leaf 2");
+        root.addSubItem(child);
+        root.addSubItem("leaf 3");
+        Node next = new Node(0);
+        List<Object> data = new ArrayList<Object>(Arrays.asList(root, child, "leaf 1", "leaf 2", "leaf 3", next));
+        List<Object> expanded = new ArrayList<>(data);
+
+        assertEquals(4, AdapterListUtil.removeSubItems(data, 0));
+        assertEquals(Arrays.<Object>asList(root, next), data);
+
+        child.setExpanded(true);
+        assertEquals(4, AdapterListUtil.addSubItems(data, 1, root.getSubItems()));
+        assertEquals(expanded, data);
+    }
+
+    @Test
+    public void parentPositions() {
+        Node root = new Node(0);
+        Node hidden = new Node(-1);
+        List<Object> data = new ArrayList<Object>(Arrays.asList(root, new Node(1), "leaf", hidden, "leaf"));
+        ExpandableIndex index = new ExpandableIndex();
+        assertEquals(0, AdapterListUtil.getParentPosition(data, index, 0));
+        assertEquals(0, AdapterListUtil.getParentPosition(data, index, 1));
+        assertEquals(1, AdapterListUtil.getParentPosition(data, index, 2));
+        assertEquals(-1, AdapterListUtil.getParentPosition(data, index, 3));
+        // the negative level node is skipped
+        assertEquals(1, AdapterListUtil.getParentPosition(data, index, 4));
+        assertEquals(-1, AdapterListUtil.getParentPosition(data, index, 5));
+    }
+
+    private static final class Node extends AbstractExpandableItem<Object> {
+        private final int mLevel;
+
+        Node(int level) {
+            mLevel = level;
+        }
+
+        @Override
+        public int getLevel() {
+            return mLevel;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.library.adapter.base.util;
+
+import static org.junit.Assert.assertEquals;
+
+import com.library.adapter.base.entity.AbstractExpandableItem;
+import com.library.adapter.base.entity.IExpandable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The lookups of the index must always give what walking the data backwards gives.
+ */
+public class ExpandableIndexTest {
+
+    private static final int[] LEVELS = {0, 1, 2, 3, ExpandableIndex.NO_LEVEL};
+
+    private List<Object> mData;
+    private ExpandableIndex mIndex;
+
+    @Before
+    public void setUp() {
+        mData = new ArrayList<>();
+        mData.add(new Node(0));
+        mData.add(new Node(1));
+        mData.add("leaf");
+        mData.add(new Node(2));
+        mData.add("leaf");
+        mData.add(new Node(-1));
+        mData.add(new Node(0));
+        mData.add("leaf");
+        mIndex = new ExpandableIndex();
+        mIndex.setTracking(true);
+    }
+
+    @Test
+    public void findsTheParents() {
+        assertEquals(1, mIndex.findParentPosition(mData, 2, ExpandableIndex.NO_LEVEL));
+        assertEquals(1, mIndex.findParentPosition(mData, 3, 2));
+        assertEquals(0, mIndex.findParentPosition(mData, 3, 1));
+        // the negative level node is skipped
+        assertEquals(3, mIndex.findParentPosition(mData, 5, ExpandableIndex.NO_LEVEL));
+        assertEquals(6, mIndex.findParentPosition(mData, 7, ExpandableIndex.NO_LEVEL));
+        assertEquals(-1, mIndex.findParentPosition(mData, 0, 0));
+        assertEquals(5, mIndex.findPreviousExpandable(mData, 6, 0));
+    }
+
+    @Test
+    public void insertRemoveAndMove() {
+        assertMatchesData();
+        insert(2, new Node(1), "leaf");
+        assertMatchesData();
+        remove(0, 2);
+        assertMatchesData();
+        move(4, 0);
+        assertMatchesData();
+        move(0, 5);
+        assertMatchesData();
+    }
+
+    @Test
+    public void changeOfLevel() {
+        assertMatchesData();
+        mData.set(2, new Node(1));
+        mIndex.onItemRangeChanged(mData, 2, 1);
+        assertMatchesData();
+    }
+
+    @Test
+    public void rangePastTheDataIsIgnored() {
+        assertMatchesData();
+        // a footer or the load more view, after the data
+        mIndex.onItemRangeInserted(mData, mData.size(), 1);
+        mIndex.onItemRangeRemoved(mData.size(), 1);
+        mIndex.onItemRangeChanged(mData, mData.size(), 1);
+        assertMatchesData();
+    }
+
+    @Test
+    public void missedChangeIsRepairedWhenTheSizeDiffers() {
+        assertMatchesData();
+        // a header of the adapter removed and wrongly mapped to the first data position
+        mIndex.onItemRangeRemoved(0, 1);
+        assertMatchesData();
+        // a header of the adapter added, mapped before the data
+        mIndex.onItemRangeInserted(mData, -1, 1);
+        assertMatchesData();
+    }
+
+    @Test
+    public void randomChangesMatchTheData() {
+        Random random = new Random(7);
+        for (int step = 0; step < 1000; step++) {
+            int size = mData.size();
+            switch (random.nextInt(4)) {
+                case 0:
+                    insert(random.nextInt(size + 1), randomItem(random));
+                    break;
+                case 1:
+                    if (size > 0) {
+                        int position = random.nextInt(size);
+                        remove(position, 1 + random.nextInt(Math.min(3, size - position)));
+                    }
+                    break;
+                case 2:
+                    if (size > 0) {
+                        int position = random.nextInt(size);
+                        mData.set(position, randomItem(random));
+                        mIndex.onItemRangeChanged(mData, position, 1);
+                    }
+                    break;
+                default:
+                    if (size > 1) {
+                        move(random.nextInt(size), random.nextInt(size));
+                    }
+                    break;
+            }
+            assertMatchesData();
+        }
+    }
+
+    private static Object randomItem(Random random) {
+        int level = random.nextInt(6) - 1;
+        return level > 3 ? "leaf" : new Node(level);
+    }
+
+    private void insert(int position, Object... items) {
+        for (int i = 0; i < items.length; i++) {
+            mData.add(position + i, items[i]);
+        }
+        mIndex.onItemRangeInserted(mData, position, items.length);
+    }
+
+    private void remove(int position, int count) {
+        mData.subList(position, position + count).clear();
+        mIndex.onItemRangeRemoved(position, count);
+    }
+
+    private void move(int from, int to) {
+        mData.add(to, mData.remove(from));
+        mIndex.onItemRangeMoved(from, to, 1);
+    }
+
+    private void assertMatchesData() {
+        for (int position = 0; position < mData.size(); position++) {
+            for (int level : LEVELS) {
+                assertEquals("parent of " + position + " below " + level,
+                        findParent(position, level), mIndex.findParentPosition(mData, position, level));
+                assertEquals("expandable before " + position + " below " + level,
+                        findPrevious(position, level), mIndex.findPreviousExpandable(mData, position, level));
+            }
+        }
+    }
+
+    private int findParent(int position, int level) {
+        for (int i = position; i >= 0; i--) {
+            int itemLevel = levelOf(mData.get(i));
+            if (itemLevel >= 0 && itemLevel < level) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int findPrevious(int position, int level) {
+        for (int i = position - 1; i >= 0; i--) {
+            if (levelOf(mData.get(i)) < level) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int levelOf(Object item) {
+        return item instanceof IExpandable ? ((IExpandable) item).getLevel() : ExpandableIndex.NO_LEVEL;
+    }
+
+    private static final class Node extends AbstractExpandableItem<Object> {
+        private final int mLevel;
+
+        Node(int level) {
+            mLevel = level;
+        }
+
+        @Override
+        public int getLevel() {
+            return mLevel;
+        }
+    }
+}
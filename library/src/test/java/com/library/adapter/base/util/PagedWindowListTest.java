@@ -0,0 +1,175 @@
+package com.library.adapter.base.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import com.library.adapter.base.PageSource;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The pages are loaded on an executor run by hand, the results are handed back directly.
+ */
+public class PagedWindowListTest {
+
+    private static final int COUNT = 95;
+    private static final int PAGE_SIZE = 10;
+
+    private final Queue<Runnable> mLoads = new ArrayDeque<>();
+    private final Set<Integer> mFailingPositions = new HashSet<>();
+    private final List<Integer> mLoadedRanges = new ArrayList<>();
+    private PagedWindowList<String> mList;
+
+    @Before
+    public void setUp() {
+        mList = new PagedWindowList<>(new PageSource<String>() {
+            @Override
+            public int getCount() {
+                return COUNT;
+            }
+
+            @Override
+            public List<String> loadRange(int position, int count) {
+                if (mFailingPositions.contains(position)) {
+                    throw new IllegalStateException("page " + position);
+                }
+                List<String> items = new ArrayList<>(count);
+                for (int i = position; i < position + count; i++) {
+                    items.add("item " + i);
+                }
+                return items;
+            }
+        }, PAGE_SIZE, 3, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                mLoads.add(command);
+            }
+        }, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        }, new PagedWindowList.Callback() {
+            @Override
+            public void onRangeLoaded(int position, int count) {
+                mLoadedRanges.add(position);
+                mLoadedRanges.add(count);
+            }
+        });
+    }
+
+    @Test
+    public void itemsArePlaceholdersUntilLoaded() {
+        assertEquals(COUNT, mList.size());
+        mList.loadAround(25);
+        assertNull(mList.get(25));
+        runLoads();
+        assertEquals("item 25", mList.get(25));
+        assertEquals("item 20", mList.get(20));
+        assertNull(mList.get(30));
+        assertEquals(2, mLoadedRanges.size());
+        assertEquals(20, (int) mLoadedRanges.get(0));
+        assertEquals(10, (int) mLoadedRanges.get(1));
+    }
+
+    @Test
+    public void lastPageIsShort() {
+        mList.loadAround(94);
+        runLoads();
+        assertEquals("item 94", mList.get(94));
+        assertEquals(5, (int) mLoadedRanges.get(1));
+    }
+
+    @Test
+    public void rangeIsLoadedFromTheAnchor() {
+        mList.loadRange(0, 94, 45);
+        assertEquals(3, mLoads.size());
+        runLoads();
+        assertEquals(40, (int) mLoadedRanges.get(0));
+        assertEquals(50, (int) mLoadedRanges.get(2));
+        assertEquals(30, (int) mLoadedRanges.get(4));
+        assertNull(mList.get(29));
+        assertNull(mList.get(60));
+    }
+
+    @Test
+    public void farthestPageIsDropped() {
+        mList.loadRange(0, 29, 0);
+        runLoads();
+        assertEquals("item 25", mList.get(25));
+        mList.loadRange(30, 39, 35);
+        runLoads();
+        assertNull(mList.get(5));
+        assertEquals("item 15", mList.get(15));
+        assertEquals("item 25", mList.get(25));
+        assertEquals("item 35", mList.get(35));
+    }
+
+    @Test
+    public void pageDroppedWhileLoadingIsIgnored() {
+        mList.loadRange(0, 29, 0);
+        mList.loadRange(30, 39, 35);
+        runLoads();
+        assertNull(mList.get(5));
+        assertEquals("item 35", mList.get(35));
+        assertEquals(6, mLoadedRanges.size());
+    }
+
+    @Test
+    public void failedPageIsRetried() {
+        mFailingPositions.add(10);
+        mList.loadRange(0, 19, 0);
+        runLoads();
+        assertEquals("item 5", mList.get(5));
+        assertNull(mList.get(15));
+        // a failed page isn't requested again by a load
+        mList.loadAround(15);
+        assertEquals(0, mLoads.size());
+        mFailingPositions.clear();
+        mList.retryFailedPages();
+        runLoads();
+        assertEquals("item 15", mList.get(15));
+    }
+
+    @Test
+    public void closeIgnoresTheLoadsRunning() {
+        mList.loadAround(5);
+        mList.close();
+        runLoads();
+        assertNull(mList.get(5));
+        assertEquals(0, mLoadedRanges.size());
+        mList.loadAround(5);
+        assertEquals(0, mLoads.size());
+    }
+
+    @Test
+    public void getOutOfRangeThrows() {
+        try {
+            mList.get(COUNT);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+            // expected
+        }
+        try {
+            mList.get(-1);
+            fail();
+        } catch (IndexOutOfBoundsException expected) {
+            // expected
+        }
+    }
+
+    private void runLoads() {
+        Runnable load;
+        while ((load = mLoads.poll()) != null) {
+            load.run();
+        }
+    }
+}
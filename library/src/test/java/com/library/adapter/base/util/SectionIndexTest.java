@@ -0,0 +1,204 @@
+package com.library.adapter.base.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.library.adapter.base.entity.SectionEntity;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * The index is maintained with the notifications the adapter sends, mapped to data positions,
+ * and must always match an index read again from the data.
+ */
+public class SectionIndexTest {
+
+    private List<Section> mData;
+    private SectionIndex mIndex;
+
+    @Before
+    public void setUp() {
+        mData = new ArrayList<>();
+        // headers at 0, 3 and 7
+        for (int i = 0; i < 10; i++) {
+            mData.add(new Section(i == 0 || i == 3 || i == 7));
+        }
+        mIndex = new SectionIndex();
+        mIndex.setTracking(true);
+        mIndex.rebuild(mData);
+    }
+
+    @Test
+    public void rebuildFindsTheHeaders() {
+        assertEquals(3, mIndex.getSectionCount());
+        assertEquals(3, mIndex.getHeaderPosition(1));
+        assertEquals(1, mIndex.getSectionForPosition(6));
+        assertEquals(7, mIndex.getSectionHeaderPosition(9));
+        assertEquals(7, mIndex.getNextSectionHeaderPosition(3));
+        assertEquals(SectionIndex.NO_POSITION, mIndex.getNextSectionHeaderPosition(7));
+    }
+
+    @Test
+    public void itemsBeforeTheFirstHeaderAreInNoSection() {
+        mData.add(0, new Section(false));
+        mIndex.onItemRangeInserted(mData, 0, 1);
+        assertMatchesData();
+        assertEquals(-1, mIndex.getSectionForPosition(0));
+        assertEquals(SectionIndex.NO_POSITION, mIndex.getSectionHeaderPosition(0));
+    }
+
+    @Test
+    public void insertShiftsTheFollowingHeaders() {
+        insert(4, new Section(false), new Section(true), new Section(false));
+        assertMatchesData();
+        assertEquals(4, mIndex.getSectionCount());
+        assertEquals(5, mIndex.getHeaderPosition(2));
+        assertEquals(10, mIndex.getHeaderPosition(3));
+    }
+
+    @Test
+    public void removeDropsTheHeadersOfTheRange() {
+        remove(2, 3);
+        assertMatchesData();
+        assertEquals(2, mIndex.getSectionCount());
+        assertEquals(4, mIndex.getHeaderPosition(1));
+    }
+
+    @Test
+    public void changeTurnsAnItemIntoAHeader() {
+        mData.get(5).isHeader = true;
+        mIndex.onItemRangeChanged(mData, 5, 1);
+        assertMatchesData();
+        mData.get(3).isHeader = false;
+        mIndex.onItemRangeChanged(mData, 3, 1);
+        assertMatchesData();
+        assertEquals(3, mIndex.getSectionCount());
+    }
+
+    @Test
+    public void moveHeaderForwardAndBack() {
+        move(3, 8);
+        assertMatchesData();
+        move(8, 1);
+        assertMatchesData();
+    }
+
+    @Test
+    public void rangePastTheDataIsIgnored() {
+        // a footer or the load more view, after the data
+        mIndex.onItemRangeInserted(mData, mData.size(), 1);
+        mIndex.onItemRangeRemoved(mData.size(), 1);
+        mIndex.onItemRangeChanged(mData, mData.size(), 1);
+        assertTrue(mIndex.isValid());
+        assertMatchesData();
+    }
+
+    @Test
+    public void rangeBeforeTheDataInvalidates() {
+        // a header of the adapter mapped to a negative data position
+        mIndex.onItemRangeRemoved(-1, 1);
+        assertFalse(mIndex.isValid());
+        mIndex.ensureValid(mData);
+        assertMatchesData();
+    }
+
+    @Test
+    public void missedChangeIsRepairedWhenTheSizeDiffers() {
+        // a header of the adapter removed and wrongly mapped to the first data position
+        mIndex.onItemRangeRemoved(0, 1);
+        assertTrue(mIndex.isValid());
+        mIndex.ensureValid(mData);
+        assertMatchesData();
+    }
+
+    @Test
+    public void notTrackingRebuildsOnEveryQuery() {
+        mIndex.setTracking(false);
+        mData.set(5, new Section(true));
+        mIndex.ensureValid(mData);
+        assertMatchesData();
+        assertEquals(4, mIndex.getSectionCount());
+    }
+
+    @Test
+    public void randomChangesMatchTheData() {
+        Random random = new Random(42);
+        for (int step = 0; step < 2000; step++) {
+            int size = mData.size();
+            switch (random.nextInt(4)) {
+                case 0: {
+                    int count = 1 + random.nextInt(4);
+                    Section[] sections = new Section[count];
+                    for (int i = 0; i < count; i++) {
+                        sections[i] = new Section(random.nextInt(3) == 0);
+                    }
+                    insert(random.nextInt(size + 1), sections);
+                    break;
+                }
+                case 1:
+                    if (size > 0) {
+                        int position = random.nextInt(size);
+                        remove(position, 1 + random.nextInt(Math.min(4, size - position)));
+                    }
+                    break;
+                case 2:
+                    if (size > 0) {
+                        int position = random.nextInt(size);
+                        mData.get(position).isHeader = !mData.get(position).isHeader;
+                        mIndex.onItemRangeChanged(mData, position, 1);
+                    }
+                    break;
+                default:
+                    if (size > 1) {
+                        move(random.nextInt(size), random.nextInt(size));
+                    }
+                    break;
+            }
+            assertTrue("step " + step, mIndex.isValid());
+            assertMatchesData();
+        }
+    }
+
+    private void insert(int position, Section... sections) {
+        for (int i = 0; i < sections.length; i++) {
+            mData.add(position + i, sections[i]);
+        }
+        mIndex.onItemRangeInserted(mData, position, sections.length);
+    }
+
+    private void remove(int position, int count) {
+        mData.subList(position, position + count).clear();
+        mIndex.onItemRangeRemoved(position, count);
+    }
+
+    private void move(int from, int to) {
+        mData.add(to, mData.remove(from));
+        mIndex.onItemRangeMoved(mData, from, to, 1);
+    }
+
+    /**
+     * Compare the index, without rebuilding it, to an index read from the data.
+     */
+    private void assertMatchesData() {
+        SectionIndex expected = new SectionIndex();
+        expected.rebuild(mData);
+        assertEquals(expected.getSectionCount(), mIndex.getSectionCount());
+        for (int section = 0; section < expected.getSectionCount(); section++) {
+            assertEquals("section " + section, expected.getHeaderPosition(section), mIndex.getHeaderPosition(section));
+        }
+        for (int position = 0; position < mData.size(); position++) {
+            assertEquals("position " + position, expected.getSectionForPosition(position),
+                    mIndex.getSectionForPosition(position));
+        }
+    }
+
+    private static final class Section extends SectionEntity<String> {
+        Section(boolean isHeader) {
+            super(isHeader, isHeader ? "header" : null);
+        }
+    }
+}
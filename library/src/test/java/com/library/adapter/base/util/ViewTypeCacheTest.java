@@ -0,0 +1,144 @@
+package com.library.adapter.base.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * A cached type must always be the type of the item now at the position, whatever the
+ * notifications the cache missed or got wrong.
+ */
+public class ViewTypeCacheTest {
+
+    private List<Item> mData;
+    private ViewTypeCache mCache;
+
+    @Before
+    public void setUp() {
+        mData = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            mData.add(new Item(i % 3));
+        }
+        mCache = new ViewTypeCache();
+        cacheAll();
+    }
+
+    @Test
+    public void insertShiftsTheEntries() {
+        mData.add(5, new Item(7));
+        mCache.onItemRangeInserted(5, 1);
+        assertFalse(mCache.contains(mData, 5));
+        assertTrue(mCache.contains(mData, 6));
+        assertTrue(mCache.contains(mData, 4));
+        assertConsistent();
+    }
+
+    @Test
+    public void removeShiftsTheEntries() {
+        mData.subList(3, 6).clear();
+        mCache.onItemRangeRemoved(3, 3);
+        for (int i = 0; i < mData.size(); i++) {
+            assertTrue("position " + i, mCache.contains(mData, i));
+        }
+        assertConsistent();
+    }
+
+    @Test
+    public void moveKeepsTheEntries() {
+        mData.add(12, mData.remove(2));
+        mCache.onItemRangeMoved(2, 12, 1);
+        for (int i = 0; i < mData.size(); i++) {
+            assertTrue("position " + i, mCache.contains(mData, i));
+        }
+        assertConsistent();
+    }
+
+    @Test
+    public void changeForgetsTheEntries() {
+        mData.set(4, new Item(5));
+        mCache.onItemRangeChanged(4, 1);
+        assertFalse(mCache.contains(mData, 4));
+        assertConsistent();
+    }
+
+    @Test
+    public void wrongShiftNeverGivesAWrongType() {
+        // a header of the adapter removed and wrongly mapped to the first data position
+        mCache.onItemRangeRemoved(0, 1);
+        assertConsistent();
+        // a header of the adapter added, mapped before the data
+        mCache.onItemRangeInserted(-1, 1);
+        assertConsistent();
+    }
+
+    @Test
+    public void randomChangesStayConsistent() {
+        Random random = new Random(3);
+        for (int step = 0; step < 2000; step++) {
+            int size = mData.size();
+            switch (random.nextInt(5)) {
+                case 0: {
+                    int position = random.nextInt(size + 1);
+                    mData.add(position, new Item(random.nextInt(4)));
+                    mCache.onItemRangeInserted(position, 1);
+                    break;
+                }
+                case 1:
+                    if (size > 0) {
+                        int position = random.nextInt(size);
+                        mData.remove(position);
+                        mCache.onItemRangeRemoved(position, 1);
+                    }
+                    break;
+                case 2:
+                    if (size > 1) {
+                        int from = random.nextInt(size);
+                        int to = random.nextInt(size);
+                        mData.add(to, mData.remove(from));
+                        mCache.onItemRangeMoved(from, to, 1);
+                    }
+                    break;
+                case 3:
+                    // a notification missed
+                    if (size > 0) {
+                        mData.remove(random.nextInt(size));
+                    }
+                    break;
+                default:
+                    cacheAll();
+                    break;
+            }
+            assertConsistent();
+        }
+    }
+
+    private void cacheAll() {
+        for (int i = 0; i < mData.size(); i++) {
+            if (!mCache.contains(mData, i)) {
+                mCache.put(i, mData.get(i), mData.get(i).type);
+            }
+        }
+    }
+
+    private void assertConsistent() {
+        for (int i = 0; i < mData.size(); i++) {
+            if (mCache.contains(mData, i)) {
+                assertEquals("position " + i, mData.get(i).type, mCache.getType(i));
+            }
+        }
+    }
+
+    private static final class Item {
+        final int type;
+
+        Item(int type) {
+            this.type = type;
+        }
+    }
+}